@@ -0,0 +1,46 @@
+package com.reqres.api.benchmarks;
+
+import com.reqres.api.utils.ApiUtils;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Cost of request specifications: building one from scratch, looking up the cached one,
+ * and merging the cached one into a fresh per-request specification as {@code givenWithApiKey()} does
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiUtilsBenchmark {
+    private static final String BASE_URL = "http://127.0.0.1:1/api";
+
+    @Benchmark
+    public RequestSpecification buildSpec() {
+        return ApiUtils.buildRequestSpec(BASE_URL, true);
+    }
+
+    @Benchmark
+    public RequestSpecification cachedSpec() {
+        return ApiUtils.getRequestSpecWithAuth();
+    }
+
+    @Benchmark
+    public RequestSpecification givenWithSpec() {
+        return given().spec(ApiUtils.getRequestSpecWithAuth());
+    }
+}
@@ -0,0 +1,91 @@
+package com.reqres.api.benchmarks;
+
+import com.reqres.api.server.ReqresStubHandler;
+import com.reqres.api.server.StubRequest;
+import com.reqres.api.server.StubResponse;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Realistic response bodies for the benchmarks, produced by the same {@link ReqresStubHandler}
+ * that backs the local server but without going through a socket.
+ */
+final class BenchmarkFixtures {
+    private static final ReqresStubHandler HANDLER = new ReqresStubHandler();
+
+    private BenchmarkFixtures() {
+    }
+
+    static byte[] get(String path) {
+        return get(path, Collections.emptyMap());
+    }
+
+    static byte[] get(String path, Map<String, String> queryParams) {
+        return handle("GET", path, queryParams, null);
+    }
+
+    static byte[] send(String method, String path, String body) {
+        return handle(method, path, Collections.emptyMap(), body);
+    }
+
+    /**
+     * Builds an in-memory REST Assured response, as returned after the body has been read
+     */
+    static Response response(int status, byte[] body) {
+        return new ResponseBuilder()
+                .setStatusCode(status)
+                .setStatusLine("HTTP/1.1 " + status)
+                .setContentType(ContentType.JSON)
+                .setBody(body)
+                .build();
+    }
+
+    /**
+     * Builds a user list body with the given number of users, for size-dependent benchmarks
+     */
+    static byte[] userList(int size) {
+        StringBuilder json = new StringBuilder(size * 160).append("{\"page\":1,\"per_page\":").append(size)
+                .append(",\"total\":").append(size).append(",\"total_pages\":1,\"data\":[");
+        for (int i = 1; i <= size; i++) {
+            json.append(i == 1 ? "" : ",")
+                    .append("{\"id\":").append(i)
+                    .append(",\"email\":\"user").append(i).append("@reqres.in\"")
+                    .append(",\"first_name\":\"First").append(i).append('"')
+                    .append(",\"last_name\":\"Last").append(i).append('"')
+                    .append(",\"avatar\":\"https://reqres.in/img/faces/").append(i).append("-image.jpg\"}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds a resource list body with the given number of resources, for size-dependent benchmarks
+     */
+    static byte[] resourceList(int size) {
+        StringBuilder json = new StringBuilder(size * 120).append("{\"page\":1,\"per_page\":").append(size)
+                .append(",\"total\":").append(size).append(",\"total_pages\":1,\"data\":[");
+        for (int i = 1; i <= size; i++) {
+            json.append(i == 1 ? "" : ",")
+                    .append("{\"id\":").append(i)
+                    .append(",\"name\":\"color").append(i).append('"')
+                    .append(",\"year\":").append(2000 + i % 25)
+                    .append(",\"color\":\"#").append(String.format(Locale.ROOT, "%06X", i * 2654435 & 0xFFFFFF)).append('"')
+                    .append(",\"pantone_value\":\"").append(10 + i % 90).append("-").append(1000 + i % 9000).append("\"}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] handle(String method, String path, Map<String, String> queryParams, String body) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("content-type", "application/json");
+        byte[] bytes = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        StubResponse response = HANDLER.handle(new StubRequest(method, "/api" + path, queryParams, headers, bytes));
+        return response.getBody();
+    }
+}
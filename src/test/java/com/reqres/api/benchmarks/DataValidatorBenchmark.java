@@ -0,0 +1,70 @@
+package com.reqres.api.benchmarks;
+
+import com.reqres.api.utils.DataValidator;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field rules of {@link DataValidator} for user and resource lists of increasing size, comparing the
+ * streaming validation of the raw response with the map-based validation of an already parsed list
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataValidatorBenchmark {
+
+    @Param({"6", "1000"})
+    public int size;
+
+    private Response users;
+    private Response resources;
+    private List<Map<String, Object>> userMaps;
+    private List<Map<String, Object>> resourceMaps;
+
+    @Setup
+    public void setUp() {
+        users = BenchmarkFixtures.response(200, BenchmarkFixtures.userList(size));
+        resources = BenchmarkFixtures.response(200, BenchmarkFixtures.resourceList(size));
+        userMaps = users.jsonPath().getList("data");
+        resourceMaps = resources.jsonPath().getList("data");
+    }
+
+    @Benchmark
+    public int streamingUsers() {
+        return DataValidator.validateConsistentUserFields(users);
+    }
+
+    @Benchmark
+    public int streamingResources() {
+        return DataValidator.validateConsistentResourceFields(resources);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> mapUsers() {
+        DataValidator.validateConsistentUserFields(userMaps);
+        return userMaps;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> mapResources() {
+        DataValidator.validateConsistentResourceFields(resourceMaps);
+        return resourceMaps;
+    }
+}
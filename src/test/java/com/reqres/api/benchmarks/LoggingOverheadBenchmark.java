@@ -0,0 +1,104 @@
+package com.reqres.api.benchmarks;
+
+import com.reqres.api.logging.ExchangeCaptureFilter;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.filter.log.LogDetail;
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Per-request cost of logging every exchange in full ({@code all}, the former
+ * {@code LogDetail.ALL} setup) versus capturing it into the per-thread ring buffer
+ * ({@code capture}). The innermost filter answers with a canned response, so the score
+ * is the REST Assured pipeline plus logging without any network noise. Full logging is
+ * written line-flushed to a file under {@code target} to keep the benchmark output readable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingOverheadBenchmark {
+
+    @Param({"none", "all", "capture"})
+    public String logging;
+
+    private RequestSpecification spec;
+    private PrintStream logStream;
+
+    @Setup(Level.Trial)
+    public void setUp() throws FileNotFoundException {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri("http://127.0.0.1:1/api")
+                .setContentType(ContentType.JSON)
+                .addHeader("x-api-key", "reqres-free-v1")
+                .addFilter(new CannedResponseFilter());
+        if ("all".equals(logging)) {
+            logStream = new PrintStream(new FileOutputStream("target/logging-benchmark.log"), true);
+            builder.addFilter(new RequestLoggingFilter(LogDetail.ALL, logStream))
+                    .addFilter(new ResponseLoggingFilter(LogDetail.ALL, logStream));
+        } else if ("capture".equals(logging)) {
+            builder.addFilter(new ExchangeCaptureFilter());
+        }
+        spec = builder.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (logStream != null) {
+            logStream.close();
+        }
+    }
+
+    @Benchmark
+    public Response getUser() {
+        return given().spec(spec).get("/users/2");
+    }
+
+    /**
+     * Short-circuits the request with the body of {@code GET /users/2} instead of sending it
+     */
+    private static final class CannedResponseFilter implements OrderedFilter {
+        private static final byte[] BODY = BenchmarkFixtures.get("/users/2");
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                               FilterableResponseSpecification responseSpec,
+                               FilterContext ctx) {
+            return BenchmarkFixtures.response(200, BODY);
+        }
+
+        @Override
+        public int getOrder() {
+            return LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.reqres.api.benchmarks;
+
+import com.reqres.api.metrics.Counter;
+import com.reqres.api.metrics.MetricsRegistry;
+import com.reqres.api.metrics.Timer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cost of recording one exchange in the metrics registry, a counter increment plus a timer
+ * observation, from four threads updating the same series. {@code striped} is the registry's
+ * {@code LongAdder} based recording; {@code atomic} updates a single {@code AtomicLongArray}
+ * and {@code AtomicLong}s, where every thread contends on the same cache lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class MetricsBenchmark {
+    private static final long[] BOUNDS_NANOS = {1_000_000, 2_500_000, 5_000_000, 10_000_000, 25_000_000, 50_000_000,
+            100_000_000, 250_000_000, 500_000_000, 1_000_000_000};
+
+    private Counter counter;
+    private Timer timer;
+    private final AtomicLong atomicCount = new AtomicLong();
+    private final AtomicLong atomicSum = new AtomicLong();
+    private final AtomicLongArray atomicBuckets = new AtomicLongArray(BOUNDS_NANOS.length + 1);
+
+    @Setup
+    public void setUp() {
+        counter = MetricsRegistry.counter("benchmark_requests_total", "Benchmark requests", "method", "GET", "path", "/users/{id}", "status", "200");
+        timer = MetricsRegistry.timer("benchmark_request_duration_seconds", "Benchmark latency", "method", "GET", "path", "/users/{id}", "status", "200");
+    }
+
+    @Benchmark
+    public void striped() {
+        counter.increment();
+        timer.record(latency());
+    }
+
+    @Benchmark
+    public void atomic() {
+        long latency = latency();
+        atomicCount.incrementAndGet();
+        int index = Arrays.binarySearch(BOUNDS_NANOS, latency);
+        atomicBuckets.incrementAndGet(index >= 0 ? index : -index - 1);
+        atomicSum.addAndGet(latency);
+    }
+
+    private static long latency() {
+        return ThreadLocalRandom.current().nextLong(500_000, 60_000_000);
+    }
+}
@@ -0,0 +1,111 @@
+package com.reqres.api.benchmarks;
+
+import com.reqres.api.models.responses.ErrorResponse;
+import com.reqres.api.models.responses.LoginResponse;
+import com.reqres.api.models.responses.RegisterResponse;
+import com.reqres.api.models.responses.ResourceListResponse;
+import com.reqres.api.models.responses.SingleResourceResponse;
+import com.reqres.api.models.responses.SingleUserResponse;
+import com.reqres.api.models.responses.UserCreateResponse;
+import com.reqres.api.models.responses.UserListResponse;
+import com.reqres.api.models.responses.UserUpdateResponse;
+import com.reqres.api.utils.JsonMapper;
+import com.reqres.api.utils.ResponseHandler;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization cost of every response model. {@code bind} is the first
+ * {@link ResponseHandler} call for a response, {@code memoized} every later call
+ * for the same response, and {@code restAssuredAs} the former {@code response.as(Class)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseHandlerBenchmark {
+
+    @Param({"SingleUser", "UserList", "SingleResource", "ResourceList", "Login", "Register",
+            "UserCreate", "UserUpdate", "Error"})
+    public String model;
+
+    private Class<?> type;
+    private byte[] body;
+    private Response response;
+
+    @Setup
+    public void setUp() {
+        switch (model) {
+            case "SingleUser":
+                type = SingleUserResponse.class;
+                body = BenchmarkFixtures.get("/users/2");
+                break;
+            case "UserList":
+                type = UserListResponse.class;
+                body = BenchmarkFixtures.get("/users", Collections.singletonMap("per_page", "12"));
+                break;
+            case "SingleResource":
+                type = SingleResourceResponse.class;
+                body = BenchmarkFixtures.get("/unknown/2");
+                break;
+            case "ResourceList":
+                type = ResourceListResponse.class;
+                body = BenchmarkFixtures.get("/unknown", Collections.singletonMap("per_page", "12"));
+                break;
+            case "Login":
+                type = LoginResponse.class;
+                body = BenchmarkFixtures.send("POST", "/login", "{\"email\":\"eve.holt@reqres.in\",\"password\":\"cityslicka\"}");
+                break;
+            case "Register":
+                type = RegisterResponse.class;
+                body = BenchmarkFixtures.send("POST", "/register", "{\"email\":\"eve.holt@reqres.in\",\"password\":\"pistol\"}");
+                break;
+            case "UserCreate":
+                type = UserCreateResponse.class;
+                body = BenchmarkFixtures.send("POST", "/users", "{\"name\":\"morpheus\",\"job\":\"leader\"}");
+                break;
+            case "UserUpdate":
+                type = UserUpdateResponse.class;
+                body = BenchmarkFixtures.send("PUT", "/users/2", "{\"name\":\"morpheus\",\"job\":\"zion resident\"}");
+                break;
+            case "Error":
+                type = ErrorResponse.class;
+                body = BenchmarkFixtures.send("POST", "/login", "{\"email\":\"peter@klaven\"}");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown model " + model);
+        }
+        response = BenchmarkFixtures.response(200, body);
+    }
+
+    @Benchmark
+    public Object bind() throws IOException {
+        return JsonMapper.readerFor(type).readValue(body);
+    }
+
+    @Benchmark
+    public Object memoized() {
+        return ResponseHandler.parse(response, type);
+    }
+
+    @Benchmark
+    public Object restAssuredAs() {
+        return response.as(type);
+    }
+}
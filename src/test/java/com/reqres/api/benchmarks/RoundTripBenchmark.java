@@ -0,0 +1,62 @@
+package com.reqres.api.benchmarks;
+
+import com.reqres.api.server.LocalReqresServer;
+import com.reqres.api.utils.ApiUtils;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Full request round trips through the suite's own specification, filters and
+ * connection handling against the in-process loopback server
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class RoundTripBenchmark {
+    private RequestSpecification spec;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty(ApiUtils.MODE_PROPERTY, "local");
+        spec = ApiUtils.getRequestSpecWithAuth();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LocalReqresServer.stop();
+    }
+
+    @Benchmark
+    public Response getSingleUser() {
+        return given().spec(spec).get("/users/2");
+    }
+
+    @Benchmark
+    public Response getUserList() {
+        return given().spec(spec).queryParam("page", 2).get("/users");
+    }
+
+    @Benchmark
+    public Response createUser() {
+        return given().spec(spec).body("{\"name\":\"morpheus\",\"job\":\"leader\"}").post("/users");
+    }
+}
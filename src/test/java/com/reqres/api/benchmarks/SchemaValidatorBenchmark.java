@@ -0,0 +1,73 @@
+package com.reqres.api.benchmarks;
+
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.reqres.api.utils.SchemaValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of a matching response body against each precompiled schema
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaValidatorBenchmark {
+
+    @Param({"user-list.json", "single-user.json", "resource-list.json", "single-resource.json",
+            "login-response.json", "register-response.json"})
+    public String schema;
+
+    private String body;
+
+    @Setup
+    public void setUp() {
+        byte[] bytes;
+        switch (schema) {
+            case "user-list.json":
+                bytes = BenchmarkFixtures.get("/users", Collections.singletonMap("page", "1"));
+                break;
+            case "single-user.json":
+                bytes = BenchmarkFixtures.get("/users/2");
+                break;
+            case "resource-list.json":
+                bytes = BenchmarkFixtures.get("/unknown");
+                break;
+            case "single-resource.json":
+                bytes = BenchmarkFixtures.get("/unknown/2");
+                break;
+            case "login-response.json":
+                bytes = BenchmarkFixtures.send("POST", "/login", "{\"email\":\"eve.holt@reqres.in\",\"password\":\"cityslicka\"}");
+                break;
+            case "register-response.json":
+                bytes = BenchmarkFixtures.send("POST", "/register", "{\"email\":\"eve.holt@reqres.in\",\"password\":\"pistol\"}");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown schema " + schema);
+        }
+        body = new String(bytes, StandardCharsets.UTF_8);
+        if (!SchemaValidator.validate(schema, body).isSuccess()) {
+            throw new IllegalStateException("Fixture does not match " + schema);
+        }
+    }
+
+    @Benchmark
+    public ProcessingReport validate() {
+        return SchemaValidator.validate(schema, body);
+    }
+}
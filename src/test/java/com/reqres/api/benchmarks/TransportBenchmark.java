@@ -0,0 +1,67 @@
+package com.reqres.api.benchmarks;
+
+import com.reqres.api.server.LocalReqresServer;
+import com.reqres.api.transport.Transport;
+import com.reqres.api.utils.ApiUtils;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * The two {@link Transport transports} compared on round trips against the in-process loopback server,
+ * four requests at a time: throughput, and latency percentiles from the sample-time mode for the tail.
+ * The body is read to its end, as a test that validates the response does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(4)
+@Fork(1)
+public class TransportBenchmark {
+    @Param({"apache", "jdk"})
+    public String transport;
+
+    private RequestSpecification spec;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty(ApiUtils.MODE_PROPERTY, "local");
+        spec = ApiUtils.buildRequestSpec(ApiUtils.getBaseUrl(), true, Transport.of(transport));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LocalReqresServer.stop();
+    }
+
+    @Benchmark
+    public String getSingleUser() {
+        return given().spec(spec).get("/users/2").asString();
+    }
+
+    @Benchmark
+    public Response createUser() {
+        Response response = given().spec(spec).body("{\"name\":\"morpheus\",\"job\":\"leader\"}").post("/users");
+        response.asString();
+        return response;
+    }
+}
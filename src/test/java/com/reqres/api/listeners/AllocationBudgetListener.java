@@ -0,0 +1,93 @@
+package com.reqres.api.listeners;
+
+import com.reqres.api.perf.AllocationBudget;
+import com.reqres.api.perf.AllocationTracker;
+import com.reqres.api.perf.ExchangeAllocation;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Closes the last {@link AllocationTracker} exchange of every test, so it does not absorb the
+ * allocations of the next test's setup, and enforces the {@link AllocationBudget} of annotated tests.
+ * Runs on the test's thread around the test method only; a test that already failed keeps its own failure.
+ */
+public class AllocationBudgetListener implements IInvokedMethodListener {
+    private static final Logger logger = LogManager.getLogger(AllocationBudgetListener.class);
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        // The @BeforeMethod methods may have built requests of their own
+        AllocationTracker.end();
+        AllocationBudget budget = budgetOf(method);
+        if (budget == null) {
+            return;
+        }
+        if (!AllocationTracker.isSupported()) {
+            throw new SkipException("This JVM cannot count allocated bytes per thread");
+        }
+        AllocationTracker.startCollecting();
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        AllocationBudget budget = budgetOf(method);
+        if (budget == null || !AllocationTracker.isSupported()) {
+            AllocationTracker.end();
+            return;
+        }
+        List<ExchangeAllocation> exchanges = AllocationTracker.stopCollecting();
+        if (testResult.getStatus() != ITestResult.SUCCESS) {
+            return;
+        }
+
+        String scope = budget.endpoint().isEmpty() ? "any exchange" : budget.endpoint();
+        List<String> violations = new ArrayList<>();
+        long largest = 0;
+        int matched = 0;
+        int measured = 0;
+        for (ExchangeAllocation exchange : exchanges) {
+            if (!budget.endpoint().isEmpty() && !budget.endpoint().equals(exchange.getEndpoint())) {
+                continue;
+            }
+            if (matched++ < budget.warmup()) {
+                continue;
+            }
+            measured++;
+            largest = Math.max(largest, exchange.getBytes());
+            if (exchange.getBytes() > budget.value()) {
+                violations.add(exchange.getEndpoint() + " allocated " + exchange.getBytes() + " bytes");
+            }
+        }
+        logger.info("{} exchanges of {} in {} allocated at most {} bytes, budget {}",
+                measured, scope, method.getTestMethod().getMethodName(), largest, budget.value());
+
+        String failure = null;
+        if (measured == 0) {
+            failure = "No exchange with " + scope + " was measured against the allocation budget after "
+                    + budget.warmup() + " warmup exchanges";
+        } else if (!violations.isEmpty()) {
+            failure = "Allocation budget of " + budget.value() + " bytes per exchange exceeded: " + violations;
+        }
+        if (failure != null) {
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError(failure));
+        }
+    }
+
+    private static AllocationBudget budgetOf(IInvokedMethod method) {
+        return method.getTestMethod().getConstructorOrMethod().getMethod().getAnnotation(AllocationBudget.class);
+    }
+}
@@ -0,0 +1,133 @@
+package com.reqres.api.listeners;
+
+import com.reqres.api.sharding.ShardPlan;
+import com.reqres.api.sharding.TestDurationHistory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.xml.XmlSuite;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders the methods of each {@code <test>} longest first, using the durations of earlier runs that
+ * {@link TestDurationListener} keeps in the {@link TestDurationHistory}. Handing the longest methods to
+ * the thread pool first (LPT scheduling) keeps slow tests such as {@code testSequentialRequests} from
+ * starting last and running alone at the end of a parallel run. Logs the makespan predicted for the
+ * declared and the LPT order, and the actual one when the {@code <test>} finishes. Like TestNG, the
+ * prediction starts a method only once the methods it depends on have finished; dependencies outside
+ * the {@code <test>} are ignored. A single-threaded run keeps the declared order, since the order
+ * cannot change its makespan.
+ * Set {@code suite.order=declared} to keep the order of {@code testng.xml}.
+ */
+public class DurationOrderInterceptor implements IMethodInterceptor, ITestListener {
+    private static final Logger logger = LogManager.getLogger(DurationOrderInterceptor.class);
+    public static final String ORDER_PROPERTY = "suite.order";
+
+    private final Map<String, Long> predictedMakespans = new ConcurrentHashMap<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        TestDurationHistory history = TestDurationHistory.load(TestDurationHistory.defaultFile());
+        if (methods.isEmpty() || history.isEmpty() || "declared".equalsIgnoreCase(System.getProperty(ORDER_PROPERTY))) {
+            return methods;
+        }
+        long unknownMillis = history.mean(0);
+        Map<IMethodInstance, Long> durations = new ConcurrentHashMap<>();
+        for (IMethodInstance method : methods) {
+            durations.put(method, history.get(key(method.getMethod()), unknownMillis));
+        }
+
+        int threads = threads(context);
+        long declaredMakespan = makespan(methods, durations, threads);
+        if (threads == 1) {
+            // On one thread the makespan is the sum of all durations whatever the order
+            predictedMakespans.put(context.getName(), declaredMakespan);
+            logger.info("Keeping the declared order of {} methods of '{}' on 1 thread: predicted makespan {} ms",
+                    methods.size(), context.getName(), declaredMakespan);
+            return methods;
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        // List.sort is stable, so methods with equal durations keep their declared order
+        ordered.sort(Comparator.comparingLong((IMethodInstance method) -> durations.get(method)).reversed());
+        long lptMakespan = makespan(ordered, durations, threads);
+        predictedMakespans.put(context.getName(), lptMakespan);
+        logger.info("Ordering {} methods of '{}' longest first on {} threads: predicted makespan {} ms (declared order {} ms), "
+                        + "longest {} at {} ms", ordered.size(), context.getName(), threads, lptMakespan, declaredMakespan,
+                ordered.get(0).getMethod().getMethodName(), durations.get(ordered.get(0)));
+        return ordered;
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        Long predicted = predictedMakespans.remove(context.getName());
+        if (predicted != null) {
+            long actual = context.getEndDate().getTime() - context.getStartDate().getTime();
+            logger.info("'{}' finished in {} ms, predicted makespan {} ms", context.getName(), actual, predicted);
+        }
+    }
+
+    /**
+     * Simulates list scheduling: the first method whose dependencies have been scheduled goes to the
+     * worker that becomes free first, and starts once both the worker and its dependencies are done
+     */
+    private static long makespan(List<IMethodInstance> methods, Map<IMethodInstance, Long> durations, int threads) {
+        PriorityQueue<Long> workers = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(0L);
+        }
+        Set<String> names = new HashSet<>();
+        methods.forEach(method -> names.add(method.getMethod().getQualifiedName()));
+        Map<String, Long> finishes = new HashMap<>();
+        List<IMethodInstance> pending = new ArrayList<>(methods);
+        long makespan = 0;
+        while (!pending.isEmpty()) {
+            // Falls back to the first pending method on a cycle, which TestNG rejects anyway
+            IMethodInstance method = pending.stream()
+                    .filter(candidate -> dependenciesScheduled(candidate, names, finishes))
+                    .findFirst()
+                    .orElse(pending.get(0));
+            pending.remove(method);
+            long ready = 0;
+            for (String dependency : method.getMethod().getMethodsDependedUpon()) {
+                ready = Math.max(ready, finishes.getOrDefault(dependency, 0L));
+            }
+            long finish = Math.max(workers.poll(), ready) + durations.get(method);
+            workers.add(finish);
+            finishes.merge(method.getMethod().getQualifiedName(), finish, Math::max);
+            makespan = Math.max(makespan, finish);
+        }
+        return makespan;
+    }
+
+    private static boolean dependenciesScheduled(IMethodInstance method, Set<String> names, Map<String, Long> finishes) {
+        for (String dependency : method.getMethod().getMethodsDependedUpon()) {
+            if (names.contains(dependency) && !finishes.containsKey(dependency)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int threads(ITestContext context) {
+        XmlSuite suite = context.getSuite().getXmlSuite();
+        return suite.getParallel() == XmlSuite.ParallelMode.NONE ? 1 : Math.max(1, suite.getThreadCount());
+    }
+
+    private static String key(ITestNGMethod method) {
+        return ShardPlan.key(method.getRealClass(), method.getMethodName());
+    }
+}
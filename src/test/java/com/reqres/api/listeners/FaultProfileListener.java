@@ -0,0 +1,54 @@
+package com.reqres.api.listeners;
+
+import com.reqres.api.server.FaultInjectingHandler;
+import com.reqres.api.server.FaultProfiles;
+import com.reqres.api.server.UseFaultProfile;
+import com.reqres.api.utils.ApiUtils;
+import com.reqres.api.utils.RequestContext;
+import io.restassured.builder.RequestSpecBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies the {@link UseFaultProfile} of a test: its requests carry the profile header, so the local
+ * server injects the profile's latency and faults into them and nobody else's. Runs after the
+ * {@code @BeforeMethod} methods, on the test's thread, and skips the test outside local mode.
+ * Skipping here rather than in a configuration method leaves the other tests of the class alone.
+ */
+public class FaultProfileListener implements IInvokedMethodListener {
+    private static final Logger logger = LogManager.getLogger(FaultProfileListener.class);
+    private static final AtomicLong SESSIONS = new AtomicLong();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        Method javaMethod = method.getTestMethod().getConstructorOrMethod().getMethod();
+        UseFaultProfile faults = javaMethod.getAnnotation(UseFaultProfile.class);
+        if (faults == null) {
+            return;
+        }
+        if (!ApiUtils.isLocalMode()) {
+            throw new SkipException("Fault profile '" + faults.value() + "' needs the local server (-Plocal)");
+        }
+
+        // Fails fast on a misspelled profile name instead of on the server's event loop
+        FaultProfiles.get(faults.value());
+        String session = javaMethod.getDeclaringClass().getSimpleName() + "." + javaMethod.getName()
+                + "#" + SESSIONS.incrementAndGet();
+        logger.info("Injecting fault profile '{}' with seed {} into {}", faults.value(), faults.seed(), javaMethod.getName());
+        RequestContext.current().setRequestSpec(new RequestSpecBuilder()
+                .addRequestSpecification(ApiUtils.getRequestSpecWithAuth())
+                .addHeader(FaultInjectingHandler.PROFILE_HEADER,
+                        FaultInjectingHandler.headerValue(faults.value(), faults.seed(), session))
+                .build());
+    }
+}
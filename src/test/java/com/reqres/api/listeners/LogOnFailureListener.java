@@ -0,0 +1,52 @@
+package com.reqres.api.listeners;
+
+import com.reqres.api.logging.ExchangeCapture;
+import org.apache.logging.log4j.Level;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * Writes the HTTP exchanges captured for a test when the test fails, or when it passes but
+ * one of its exchanges exceeded the slow-request threshold. Each test gets a fresh capture,
+ * which is unbound from the thread once the test has finished.
+ */
+public class LogOnFailureListener implements ITestListener {
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        ExchangeCapture.begin();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        ExchangeCapture capture = ExchangeCapture.current();
+        if (capture != null && capture.hasSlowExchange()) {
+            capture.flush(Level.WARN, "Slow request in " + result.getName());
+        }
+        ExchangeCapture.end();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        ExchangeCapture capture = ExchangeCapture.current();
+        if (capture != null) {
+            capture.flush(Level.ERROR, "Test " + result.getName() + " failed");
+        }
+        ExchangeCapture.end();
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        ExchangeCapture.end();
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        onTestFailure(result);
+    }
+
+    @Override
+    public void onTestFailedWithTimeout(ITestResult result) {
+        onTestFailure(result);
+    }
+}
@@ -0,0 +1,52 @@
+package com.reqres.api.listeners;
+
+import com.reqres.api.metrics.MetricsRegistry;
+import com.reqres.api.metrics.MetricsServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes the {@link MetricsRegistry} as a Prometheus exposition file at the end of the suite, to
+ * {@code metrics.file} (default {@code target/metrics/reqres.prom}) or into the shard's output directory.
+ * With {@code metrics.port} the metrics are also served at {@code /metrics} while the suite runs;
+ * shards add their index to the port so they do not collide.
+ */
+public class MetricsListener implements ISuiteListener {
+    private static final Logger logger = LogManager.getLogger(MetricsListener.class);
+    public static final String FILE_PROPERTY = "metrics.file";
+    public static final String PORT_PROPERTY = "metrics.port";
+    public static final String METRICS_FILE = "metrics.prom";
+
+    @Override
+    public void onStart(ISuite suite) {
+        Integer port = Integer.getInteger(PORT_PROPERTY);
+        if (port == null) {
+            return;
+        }
+        if (port > 0) {
+            port += Integer.getInteger(ShardingListener.INDEX_PROPERTY, 0);
+        }
+        logger.info("Serving metrics at {}/metrics", MetricsServer.start(port));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Path file = metricsFile();
+        MetricsRegistry.write(file);
+        logger.info("Wrote metrics to {}", file);
+        MetricsServer.stop();
+    }
+
+    private static Path metricsFile() {
+        String shardOutput = System.getProperty(ShardingListener.OUTPUT_PROPERTY);
+        if (shardOutput != null && !shardOutput.isEmpty()) {
+            return Paths.get(shardOutput, METRICS_FILE);
+        }
+        return Paths.get(System.getProperty(FILE_PROPERTY, "target/metrics/reqres.prom"));
+    }
+}
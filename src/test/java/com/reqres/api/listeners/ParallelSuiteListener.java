@@ -0,0 +1,65 @@
+package com.reqres.api.listeners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Switches the suite to parallel execution when the system property {@code suite.parallel}
+ * is set to {@code methods} or {@code classes}, and logs the suite wall-clock time so
+ * serial and parallel runs can be compared.
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener, ISuiteListener {
+    private static final Logger logger = LogManager.getLogger(ParallelSuiteListener.class);
+    public static final String PARALLEL_PROPERTY = "suite.parallel";
+    public static final String THREADS_PROPERTY = "suite.threads";
+
+    private long suiteStartNanos;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        XmlSuite.ParallelMode parallel = XmlSuite.ParallelMode.getValidParallel(System.getProperty(PARALLEL_PROPERTY));
+        if (parallel == XmlSuite.ParallelMode.NONE) {
+            return;
+        }
+        int threads = Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+
+        for (XmlSuite suite : suites) {
+            // <test> groups always run one after another, so merge them into a single
+            // group to let the thread pool schedule every method in the suite
+            List<XmlClass> classes = new ArrayList<>();
+            for (XmlTest test : suite.getTests()) {
+                classes.addAll(test.getXmlClasses());
+            }
+            suite.getTests().clear();
+            XmlTest merged = new XmlTest(suite);
+            merged.setName(suite.getName() + " (parallel " + parallel + ")");
+            merged.setXmlClasses(classes);
+
+            suite.setParallel(parallel);
+            suite.setThreadCount(threads);
+            suite.setDataProviderThreadCount(threads);
+            logger.info("Running suite '{}' with parallel={} on {} threads", suite.getName(), parallel, threads);
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        suiteStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        long elapsedMillis = (System.nanoTime() - suiteStartNanos) / 1_000_000;
+        logger.info("Suite '{}' finished in {} ms (parallel={}, threads={})",
+                suite.getName(), elapsedMillis, suite.getParallel(), suite.getXmlSuite().getThreadCount());
+    }
+}
@@ -0,0 +1,121 @@
+package com.reqres.api.listeners;
+
+import com.reqres.api.perf.BaselineStore;
+import com.reqres.api.perf.LatencyRegistry;
+import com.reqres.api.perf.PhaseRegistry;
+import com.reqres.api.sharding.ShardPlan;
+import com.reqres.api.sharding.TestDurationHistory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Restricts the suite to one shard when {@code shard.count} is greater than 1. Every shard builds
+ * the same {@link ShardPlan} from the classes in the suite, keeps the methods assigned to
+ * {@code shard.index} and, for data-driven methods split by row, only its share of the rows.
+ * When {@code shard.output} is set, the shard's latency histograms are written there at the end
+ * of the suite for {@link com.reqres.api.sharding.ShardRunner} to merge.
+ */
+public class ShardingListener implements IAlterSuiteListener, IDataProviderInterceptor, ISuiteListener {
+    private static final Logger logger = LogManager.getLogger(ShardingListener.class);
+    public static final String INDEX_PROPERTY = "shard.index";
+    public static final String COUNT_PROPERTY = "shard.count";
+    public static final String STRATEGY_PROPERTY = "shard.strategy";
+    public static final String OUTPUT_PROPERTY = "shard.output";
+    public static final String LATENCY_FILE = "latency.tsv";
+
+    private final int shardIndex = Integer.getInteger(INDEX_PROPERTY, 0);
+    private final int shardCount = Integer.getInteger(COUNT_PROPERTY, 1);
+    private volatile ShardPlan plan;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (shardCount <= 1) {
+            return;
+        }
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("shard.index must be between 0 and " + (shardCount - 1) + ", was " + shardIndex);
+        }
+
+        List<Class<?>> classes = new ArrayList<>();
+        for (XmlSuite suite : suites) {
+            for (XmlTest test : suite.getTests()) {
+                test.getXmlClasses().forEach(xmlClass -> classes.add(xmlClass.getSupportClass()));
+            }
+        }
+        TestDurationHistory history = TestDurationHistory.load(TestDurationHistory.defaultFile());
+        plan = ShardPlan.create(classes, shardCount, ShardPlan.Strategy.parse(System.getProperty(STRATEGY_PROPERTY), history), history);
+
+        int methodCount = 0;
+        for (XmlSuite suite : suites) {
+            for (Iterator<XmlTest> tests = suite.getTests().iterator(); tests.hasNext(); ) {
+                XmlTest test = tests.next();
+                for (Iterator<XmlClass> xmlClasses = test.getXmlClasses().iterator(); xmlClasses.hasNext(); ) {
+                    XmlClass xmlClass = xmlClasses.next();
+                    List<String> methods = plan.methodsFor(shardIndex, xmlClass.getSupportClass());
+                    if (!xmlClass.getIncludedMethods().isEmpty()) {
+                        List<String> included = xmlClass.getIncludedMethods().stream().map(XmlInclude::getName).collect(Collectors.toList());
+                        methods.retainAll(included);
+                    }
+                    if (methods.isEmpty()) {
+                        xmlClasses.remove();
+                    } else {
+                        xmlClass.setIncludedMethods(methods.stream().map(XmlInclude::new).collect(Collectors.toList()));
+                        methodCount += methods.size();
+                    }
+                }
+                if (test.getXmlClasses().isEmpty()) {
+                    tests.remove();
+                }
+            }
+            suite.setName(suite.getName() + " (shard " + (shardIndex + 1) + " of " + shardCount + ")");
+        }
+        logger.info("Shard {}/{} runs {} test methods, {} strategy, predicted {} ms",
+                shardIndex + 1, shardCount, methodCount, plan.getStrategy(), plan.getPredictedMillis(shardIndex));
+    }
+
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext context) {
+        String methodKey = ShardPlan.key(method.getRealClass(), method.getMethodName());
+        if (plan == null || !plan.isRowSharded(methodKey)) {
+            return original;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (int row = 0; original.hasNext(); row++) {
+            Object[] parameters = original.next();
+            if (plan.includesRow(shardIndex, methodKey, row)) {
+                rows.add(parameters);
+            }
+        }
+        logger.info("Shard {}/{} runs {} rows of {}", shardIndex + 1, shardCount, rows.size(), methodKey);
+        return rows.iterator();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        String output = System.getProperty(OUTPUT_PROPERTY);
+        if (output == null || output.isEmpty()) {
+            return;
+        }
+        BaselineStore store = new BaselineStore(Paths.get(output, LATENCY_FILE));
+        LatencyRegistry.getAll().forEach((endpoint, histogram) -> store.append(endpoint, histogram, true));
+        PhaseRegistry.getAll().forEach((key, histogram) -> store.append(key, histogram, true));
+    }
+}
@@ -0,0 +1,63 @@
+package com.reqres.api.listeners;
+
+import com.reqres.api.perf.StartupProfiler;
+import com.reqres.api.utils.Bootstrap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Starts the {@link Bootstrap} preloading as soon as TestNG has read the suite, before it builds the
+ * test graph, and reports the {@link StartupProfiler} milestones at the end of the suite to
+ * {@code startup.file} (default {@code target/startup/startup.tsv}) or into the shard's output directory.
+ */
+public class StartupListener implements IAlterSuiteListener, ISuiteListener, IInvokedMethodListener {
+    private static final Logger logger = LogManager.getLogger(StartupListener.class);
+    public static final String FILE_PROPERTY = "startup.file";
+    public static final String STARTUP_FILE = "startup.tsv";
+
+    public StartupListener() {
+        StartupProfiler.mark(StartupProfiler.LISTENERS_LOADED);
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        Bootstrap.start();
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            StartupProfiler.mark(StartupProfiler.FIRST_TEST);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        for (StartupProfiler.Milestone milestone : StartupProfiler.getMilestones()) {
+            logger.info("Startup: {} after {} ms, {} classes loaded",
+                    milestone.getName(), milestone.getUptimeMillis(), milestone.getLoadedClasses());
+        }
+        Path file = startupFile();
+        StartupProfiler.write(file);
+        logger.info("Time to first request: {} ms, wrote startup profile to {}", StartupProfiler.getTimeToFirstRequestMillis(), file);
+    }
+
+    private static Path startupFile() {
+        String shardOutput = System.getProperty(ShardingListener.OUTPUT_PROPERTY);
+        if (shardOutput != null && !shardOutput.isEmpty()) {
+            return Paths.get(shardOutput, STARTUP_FILE);
+        }
+        return Paths.get(System.getProperty(FILE_PROPERTY, "target/startup/" + STARTUP_FILE));
+    }
+}
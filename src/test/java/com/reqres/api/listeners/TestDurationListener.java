@@ -0,0 +1,61 @@
+package com.reqres.api.listeners;
+
+import com.reqres.api.sharding.ShardPlan;
+import com.reqres.api.sharding.TestDurationHistory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long each test method took, summed over its data-provider rows, and blends the totals
+ * into the {@link TestDurationHistory} at the end of the suite. A shard started with {@code shard.output}
+ * writes only the methods it ran to its own directory, and the shard runner merges them into the history.
+ */
+public class TestDurationListener implements ITestListener, ISuiteListener {
+    private static final Logger logger = LogManager.getLogger(TestDurationListener.class);
+    public static final String DURATIONS_FILE = "durations.tsv";
+
+    private final Map<String, LongAdder> measured = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (measured.isEmpty()) {
+            return;
+        }
+        Path historyFile = TestDurationHistory.defaultFile();
+        TestDurationHistory history = TestDurationHistory.load(historyFile);
+        measured.forEach((key, millis) -> history.record(key, millis.sum()));
+
+        String shardOutput = System.getProperty(ShardingListener.OUTPUT_PROPERTY);
+        if (shardOutput != null && !shardOutput.isEmpty()) {
+            history.retainAll(measured.keySet());
+            historyFile = Paths.get(shardOutput, DURATIONS_FILE);
+        }
+        history.save(historyFile);
+        logger.info("Recorded durations of {} test methods in {}", measured.size(), historyFile);
+    }
+
+    private void record(ITestResult result) {
+        String key = ShardPlan.key(result.getMethod().getRealClass(), result.getMethod().getMethodName());
+        measured.computeIfAbsent(key, k -> new LongAdder()).add(result.getEndMillis() - result.getStartMillis());
+    }
+}
@@ -0,0 +1,174 @@
+package com.reqres.api.logging;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded ring buffer of the most recent HTTP exchanges of one test. Capturing only stores
+ * references, and nothing is formatted or written until {@link #flush} is called, typically
+ * because the test that produced the exchanges failed or was too slow.
+ * <p>
+ * A buffer is bound to the test's thread from {@link #begin} to {@link #end}. Threads without
+ * a bound buffer, such as pool workers, capture nothing unless the submitting test's buffer
+ * is {@link #bind bound} to them for the task, so no thread keeps responses, and with them
+ * their connections, after the test they belong to has ended.
+ */
+public final class ExchangeCapture {
+    private static final Logger logger = LogManager.getLogger(ExchangeCapture.class);
+    public static final String SIZE_PROPERTY = "log.capture.size";
+    public static final String SLOW_THRESHOLD_PROPERTY = "log.capture.slowMillis";
+
+    private static final int CAPACITY = Math.max(1, Integer.getInteger(SIZE_PROPERTY, 16));
+    private static final long SLOW_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong(SLOW_THRESHOLD_PROPERTY, 2000));
+    private static final ThreadLocal<ExchangeCapture> CURRENT = new ThreadLocal<>();
+
+    // Guarded by this, as worker threads of the test may capture concurrently
+    private final Exchange[] ring = new Exchange[CAPACITY];
+    private long captured;
+    private boolean slow;
+
+    private ExchangeCapture() {
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = new Exchange();
+        }
+    }
+
+    /**
+     * Binds a new, empty buffer to the calling thread, called when a test starts
+     *
+     * @return The new buffer
+     */
+    public static ExchangeCapture begin() {
+        ExchangeCapture capture = new ExchangeCapture();
+        CURRENT.set(capture);
+        return capture;
+    }
+
+    /**
+     * Returns the buffer bound to the calling thread
+     *
+     * @return ExchangeCapture of the current thread, or null when the thread runs no test
+     */
+    public static ExchangeCapture current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds an existing buffer, typically the submitting test's, to the calling worker thread
+     *
+     * @param capture The buffer to capture into, or null to capture nothing
+     */
+    public static void bind(ExchangeCapture capture) {
+        if (capture == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(capture);
+        }
+    }
+
+    /**
+     * Unbinds the calling thread's buffer, so the thread no longer keeps its exchanges reachable
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Discards everything captured so far
+     */
+    public synchronized void reset() {
+        for (Exchange exchange : ring) {
+            exchange.clear();
+        }
+        captured = 0;
+        slow = false;
+    }
+
+    synchronized void capture(String method, String uri, Headers requestHeaders, Object requestBody, Response response, long elapsedNanos) {
+        Exchange slot = ring[(int) (captured++ % ring.length)];
+        slot.method = method;
+        slot.uri = uri;
+        slot.requestHeaders = requestHeaders;
+        slot.requestBody = requestBody;
+        slot.response = response;
+        slot.elapsedNanos = elapsedNanos;
+        if (elapsedNanos > SLOW_THRESHOLD_NANOS) {
+            slow = true;
+        }
+    }
+
+    /**
+     * Whether any captured exchange took longer than {@code log.capture.slowMillis}
+     */
+    public synchronized boolean hasSlowExchange() {
+        return slow;
+    }
+
+    public synchronized long getCapturedCount() {
+        return captured;
+    }
+
+    /**
+     * Writes the buffered exchanges, oldest first, and empties the buffer
+     *
+     * @param level Log level to write at
+     * @param reason Why the exchanges are being written, such as the failed test's name
+     */
+    public synchronized void flush(Level level, String reason) {
+        if (captured == 0) {
+            return;
+        }
+        int retained = (int) Math.min(captured, ring.length);
+        logger.log(level, "{}: last {} of {} HTTP exchanges", reason, retained, captured);
+        for (long i = captured - retained; i < captured; i++) {
+            logger.log(level, "{}", ring[(int) (i % ring.length)].format());
+        }
+        reset();
+    }
+
+    private static final class Exchange {
+        private String method;
+        private String uri;
+        private Headers requestHeaders;
+        private Object requestBody;
+        private Response response;
+        private long elapsedNanos;
+
+        private void clear() {
+            requestHeaders = null;
+            requestBody = null;
+            response = null;
+        }
+
+        private String format() {
+            StringBuilder out = new StringBuilder(512)
+                    .append(method).append(' ').append(uri)
+                    .append(" (").append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append(" ms)\n");
+            appendHeaders(out, "> ", requestHeaders);
+            if (requestBody != null) {
+                out.append("> ").append(requestBody).append('\n');
+            }
+            if (response != null) {
+                out.append("< ").append(response.getStatusLine()).append('\n');
+                appendHeaders(out, "< ", response.getHeaders());
+                out.append("< ").append(response.asString());
+            }
+            return out.toString();
+        }
+
+        private static void appendHeaders(StringBuilder out, String prefix, Headers headers) {
+            if (headers == null) {
+                return;
+            }
+            for (Header header : headers) {
+                out.append(prefix).append(header.getName()).append(": ").append(header.getValue()).append('\n');
+            }
+        }
+    }
+}
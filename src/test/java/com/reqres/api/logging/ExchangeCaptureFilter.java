@@ -0,0 +1,36 @@
+package com.reqres.api.logging;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Captures every exchange into the calling thread's {@link ExchangeCapture} instead of
+ * logging it, so requests only pay for formatting and I/O when a test actually fails.
+ * Exchanges on threads without a bound capture are not kept.
+ */
+public class ExchangeCaptureFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long elapsed = System.nanoTime() - start;
+        ExchangeCapture capture = ExchangeCapture.current();
+        if (capture != null) {
+            capture.capture(requestSpec.getMethod(), requestSpec.getURI(),
+                    requestSpec.getHeaders(), requestSpec.getBody(), response, elapsed);
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        // Outside the latency filter, so capturing never adds to the recorded latency
+        return HIGHEST_PRECEDENCE;
+    }
+}
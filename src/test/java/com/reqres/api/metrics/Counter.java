@@ -0,0 +1,29 @@
+package com.reqres.api.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing count. Updates go to a striped {@link LongAdder}, so threads
+ * incrementing the same counter do not contend on a single memory location.
+ */
+public class Counter {
+    private final LongAdder value = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Counters only increase, got " + amount);
+        }
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,85 @@
+package com.reqres.api.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Merges Prometheus expositions written by {@link MetricsRegistry} in separate JVMs, such as the
+ * shards of one run. Counters, histogram buckets, sums and counts are all additive, so samples with
+ * the same name and labels are summed.
+ */
+public final class ExpositionMerger {
+
+    private ExpositionMerger() {
+    }
+
+    /**
+     * Merges expositions into one file. Missing files are ignored.
+     *
+     * @param files The exposition files
+     * @param target The merged exposition file
+     * @return Whether any of the files existed
+     */
+    public static boolean merge(List<Path> files, Path target) {
+        Map<String, Family> families = new TreeMap<>();
+        boolean found = false;
+        for (Path file : files) {
+            if (!Files.exists(file)) {
+                continue;
+            }
+            found = true;
+            try {
+                Family family = null;
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    if (line.startsWith("# HELP ") || line.startsWith("# TYPE ")) {
+                        String name = line.substring(7, line.indexOf(' ', 7));
+                        family = families.computeIfAbsent(name, key -> new Family());
+                        if (!family.comments.contains(line)) {
+                            family.comments.add(line);
+                        }
+                    } else if (family != null && !line.isEmpty() && !line.startsWith("#")) {
+                        int valueStart = line.lastIndexOf(' ');
+                        family.samples.merge(line.substring(0, valueStart),
+                                Double.parseDouble(line.substring(valueStart + 1)), Double::sum);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read metrics from " + file, e);
+            }
+        }
+        if (!found) {
+            return false;
+        }
+
+        StringBuilder out = new StringBuilder(4096);
+        families.values().forEach(family -> {
+            family.comments.forEach(comment -> out.append(comment).append('\n'));
+            family.samples.forEach((series, value) -> out.append(series).append(' ').append(format(value)).append('\n'));
+        });
+        try {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            Files.write(target, out.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write merged metrics to " + target, e);
+        }
+        return true;
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    private static final class Family {
+        private final List<String> comments = new ArrayList<>();
+        // Series in the order they first appear, so histogram buckets stay sorted by bound
+        private final Map<String, Double> samples = new LinkedHashMap<>();
+    }
+}
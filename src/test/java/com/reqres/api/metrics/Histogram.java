@@ -0,0 +1,84 @@
+package com.reqres.api.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of observed values over fixed buckets, exported as a Prometheus histogram.
+ * Values are recorded as longs in the unit the bucket bounds are given in and divided by
+ * {@code unitDivisor} on export, for example 1e9 to record nanoseconds and export seconds.
+ * Every bucket, the count and the sum are striped {@link LongAdder}s, so recording never
+ * locks and never allocates.
+ */
+public class Histogram {
+    private final long[] upperBounds;
+    private final double unitDivisor;
+    // One adder per bucket plus the +Inf bucket; counts are per bucket, made cumulative on export
+    private final LongAdder[] buckets;
+    private final LongAdder sum = new LongAdder();
+
+    Histogram(long[] upperBounds, long unitDivisor) {
+        for (int i = 1; i < upperBounds.length; i++) {
+            if (upperBounds[i] <= upperBounds[i - 1]) {
+                throw new IllegalArgumentException("Bucket bounds must be strictly increasing: " + Arrays.toString(upperBounds));
+            }
+        }
+        this.upperBounds = upperBounds.clone();
+        this.unitDivisor = unitDivisor;
+        this.buckets = new LongAdder[upperBounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a value
+     *
+     * @param value The value in the unit of the bucket bounds
+     */
+    public void observe(long value) {
+        int index = Arrays.binarySearch(upperBounds, value);
+        // A value equal to a bound belongs to that bound's bucket, Prometheus buckets are "less or equal"
+        buckets[index >= 0 ? index : -index - 1].increment();
+        sum.add(value);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of all observed values in the exported unit
+     */
+    public double getSum() {
+        return sum.sum() / unitDivisor;
+    }
+
+    /**
+     * Returns the upper bounds of the buckets in the exported unit, without the +Inf bucket
+     */
+    public double[] getUpperBounds() {
+        double[] bounds = new double[upperBounds.length];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = upperBounds[i] / unitDivisor;
+        }
+        return bounds;
+    }
+
+    /**
+     * Returns the number of observations less than or equal to each bound, ending with the +Inf bucket
+     */
+    public long[] getCumulativeCounts() {
+        long[] counts = new long[buckets.length];
+        long running = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            running += buckets[i].sum();
+            counts[i] = running;
+        }
+        return counts;
+    }
+}
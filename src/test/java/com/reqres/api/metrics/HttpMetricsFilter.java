@@ -0,0 +1,120 @@
+package com.reqres.api.metrics;
+
+import com.reqres.api.perf.EndpointKeys;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Counts and times every exchange in the {@link MetricsRegistry}, labeled by method, templated
+ * path such as {@code /users/{id}} and status. Requests that fail without a response get the
+ * status {@code error}. The metrics of a method, path and status are looked up once and cached,
+ * so recording an exchange does not allocate.
+ */
+public class HttpMetricsFilter implements OrderedFilter {
+    public static final String REQUESTS = "http_client_requests_total";
+    public static final String DURATION = "http_client_request_duration_seconds";
+    public static final String RESPONSE_SIZE = "http_client_response_size_bytes";
+    private static final long[] SIZE_BOUNDS = {100, 1_000, 10_000, 100_000, 1_000_000};
+    private static final int ERROR_SLOT = 0;
+    private static final int STATUS_SLOTS = 600;
+
+    // method -> raw path -> metrics of the endpoint, like the request cache of LatencyRegistry
+    private final Map<String, Map<String, EndpointMetrics>> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        EndpointMetrics endpoint = endpoint(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Exception e) {
+            // Also catches the checked I/O exceptions RestAssured throws without declaring them
+            endpoint.forStatus(ERROR_SLOT).record(System.nanoTime() - start);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        int status = response.getStatusCode();
+        endpoint.forStatus(status > 0 && status < STATUS_SLOTS ? status : ERROR_SLOT).record(elapsed);
+
+        // Content-Length avoids reading a body the test may never look at
+        String contentLength = response.getHeader("Content-Length");
+        if (contentLength != null) {
+            try {
+                endpoint.responseSize.observe(Long.parseLong(contentLength));
+            } catch (NumberFormatException e) {
+                // A malformed header is the test's business, not the metrics'
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 2;
+    }
+
+    private EndpointMetrics endpoint(String method, String path) {
+        Map<String, EndpointMetrics> byPath = cache.get(method);
+        if (byPath == null) {
+            byPath = cache.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        EndpointMetrics endpoint = byPath.get(path);
+        if (endpoint == null) {
+            endpoint = byPath.computeIfAbsent(path, key -> new EndpointMetrics(method, EndpointKeys.templatePath(key)));
+        }
+        return endpoint;
+    }
+
+    private static final class EndpointMetrics {
+        private final String method;
+        private final String path;
+        private final Histogram responseSize;
+        // Indexed by status code, slot 0 holds requests that failed without a response
+        private final AtomicReferenceArray<StatusMetrics> byStatus = new AtomicReferenceArray<>(STATUS_SLOTS);
+
+        private EndpointMetrics(String method, String path) {
+            this.method = method;
+            this.path = path;
+            this.responseSize = MetricsRegistry.histogram(RESPONSE_SIZE, "Size of HTTP response bodies", SIZE_BOUNDS, 1,
+                    "method", method, "path", path);
+        }
+
+        private StatusMetrics forStatus(int slot) {
+            StatusMetrics metrics = byStatus.get(slot);
+            if (metrics == null) {
+                String status = slot == ERROR_SLOT ? "error" : Integer.toString(slot);
+                byStatus.compareAndSet(slot, null, new StatusMetrics(
+                        MetricsRegistry.counter(REQUESTS, "HTTP requests sent", "method", method, "path", path, "status", status),
+                        MetricsRegistry.timer(DURATION, "Time from sending an HTTP request to receiving its response",
+                                "method", method, "path", path, "status", status)));
+                metrics = byStatus.get(slot);
+            }
+            return metrics;
+        }
+    }
+
+    private static final class StatusMetrics {
+        private final Counter requests;
+        private final Timer duration;
+
+        private StatusMetrics(Counter requests, Timer duration) {
+            this.requests = requests;
+            this.duration = duration;
+        }
+
+        private void record(long nanos) {
+            requests.increment();
+            duration.record(nanos);
+        }
+    }
+}
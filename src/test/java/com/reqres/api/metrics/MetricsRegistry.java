@@ -0,0 +1,193 @@
+package com.reqres.api.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Suite-wide counters, timers and histograms, exported in the Prometheus text format.
+ * Metrics are identified by name and label pairs; looking one up builds its label string,
+ * so callers on a hot path keep the returned metric instead of looking it up per update.
+ *
+ * <pre>
+ * Counter logins = MetricsRegistry.counter("reqres_logins_total", "Logins sent", "outcome", "success");
+ * logins.increment();
+ * </pre>
+ */
+public final class MetricsRegistry {
+    private static final Map<String, Family<?>> FAMILIES = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Returns the counter with the given name and labels, creating it on first use
+     *
+     * @param name Metric name, ending in {@code _total} by Prometheus convention
+     * @param help Description written to the exposition
+     * @param labels Label names and values, alternating
+     * @return The live counter
+     */
+    public static Counter counter(String name, String help, String... labels) {
+        return family(name, help, "counter", Counter.class).series(labels, Counter::new);
+    }
+
+    /**
+     * Returns the timer with the given name and labels, creating it on first use
+     *
+     * @param name Metric name, ending in {@code _seconds} by Prometheus convention
+     * @param help Description written to the exposition
+     * @param labels Label names and values, alternating
+     * @return The live timer
+     */
+    public static Timer timer(String name, String help, String... labels) {
+        return family(name, help, "histogram", Timer.class).series(labels, Timer::new);
+    }
+
+    /**
+     * Returns the histogram with the given name and labels, creating it on first use
+     *
+     * @param name Metric name, ending in the exported unit by Prometheus convention
+     * @param help Description written to the exposition
+     * @param upperBounds Bucket bounds in the recorded unit, strictly increasing
+     * @param unitDivisor Divisor converting recorded values into the exported unit, 1 to export them as recorded
+     * @param labels Label names and values, alternating
+     * @return The live histogram
+     */
+    public static Histogram histogram(String name, String help, long[] upperBounds, long unitDivisor, String... labels) {
+        return family(name, help, "histogram", Histogram.class).series(labels, () -> new Histogram(upperBounds, unitDivisor));
+    }
+
+    /**
+     * Formats all metrics in the Prometheus text exposition format, version 0.0.4
+     *
+     * @return The exposition, families and series sorted by name
+     */
+    public static String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        new TreeMap<>(FAMILIES).values().forEach(family -> family.writeTo(out));
+        return out.toString();
+    }
+
+    /**
+     * Writes the exposition to a file, replacing it atomically so a scraper never reads half a file
+     *
+     * @param file The target file
+     */
+    public static void write(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temporary, scrape().getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write metrics to " + file, e);
+        }
+    }
+
+    public static void reset() {
+        FAMILIES.clear();
+    }
+
+    /**
+     * Removes one metric family with all its series; metrics already handed out stop being exported
+     *
+     * @param name Metric name
+     */
+    static void unregister(String name) {
+        FAMILIES.remove(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Family<T> family(String name, String help, String type, Class<T> metricClass) {
+        Family<?> family = FAMILIES.computeIfAbsent(name, key -> new Family<>(name, help, type, metricClass));
+        if (family.metricClass != metricClass) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.metricClass.getSimpleName());
+        }
+        return (Family<T>) family;
+    }
+
+    private static final class Family<T> {
+        private final String name;
+        private final String help;
+        private final String type;
+        private final Class<T> metricClass;
+        // Formatted label pairs, such as method="GET",status="200", to the metric
+        private final Map<String, T> series = new ConcurrentHashMap<>();
+
+        private Family(String name, String help, String type, Class<T> metricClass) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.metricClass = metricClass;
+        }
+
+        private T series(String[] labels, Supplier<T> factory) {
+            String key = formatLabels(labels);
+            T metric = series.get(key);
+            return metric != null ? metric : series.computeIfAbsent(key, k -> factory.get());
+        }
+
+        private void writeTo(StringBuilder out) {
+            out.append("# HELP ").append(name).append(' ').append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+            new TreeMap<>(series).forEach((labels, metric) -> {
+                if (metric instanceof Counter) {
+                    sample(out, name, labels, null, Long.toString(((Counter) metric).get()));
+                    return;
+                }
+                Histogram histogram = (Histogram) metric;
+                double[] bounds = histogram.getUpperBounds();
+                long[] counts = histogram.getCumulativeCounts();
+                for (int i = 0; i < bounds.length; i++) {
+                    sample(out, name + "_bucket", labels, formatDouble(bounds[i]), Long.toString(counts[i]));
+                }
+                sample(out, name + "_bucket", labels, "+Inf", Long.toString(counts[bounds.length]));
+                sample(out, name + "_sum", labels, null, formatDouble(histogram.getSum()));
+                sample(out, name + "_count", labels, null, Long.toString(counts[bounds.length]));
+            });
+        }
+
+        private static void sample(StringBuilder out, String name, String labels, String le, String value) {
+            out.append(name);
+            if (!labels.isEmpty() || le != null) {
+                out.append('{').append(labels);
+                if (le != null) {
+                    out.append(labels.isEmpty() ? "" : ",").append("le=\"").append(le).append('"');
+                }
+                out.append('}');
+            }
+            out.append(' ').append(value).append('\n');
+        }
+    }
+
+    private static String formatLabels(String[] labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name and value pairs, got " + labels.length + " strings");
+        }
+        StringBuilder formatted = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                formatted.append(',');
+            }
+            formatted.append(labels[i]).append("=\"").append(labels[i + 1]
+                    .replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n")).append('"');
+        }
+        return formatted.toString();
+    }
+
+    private static String formatDouble(double value) {
+        // Shortest representation that parses back to the same value, such as 0.005 or 2.5
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? String.format(Locale.ROOT, "%.1f", value)
+                : Double.toString(value);
+    }
+}
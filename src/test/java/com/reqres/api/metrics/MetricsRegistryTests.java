@@ -0,0 +1,132 @@
+package com.reqres.api.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the Prometheus text exposition written by {@link MetricsRegistry}. The registry is
+ * shared with the rest of the suite, so every family created here is unregistered afterwards.
+ */
+public class MetricsRegistryTests {
+    private static final String COUNTER = "unit_test_requests_total";
+    private static final String PLAIN_COUNTER = "unit_test_plain_total";
+    private static final String HISTOGRAM = "unit_test_size_bytes";
+    private static final String TIMER = "unit_test_duration_seconds";
+
+    @AfterMethod(alwaysRun = true)
+    public void unregister() {
+        for (String name : new String[]{COUNTER, PLAIN_COUNTER, HISTOGRAM, TIMER}) {
+            MetricsRegistry.unregister(name);
+        }
+    }
+
+    @Test
+    public void testCounterExposition() {
+        MetricsRegistry.counter(COUNTER, "Requests\\sent\nhere", "path", "/a\"b", "method", "GET").add(3);
+        MetricsRegistry.counter(COUNTER, "Requests\\sent\nhere", "path", "/a", "method", "GET").increment();
+
+        // Series are sorted by their label string, labels keep the order they were given in
+        Assert.assertEquals(family(COUNTER),
+                "# HELP unit_test_requests_total Requests\\\\sent\\nhere\n"
+                        + "# TYPE unit_test_requests_total counter\n"
+                        + "unit_test_requests_total{path=\"/a\",method=\"GET\"} 1\n"
+                        + "unit_test_requests_total{path=\"/a\\\"b\",method=\"GET\"} 3\n");
+    }
+
+    @Test
+    public void testUnlabelledCounterExposition() {
+        MetricsRegistry.counter(PLAIN_COUNTER, "Never incremented");
+
+        Assert.assertEquals(family(PLAIN_COUNTER),
+                "# HELP unit_test_plain_total Never incremented\n"
+                        + "# TYPE unit_test_plain_total counter\n"
+                        + "unit_test_plain_total 0\n");
+    }
+
+    @Test
+    public void testHistogramExposition() {
+        Histogram histogram = MetricsRegistry.histogram(HISTOGRAM, "Sizes", new long[]{1, 5}, 1, "endpoint", "x");
+        histogram.observe(1);
+        histogram.observe(3);
+        histogram.observe(10);
+
+        // Buckets are cumulative and "less or equal", so 1 falls into le="1.0"
+        Assert.assertEquals(family(HISTOGRAM),
+                "# HELP unit_test_size_bytes Sizes\n"
+                        + "# TYPE unit_test_size_bytes histogram\n"
+                        + "unit_test_size_bytes_bucket{endpoint=\"x\",le=\"1.0\"} 1\n"
+                        + "unit_test_size_bytes_bucket{endpoint=\"x\",le=\"5.0\"} 2\n"
+                        + "unit_test_size_bytes_bucket{endpoint=\"x\",le=\"+Inf\"} 3\n"
+                        + "unit_test_size_bytes_sum{endpoint=\"x\"} 14.0\n"
+                        + "unit_test_size_bytes_count{endpoint=\"x\"} 3\n");
+    }
+
+    @Test
+    public void testTimerExportsSeconds() {
+        Timer timer = MetricsRegistry.timer(TIMER, "Durations");
+        timer.record(TimeUnit.MILLISECONDS.toNanos(2));
+        timer.record(TimeUnit.MILLISECONDS.toNanos(30));
+
+        Assert.assertEquals(family(TIMER),
+                "# HELP unit_test_duration_seconds Durations\n"
+                        + "# TYPE unit_test_duration_seconds histogram\n"
+                        + "unit_test_duration_seconds_bucket{le=\"0.001\"} 0\n"
+                        + "unit_test_duration_seconds_bucket{le=\"0.0025\"} 1\n"
+                        + "unit_test_duration_seconds_bucket{le=\"0.005\"} 1\n"
+                        + "unit_test_duration_seconds_bucket{le=\"0.01\"} 1\n"
+                        + "unit_test_duration_seconds_bucket{le=\"0.025\"} 1\n"
+                        + "unit_test_duration_seconds_bucket{le=\"0.05\"} 2\n"
+                        + "unit_test_duration_seconds_bucket{le=\"0.1\"} 2\n"
+                        + "unit_test_duration_seconds_bucket{le=\"0.25\"} 2\n"
+                        + "unit_test_duration_seconds_bucket{le=\"0.5\"} 2\n"
+                        + "unit_test_duration_seconds_bucket{le=\"1.0\"} 2\n"
+                        + "unit_test_duration_seconds_bucket{le=\"2.5\"} 2\n"
+                        + "unit_test_duration_seconds_bucket{le=\"5.0\"} 2\n"
+                        + "unit_test_duration_seconds_bucket{le=\"10.0\"} 2\n"
+                        + "unit_test_duration_seconds_bucket{le=\"+Inf\"} 2\n"
+                        + "unit_test_duration_seconds_sum 0.032\n"
+                        + "unit_test_duration_seconds_count 2\n");
+    }
+
+    @Test
+    public void testFamiliesAreSortedByName() {
+        MetricsRegistry.timer(TIMER, "Durations");
+        MetricsRegistry.counter(COUNTER, "Requests");
+        String scrape = MetricsRegistry.scrape();
+
+        Assert.assertTrue(scrape.indexOf("# HELP " + TIMER) < scrape.indexOf("# HELP " + COUNTER));
+    }
+
+    @Test
+    public void testSameNameAndLabelsReturnTheSameMetric() {
+        Counter first = MetricsRegistry.counter(COUNTER, "Requests", "method", "GET");
+
+        Assert.assertSame(MetricsRegistry.counter(COUNTER, "Requests", "method", "GET"), first);
+        Assert.assertNotSame(MetricsRegistry.counter(COUNTER, "Requests", "method", "POST"), first);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNameCannotChangeType() {
+        MetricsRegistry.counter(COUNTER, "Requests");
+        MetricsRegistry.timer(COUNTER, "Requests");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testLabelsMustBePairs() {
+        MetricsRegistry.counter(COUNTER, "Requests", "method");
+    }
+
+    /**
+     * Cuts one family, from its HELP line to the next family, out of the full exposition
+     */
+    private static String family(String name) {
+        String scrape = MetricsRegistry.scrape();
+        int start = scrape.indexOf("# HELP " + name + " ");
+        Assert.assertTrue(start >= 0, name + " is not exported");
+        int end = scrape.indexOf("# HELP ", start + 1);
+        return scrape.substring(start, end < 0 ? scrape.length() : end);
+    }
+}
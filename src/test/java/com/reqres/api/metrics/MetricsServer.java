@@ -0,0 +1,50 @@
+package com.reqres.api.metrics;
+
+import com.reqres.api.server.StubResponse;
+import com.reqres.api.server.StubServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * Serves the {@link MetricsRegistry} at {@code /metrics} on a loopback port, so Prometheus can
+ * scrape a long run while it is in progress. Runs on a {@link StubServer} event loop of its own.
+ */
+public final class MetricsServer {
+    private static StubServer server;
+
+    private MetricsServer() {
+    }
+
+    /**
+     * Starts serving the metrics, unless already started
+     *
+     * @param port The port to listen on, or 0 to pick a free port
+     * @return Base URL of the server
+     */
+    public static synchronized String start(int port) {
+        if (server == null || !server.isRunning()) {
+            try {
+                server = new StubServer(request -> {
+                    if (!"/metrics".equals(request.getPath())) {
+                        return StubResponse.json(404, Collections.emptyMap());
+                    }
+                    return new StubResponse(200, MetricsRegistry.scrape().getBytes(StandardCharsets.UTF_8))
+                            .header("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                }).start(port);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to start metrics server on port " + port, e);
+            }
+        }
+        return server.getBaseUrl();
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.close();
+            server = null;
+        }
+    }
+}
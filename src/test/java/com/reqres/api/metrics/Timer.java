@@ -0,0 +1,33 @@
+package com.reqres.api.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogram of durations. Durations are recorded in nanoseconds and exported in seconds,
+ * as Prometheus expects for {@code _seconds} metrics.
+ */
+public class Timer extends Histogram {
+    // 1 ms to 10 s, the range between a loopback request and a request that fails every threshold
+    static final long[] DEFAULT_BOUNDS_NANOS = millisToNanos(1, 2.5, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000);
+
+    Timer() {
+        super(DEFAULT_BOUNDS_NANOS, TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public void record(long nanos) {
+        observe(Math.max(0, nanos));
+    }
+
+    public void record(Duration duration) {
+        record(duration.toNanos());
+    }
+
+    private static long[] millisToNanos(double... millis) {
+        long[] nanos = new long[millis.length];
+        for (int i = 0; i < millis.length; i++) {
+            nanos[i] = Math.round(millis[i] * TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return nanos;
+    }
+}
@@ -0,0 +1,32 @@
+package com.reqres.api.perf;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a test when any of its exchanges allocates more than a budget on the test's thread, as
+ * measured by the {@link AllocationTracker} from building the request through validating the response.
+ * The test also fails when it makes no exchange with the budgeted endpoint. Skipped on JVMs that
+ * cannot count allocations per thread.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AllocationBudget {
+
+    /**
+     * Maximum bytes one exchange may allocate
+     */
+    long value();
+
+    /**
+     * Endpoint key the budget applies to, such as {@code GET /users/{id}}; empty for every exchange of the test
+     */
+    String endpoint() default "";
+
+    /**
+     * Leading exchanges left out of the check, which pay for class loading and first-use caches
+     */
+    int warmup() default 0;
+}
@@ -0,0 +1,39 @@
+package com.reqres.api.perf;
+
+import org.testng.annotations.Test;
+
+/**
+ * Budgeted test methods run by {@link AllocationBudgetTests}, each making one exchange that allocates
+ * a known array. Package-private so only that nested run picks them up.
+ */
+class AllocationBudgetFixture {
+    static final String ENDPOINT = "GET /allocation-budget-fixture";
+    static final int ARRAY_BYTES = 1 << 20;
+    // Keeps the array reachable, so the allocation cannot be optimized away
+    static volatile byte[] sink;
+
+    @Test
+    @AllocationBudget(value = ARRAY_BYTES / 16, endpoint = ENDPOINT)
+    public void overBudget() {
+        exchange();
+    }
+
+    @Test
+    @AllocationBudget(value = ARRAY_BYTES * 2, endpoint = ENDPOINT)
+    public void withinBudget() {
+        exchange();
+    }
+
+    @Test
+    @AllocationBudget(value = ARRAY_BYTES * 2, endpoint = ENDPOINT, warmup = 1)
+    public void allExchangesWarmup() {
+        exchange();
+    }
+
+    private static void exchange() {
+        AllocationTracker.begin();
+        AllocationTracker.attach("GET", "/allocation-budget-fixture");
+        sink = new byte[ARRAY_BYTES];
+        AllocationTracker.end();
+    }
+}
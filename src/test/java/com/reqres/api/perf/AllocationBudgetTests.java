@@ -0,0 +1,74 @@
+package com.reqres.api.perf;
+
+import com.reqres.api.listeners.AllocationBudgetListener;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for the enforcement of {@link AllocationBudget} by the {@link AllocationBudgetListener},
+ * running the {@link AllocationBudgetFixture} methods in a nested TestNG run
+ */
+public class AllocationBudgetTests {
+    private final Map<String, ITestResult> results = new HashMap<>();
+
+    @BeforeClass
+    public void runFixture() {
+        if (!AllocationTracker.isSupported()) {
+            throw new SkipException("This JVM cannot count allocated bytes per thread");
+        }
+        TestListenerAdapter outcomes = new TestListenerAdapter();
+        TestNG testng = new TestNG(false);
+        testng.setVerbose(0);
+        testng.setTestClasses(new Class[]{AllocationBudgetFixture.class});
+        testng.addListener(new AllocationBudgetListener());
+        testng.addListener(outcomes);
+        testng.run();
+
+        collect(outcomes.getPassedTests());
+        collect(outcomes.getFailedTests());
+        collect(outcomes.getSkippedTests());
+    }
+
+    @Test
+    public void testOverBudgetExchangeFailsTheTest() {
+        ITestResult result = resultOf("overBudget");
+
+        Assert.assertEquals(result.getStatus(), ITestResult.FAILURE, "A passing method over its budget should fail");
+        Assert.assertTrue(result.getThrowable() instanceof AssertionError, "Unexpected failure: " + result.getThrowable());
+        Assert.assertTrue(result.getThrowable().getMessage().contains(AllocationBudgetFixture.ENDPOINT + " allocated"),
+                result.getThrowable().getMessage());
+    }
+
+    @Test
+    public void testExchangeWithinBudgetPasses() {
+        Assert.assertEquals(resultOf("withinBudget").getStatus(), ITestResult.SUCCESS);
+    }
+
+    @Test
+    public void testNoMeasuredExchangeFailsTheTest() {
+        ITestResult result = resultOf("allExchangesWarmup");
+
+        Assert.assertEquals(result.getStatus(), ITestResult.FAILURE, "A budget that measured nothing should fail");
+        Assert.assertTrue(result.getThrowable().getMessage().startsWith("No exchange with " + AllocationBudgetFixture.ENDPOINT),
+                result.getThrowable().getMessage());
+    }
+
+    private void collect(List<ITestResult> outcomes) {
+        outcomes.forEach(result -> results.put(result.getMethod().getMethodName(), result));
+    }
+
+    private ITestResult resultOf(String method) {
+        ITestResult result = results.get(method);
+        Assert.assertNotNull(result, "Fixture method " + method + " did not run");
+        return result;
+    }
+}
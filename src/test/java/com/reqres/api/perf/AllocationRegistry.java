@@ -0,0 +1,99 @@
+package com.reqres.api.perf;
+
+import com.reqres.api.metrics.Histogram;
+import com.reqres.api.metrics.MetricsRegistry;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suite-wide histograms of the bytes allocated per exchange, keyed by endpoint like the
+ * {@link LatencyRegistry}, for example {@code GET /users/{id}}. The histograms hold bytes rather
+ * than nanoseconds. Each endpoint is also exported as the {@value #ALLOCATED_BYTES} histogram
+ * of the {@link MetricsRegistry}.
+ */
+public final class AllocationRegistry {
+    public static final String ALLOCATED_BYTES = "http_client_allocated_bytes";
+    private static final long[] BYTE_BOUNDS = {16_384, 65_536, 262_144, 1_048_576, 4_194_304, 16_777_216};
+    // 1 byte to 1 GiB to within 1%, a tenth of the memory of a latency histogram
+    private static final long HIGHEST_TRACKABLE_BYTES = 1L << 30;
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    // method -> raw path -> allocations of the endpoint, like the request cache of LatencyRegistry
+    private static final Map<String, Map<String, EndpointAllocations>> REQUEST_CACHE = new ConcurrentHashMap<>();
+
+    private AllocationRegistry() {
+    }
+
+    /**
+     * Returns the allocation histogram of an endpoint, creating it on first use
+     *
+     * @param endpoint Endpoint key in the form {@code METHOD /templated/path}
+     * @return The live histogram, in bytes
+     */
+    public static LatencyHistogram forEndpoint(String endpoint) {
+        return HISTOGRAMS.computeIfAbsent(endpoint,
+                key -> new LatencyHistogram(1, HIGHEST_TRACKABLE_BYTES, SIGNIFICANT_DIGITS));
+    }
+
+    /**
+     * Returns the allocations of a request's endpoint without allocating once the method and path have been seen
+     *
+     * @param method The HTTP method
+     * @param path The raw request path, templated or with concrete ids
+     * @return The allocations of the request's endpoint
+     */
+    static EndpointAllocations forRequest(String method, String path) {
+        Map<String, EndpointAllocations> byPath = REQUEST_CACHE.get(method);
+        if (byPath == null) {
+            byPath = REQUEST_CACHE.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        EndpointAllocations allocations = byPath.get(path);
+        if (allocations == null) {
+            allocations = byPath.computeIfAbsent(path, key -> new EndpointAllocations(method, EndpointKeys.templatePath(key)));
+        }
+        return allocations;
+    }
+
+    /**
+     * Returns the live histograms of all endpoints seen so far, sorted by key
+     *
+     * @return Unmodifiable view of the histograms
+     */
+    public static Map<String, LatencyHistogram> getAll() {
+        return Collections.unmodifiableMap(new TreeMap<>(HISTOGRAMS));
+    }
+
+    public static void reset() {
+        REQUEST_CACHE.clear();
+        HISTOGRAMS.clear();
+    }
+
+    /**
+     * The histogram and exported metric of one endpoint
+     */
+    static final class EndpointAllocations {
+        private final String endpoint;
+        private final LatencyHistogram histogram;
+        private final Histogram metric;
+
+        private EndpointAllocations(String method, String path) {
+            this.endpoint = EndpointKeys.of(method, path);
+            this.histogram = forEndpoint(endpoint);
+            this.metric = MetricsRegistry.histogram(ALLOCATED_BYTES, "Bytes allocated by the client thread per HTTP exchange",
+                    BYTE_BOUNDS, 1, "method", method, "path", path);
+        }
+
+        String getEndpoint() {
+            return endpoint;
+        }
+
+        void record(long bytes) {
+            histogram.recordValue(bytes);
+            metric.observe(bytes);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.reqres.api.perf;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures the bytes each thread allocates per exchange with
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}. An exchange opens when a test
+ * builds a request with {@code BaseTest.givenWithApiKey()} and closes when the thread opens its next one,
+ * the test ends ({@code AllocationBudgetListener}) or a task wrapped with {@code RequestContext.propagate}
+ * completes. It covers building the request, sending it, parsing the response with the
+ * {@code ResponseHandler} and validating it. {@link AllocationTrackingFilter} attributes the exchange to
+ * the endpoint of its request; exchanges that never send one are not recorded.
+ * On JVMs without per-thread allocation counting nothing is measured.
+ */
+public final class AllocationTracker {
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+    private static final ThreadLocal<Exchange> CURRENT = ThreadLocal.withInitial(Exchange::new);
+
+    private AllocationTracker() {
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Closes the thread's open exchange, if any, and opens a new one
+     */
+    public static void begin() {
+        if (THREADS == null) {
+            return;
+        }
+        Exchange exchange = CURRENT.get();
+        exchange.close();
+        exchange.open(allocatedBytes());
+    }
+
+    /**
+     * Attributes the thread's open exchange to the endpoint of a request; the first request wins
+     *
+     * @param method The HTTP method
+     * @param path The raw request path, templated or with concrete ids
+     */
+    static void attach(String method, String path) {
+        if (THREADS == null) {
+            return;
+        }
+        Exchange exchange = CURRENT.get();
+        if (exchange.open && exchange.target == null) {
+            exchange.target = AllocationRegistry.forRequest(method, path);
+        }
+    }
+
+    /**
+     * Closes the thread's open exchange, if any
+     */
+    public static void end() {
+        if (THREADS != null) {
+            CURRENT.get().close();
+        }
+    }
+
+    /**
+     * Starts collecting the exchanges the thread closes, in addition to recording them in the registry
+     */
+    public static void startCollecting() {
+        if (THREADS != null) {
+            CURRENT.get().collected = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Closes the thread's open exchange and stops collecting
+     *
+     * @return The exchanges closed since {@link #startCollecting()}, in order
+     */
+    public static List<ExchangeAllocation> stopCollecting() {
+        if (THREADS == null) {
+            return Collections.emptyList();
+        }
+        Exchange exchange = CURRENT.get();
+        exchange.close();
+        List<ExchangeAllocation> collected = exchange.collected;
+        exchange.collected = null;
+        return collected != null ? collected : Collections.emptyList();
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+        if (!hotspot.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        hotspot.setThreadAllocatedMemoryEnabled(true);
+        return hotspot;
+    }
+
+    // One per thread and reused, so opening an exchange does not allocate
+    private static final class Exchange {
+        private boolean open;
+        private long startBytes;
+        private AllocationRegistry.EndpointAllocations target;
+        private List<ExchangeAllocation> collected;
+
+        private void open(long startBytes) {
+            this.open = true;
+            this.startBytes = startBytes;
+            this.target = null;
+        }
+
+        private void close() {
+            if (!open) {
+                return;
+            }
+            long bytes = allocatedBytes() - startBytes;
+            open = false;
+            if (target == null) {
+                return;
+            }
+            target.record(bytes);
+            if (collected != null) {
+                collected.add(new ExchangeAllocation(target.getEndpoint(), bytes));
+            }
+            target = null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.reqres.api.perf;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Attributes the thread's open {@link AllocationTracker} exchange to the endpoint of the request being sent.
+ * It only tags the exchange; the bytes are counted until the thread opens its next exchange, the test
+ * ends or the pooled task that sent it completes, so parsing and validating the response count too.
+ */
+public class AllocationTrackingFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        AllocationTracker.attach(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+        return ctx.next(requestSpec, responseSpec);
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,70 @@
+package com.reqres.api.perf;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Defines when the requests of an open-model load test are intended to start.
+ * Intervals are independent of how long earlier requests take to complete.
+ */
+@FunctionalInterface
+public interface ArrivalSchedule {
+
+    /**
+     * Returns the gap between the request intended to start at {@code offsetNanos} and the next one
+     *
+     * @param offsetNanos Intended start of the current request, relative to the start of the run
+     * @return Nanoseconds until the next request is intended to start
+     */
+    long nextIntervalNanos(long offsetNanos);
+
+    /**
+     * Requests arrive at a constant rate
+     *
+     * @param requestsPerSecond Target arrival rate
+     * @return Fixed-rate schedule
+     */
+    static ArrivalSchedule fixedRate(double requestsPerSecond) {
+        long interval = intervalNanos(requestsPerSecond);
+        return offsetNanos -> interval;
+    }
+
+    /**
+     * The arrival rate increases linearly from {@code startRps} to {@code endRps} over
+     * {@code rampDuration} and stays at {@code endRps} afterwards
+     *
+     * @param startRps Arrival rate at the start of the run
+     * @param endRps Arrival rate at the end of the ramp
+     * @param rampDuration Time to go from the start rate to the end rate
+     * @return Ramping schedule
+     */
+    static ArrivalSchedule ramp(double startRps, double endRps, Duration rampDuration) {
+        intervalNanos(startRps);
+        intervalNanos(endRps);
+        long rampNanos = rampDuration.toNanos();
+        return offsetNanos -> {
+            double progress = rampNanos == 0 ? 1.0 : Math.min(1.0, (double) offsetNanos / rampNanos);
+            return intervalNanos(startRps + (endRps - startRps) * progress);
+        };
+    }
+
+    /**
+     * Requests arrive as a Poisson process, i.e. with exponentially distributed gaps
+     *
+     * @param requestsPerSecond Mean arrival rate
+     * @param seed Random seed so runs are reproducible
+     * @return Poisson schedule
+     */
+    static ArrivalSchedule poisson(double requestsPerSecond, long seed) {
+        double meanIntervalNanos = intervalNanos(requestsPerSecond);
+        Random random = new Random(seed);
+        return offsetNanos -> Math.max(1, (long) (-Math.log(1.0 - random.nextDouble()) * meanIntervalNanos));
+    }
+
+    private static long intervalNanos(double requestsPerSecond) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive but was " + requestsPerSecond);
+        }
+        return Math.max(1, (long) (1_000_000_000L / requestsPerSecond));
+    }
+}
@@ -0,0 +1,174 @@
+package com.reqres.api.perf;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Append-only history of latency histograms per key, one line per run and key. Lines hold
+ * the histogram configuration and the non-empty slots only, so a run costs a few hundred
+ * bytes per key. The rolling baseline of a key merges its most recent passing runs.
+ * <p>
+ * Line format, tab separated: {@code runId passed key lowest highest digits slot:count,...}
+ */
+public final class BaselineStore {
+    private static final Logger logger = LogManager.getLogger(BaselineStore.class);
+    public static final String DIRECTORY_PROPERTY = "perf.history.dir";
+    private static final String FORMAT_VERSION = "v1";
+
+    /**
+     * Identifies the samples of the current JVM, so a run never compares against itself
+     */
+    public static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Path file;
+
+    public BaselineStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the history for the given environment under {@code perf.history.dir}, by default {@code target/perf-history}
+     *
+     * @param environment Name of the environment the latencies were measured against, such as {@code local}
+     * @return The store
+     */
+    public static BaselineStore forEnvironment(String environment) {
+        Path directory = Paths.get(System.getProperty(DIRECTORY_PROPERTY, "target/perf-history"));
+        return new BaselineStore(directory.resolve("latency-" + environment + ".tsv"));
+    }
+
+    /**
+     * Merges the histograms of the most recent passing runs of a key, excluding the current run
+     *
+     * @param key The measurement key
+     * @param runs How many runs to merge at most
+     * @return The baseline histogram, empty when there is no history yet
+     */
+    public synchronized LatencyHistogram loadBaseline(String key, int runs) {
+        List<String[]> matches = readPassingRuns(key);
+        LatencyHistogram baseline = new LatencyHistogram();
+        for (String[] fields : matches.subList(Math.max(0, matches.size() - runs), matches.size())) {
+            LatencyHistogram run = decode(fields);
+            if (run != null) {
+                baseline.add(run);
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * Counts the passing runs of a key recorded before the current run
+     *
+     * @param key The measurement key
+     * @return Number of earlier runs
+     */
+    public synchronized int countRuns(String key) {
+        return readPassingRuns(key).size();
+    }
+
+    /**
+     * Returns the keys with at least one passing run recorded before the current run
+     *
+     * @return Keys in order of first appearance
+     */
+    public synchronized Set<String> keys() {
+        Set<String> keys = new LinkedHashSet<>();
+        readPassingRuns(null).forEach(fields -> keys.add(fields[3]));
+        return keys;
+    }
+
+    /**
+     * Appends a run's histogram for a key
+     *
+     * @param key The measurement key
+     * @param histogram The latencies of this run
+     * @param passed Whether the run passed; failing runs are kept for inspection but never become baseline
+     */
+    public synchronized void append(String key, LatencyHistogram histogram, boolean passed) {
+        StringBuilder line = new StringBuilder(256)
+                .append(FORMAT_VERSION).append('\t')
+                .append(RUN_ID).append('\t')
+                .append(passed ? "pass" : "fail").append('\t')
+                .append(key).append('\t')
+                .append(histogram.getLowestDiscernibleValue()).append('\t')
+                .append(histogram.getHighestTrackableValue()).append('\t')
+                .append(histogram.getSignificantDigits()).append('\t');
+        boolean first = true;
+        for (int slot = 0; slot < histogram.getBucketSlotCount(); slot++) {
+            long count = histogram.getCountAtSlot(slot);
+            if (count != 0) {
+                line.append(first ? "" : ",").append(slot).append(':').append(count);
+                first = false;
+            }
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(line.append('\n').toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append to latency history " + file, e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // A null key reads the passing runs of every key
+    private List<String[]> readPassingRuns(String key) {
+        List<String[]> matches = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return matches;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length == 8 && FORMAT_VERSION.equals(fields[0]) && !RUN_ID.equals(fields[1])
+                        && "pass".equals(fields[2]) && (key == null || key.equals(fields[3]))) {
+                    matches.add(fields);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read latency history " + file, e);
+        }
+        return matches;
+    }
+
+    private static LatencyHistogram decode(String[] fields) {
+        try {
+            // Baselines are merged into a default histogram, so only runs recorded with that configuration qualify
+            if (Long.parseLong(fields[4]) != LatencyHistogram.DEFAULT_LOWEST_DISCERNIBLE_NANOS
+                    || Long.parseLong(fields[5]) != LatencyHistogram.DEFAULT_HIGHEST_TRACKABLE_NANOS
+                    || Integer.parseInt(fields[6]) != LatencyHistogram.DEFAULT_SIGNIFICANT_DIGITS) {
+                return null;
+            }
+            LatencyHistogram histogram = new LatencyHistogram();
+            if (!fields[7].isEmpty()) {
+                for (String entry : fields[7].split(",")) {
+                    int separator = entry.indexOf(':');
+                    int slot = Integer.parseInt(entry.substring(0, separator));
+                    histogram.recordValue(histogram.getValueAtSlot(slot), Long.parseLong(entry.substring(separator + 1)));
+                }
+            }
+            return histogram;
+        } catch (RuntimeException e) {
+            logger.warn("Skipping malformed latency history entry for {}: {}", fields[3], e.getMessage());
+            return null;
+        }
+    }
+}
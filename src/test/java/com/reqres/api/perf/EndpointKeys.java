@@ -0,0 +1,39 @@
+package com.reqres.api.perf;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes request paths into endpoint keys so latencies of {@code /users/2} and
+ * {@code /users/{id}} are aggregated under the same {@code GET /users/{id}} key
+ */
+public final class EndpointKeys {
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final Pattern TEMPLATE_SEGMENT = Pattern.compile("/\\{[^}/]+}(?=/|$)");
+
+    private EndpointKeys() {
+    }
+
+    /**
+     * Builds the endpoint key for a request
+     *
+     * @param method The HTTP method
+     * @param path The request path, either templated or with concrete ids, with or without query string
+     * @return Endpoint key such as {@code GET /users/{id}}
+     */
+    public static String of(String method, String path) {
+        return method.toUpperCase() + " " + templatePath(path);
+    }
+
+    /**
+     * Replaces numeric ids and path parameter placeholders with {@code {id}} and drops the query string
+     *
+     * @param path The request path
+     * @return The templated path
+     */
+    public static String templatePath(String path) {
+        int queryStart = path.indexOf('?');
+        String withoutQuery = queryStart < 0 ? path : path.substring(0, queryStart);
+        String templated = TEMPLATE_SEGMENT.matcher(withoutQuery).replaceAll("/{id}");
+        return NUMERIC_SEGMENT.matcher(templated).replaceAll("/{id}");
+    }
+}
@@ -0,0 +1,15 @@
+package com.reqres.api.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Bytes one exchange allocated on its thread, as measured by the {@link AllocationTracker}
+ */
+@Getter
+@AllArgsConstructor
+public class ExchangeAllocation {
+    // Endpoint key in the form METHOD /templated/path
+    private final String endpoint;
+    private final long bytes;
+}
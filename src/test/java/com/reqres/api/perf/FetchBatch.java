@@ -0,0 +1,36 @@
+package com.reqres.api.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of a {@link ParallelFetcher} run, with one result per key in key order
+ */
+@Getter
+@AllArgsConstructor
+public class FetchBatch<K> {
+    private final List<Fetched<K>> results;
+    private final LatencyHistogram latency;
+    private final long elapsedNanos;
+
+    public List<Fetched<K>> getFailures() {
+        return results.stream().filter(Fetched::isFailed).collect(Collectors.toList());
+    }
+
+    /**
+     * Throws when any fetch failed, naming the failed keys and the first error
+     *
+     * @return This batch, for chaining
+     */
+    public FetchBatch<K> assertAllSucceeded() {
+        List<Fetched<K>> failures = getFailures();
+        if (!failures.isEmpty()) {
+            List<K> keys = failures.stream().map(Fetched::getKey).collect(Collectors.toList());
+            throw new AssertionError("Fetches failed for " + keys + ": " + failures.get(0).getError(), failures.get(0).getError());
+        }
+        return this;
+    }
+}
@@ -0,0 +1,23 @@
+package com.reqres.api.perf;
+
+import io.restassured.response.Response;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of fetching a single key with the {@link ParallelFetcher}
+ */
+@Getter
+@AllArgsConstructor
+public class Fetched<K> {
+    private final K key;
+    /** The response, or null when the request threw */
+    private final Response response;
+    /** Why the request failed, or null when a response was received */
+    private final Throwable error;
+    private final long latencyNanos;
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,157 @@
+package com.reqres.api.perf;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Hands the results of a running {@link LoadGenerator} to a listener at fixed intervals. Samples are
+ * taken on a thread of their own, so the generator keeps dispatching while a sample is processed.
+ * Each sample holds the requests dispatched, dropped and completed since the previous one; recording
+ * holds the read lock and swapping in a new interval the write lock, so no request falls between two
+ * samples. The tick that would fall on the end of the run is skipped, and the final sample, taken once
+ * the in-flight requests have completed, covers the rest of the run.
+ */
+final class IntervalSampler {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "load-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Consumer<LoadResult> listener;
+    private final long lastTickNanos;
+    // Guarded by the lock
+    private Interval current = new Interval();
+    // Only touched by the sampling thread, then by the caller of finish once that thread has stopped
+    private long sampleStartNanos;
+    private volatile RuntimeException failure;
+
+    IntervalSampler(Duration interval, long startNanos, long durationNanos, Consumer<LoadResult> listener) {
+        long intervalNanos = interval.toNanos();
+        this.listener = listener;
+        this.lastTickNanos = startNanos + durationNanos - intervalNanos / 2;
+        this.sampleStartNanos = startNanos;
+        long firstTickNanos = startNanos + intervalNanos - System.nanoTime();
+        scheduler.scheduleAtFixedRate(this::tick, Math.max(0, firstTickNanos), intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordDispatch(boolean queued) {
+        lock.readLock().lock();
+        try {
+            current.dispatched.increment();
+            if (queued) {
+                current.queued.increment();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void recordDrop() {
+        lock.readLock().lock();
+        try {
+            current.dropped.increment();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void recordCompletion(long intendedStart, long actualStart, long end, int statusCode) {
+        lock.readLock().lock();
+        try {
+            current.latency.recordFromIntendedStart(intendedStart, actualStart, end);
+            current.statusCounts.computeIfAbsent(statusCode, status -> new LongAdder()).increment();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void recordFailure() {
+        lock.readLock().lock();
+        try {
+            current.failures.increment();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stops the periodic samples and hands the rest of the run to the listener
+     *
+     * @param dispatchEndNanos When the last request was dispatched
+     */
+    void finish(long dispatchEndNanos) {
+        stop();
+        if (failure == null) {
+            listener.accept(take(dispatchEndNanos, System.nanoTime()));
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Stops the periodic samples and waits for a sample in progress
+     */
+    void stop() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the load sampler", e);
+        }
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        if (now >= lastTickNanos || failure != null) {
+            return;
+        }
+        try {
+            listener.accept(take(now, now));
+        } catch (RuntimeException e) {
+            // A periodic task that throws is silently cancelled, so keep the failure for finish
+            failure = e;
+        }
+    }
+
+    private LoadResult take(long dispatchEndNanos, long now) {
+        Interval finished;
+        lock.writeLock().lock();
+        try {
+            finished = current;
+            current = new Interval();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LoadResult result = finished.toResult(Math.max(0, dispatchEndNanos - sampleStartNanos), now - sampleStartNanos);
+        sampleStartNanos = now;
+        return result;
+    }
+
+    private static final class Interval {
+        private final LatencyRecorder latency = new LatencyRecorder();
+        private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        private final LongAdder dispatched = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder queued = new LongAdder();
+
+        private LoadResult toResult(long dispatchNanos, long elapsedNanos) {
+            Map<Integer, Long> statuses = new TreeMap<>();
+            statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+            return new LoadResult(latency, dispatched.sum(), failures.sum(), dropped.sum(), queued.sum(), statuses,
+                    dispatchNanos, elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.reqres.api.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+
+/**
+ * Heap, garbage collection, thread and file descriptor statistics of the client JVM at one instant
+ */
+@Getter
+@AllArgsConstructor
+public class JvmStats {
+    private final long heapUsedBytes;
+    private final long heapCommittedBytes;
+    // Heap in use right after the most recent collection of each pool, -1 before the first collection
+    private final long heapAfterGcBytes;
+    private final long gcCount;
+    private final long gcTimeMillis;
+    private final int threadCount;
+    // -1 where the platform does not report it
+    private final long openFileDescriptors;
+
+    /**
+     * Reads the current statistics from the platform MXBeans
+     *
+     * @return The statistics
+     */
+    public static JvmStats capture() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long afterGc = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage collected = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (collected != null) {
+                afterGc += collected.getUsed();
+            }
+        }
+        long gcCount = 0;
+        long gcTime = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcTime += Math.max(0, collector.getCollectionTime());
+        }
+        return new JvmStats(heap.getUsed(), heap.getCommitted(), gcCount > 0 ? afterGc : -1, gcCount, gcTime,
+                ManagementFactory.getThreadMXBean().getThreadCount(), openFileDescriptors());
+    }
+
+    private static long openFileDescriptors() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            return ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+        }
+        return -1;
+    }
+}
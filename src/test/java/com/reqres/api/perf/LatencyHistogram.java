@@ -0,0 +1,292 @@
+package com.reqres.api.perf;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-memory, lock-free latency histogram using the HdrHistogram bucketing scheme.
+ * Values are recorded in nanoseconds with a configurable number of significant decimal
+ * digits. Recording only touches pre-allocated atomic counters, so it is safe to call
+ * from many threads and never allocates on the hot path.
+ */
+public class LatencyHistogram {
+    public static final long DEFAULT_LOWEST_DISCERNIBLE_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    public static final long DEFAULT_HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    public static final int DEFAULT_SIGNIFICANT_DIGITS = 3;
+
+    private final long lowestDiscernibleValue;
+    private final long highestTrackableValue;
+    private final int significantDigits;
+
+    private final int unitMagnitude;
+    private final int subBucketHalfCountMagnitude;
+    private final int subBucketHalfCount;
+    private final long subBucketMask;
+    private final int leadingZeroCountBase;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong minValue = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Creates a histogram tracking 1 µs to 10 minutes with three significant digits
+     */
+    public LatencyHistogram() {
+        this(DEFAULT_LOWEST_DISCERNIBLE_NANOS, DEFAULT_HIGHEST_TRACKABLE_NANOS, DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * @param lowestDiscernibleValue Smallest value distinguishable from 0, in nanoseconds
+     * @param highestTrackableValue Largest value tracked, in nanoseconds; larger values are clamped
+     * @param significantDigits Decimal precision to maintain, between 1 and 5
+     */
+    public LatencyHistogram(long lowestDiscernibleValue, long highestTrackableValue, int significantDigits) {
+        if (lowestDiscernibleValue < 1) {
+            throw new IllegalArgumentException("Lowest discernible value must be >= 1");
+        }
+        if (highestTrackableValue < 2 * lowestDiscernibleValue) {
+            throw new IllegalArgumentException("Highest trackable value must be >= 2 * lowest discernible value");
+        }
+        if (significantDigits < 1 || significantDigits > 5) {
+            throw new IllegalArgumentException("Significant digits must be between 1 and 5");
+        }
+        this.lowestDiscernibleValue = lowestDiscernibleValue;
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits = significantDigits;
+
+        long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+        int subBucketCountMagnitude = (int) Math.ceil(Math.log(largestValueWithSingleUnitResolution) / Math.log(2));
+        this.subBucketHalfCountMagnitude = subBucketCountMagnitude - 1;
+        int subBucketCount = 1 << subBucketCountMagnitude;
+        this.subBucketHalfCount = subBucketCount / 2;
+        this.unitMagnitude = 63 - Long.numberOfLeadingZeros(lowestDiscernibleValue);
+        this.subBucketMask = ((long) subBucketCount - 1) << unitMagnitude;
+        this.leadingZeroCountBase = 64 - unitMagnitude - subBucketCountMagnitude;
+
+        int bucketCount = 1;
+        long smallestUntrackableValue = ((long) subBucketCount) << unitMagnitude;
+        while (smallestUntrackableValue <= highestTrackableValue) {
+            if (smallestUntrackableValue > Long.MAX_VALUE / 2) {
+                bucketCount++;
+                break;
+            }
+            smallestUntrackableValue <<= 1;
+            bucketCount++;
+        }
+        this.counts = new AtomicLongArray((bucketCount + 1) * subBucketHalfCount);
+    }
+
+    /**
+     * Records a single value
+     *
+     * @param valueNanos The latency in nanoseconds
+     */
+    public void recordValue(long valueNanos) {
+        recordValue(valueNanos, 1);
+    }
+
+    /**
+     * Records a value the given number of times
+     *
+     * @param valueNanos The latency in nanoseconds
+     * @param count How many occurrences to record
+     */
+    public void recordValue(long valueNanos, long count) {
+        long value = Math.max(0, valueNanos);
+        counts.addAndGet(countsIndex(Math.min(value, highestTrackableValue)), count);
+        totalCount.addAndGet(count);
+        updateMin(value);
+        updateMax(value);
+    }
+
+    /**
+     * Records a value and corrects for coordinated omission: when a measurement of a loop that
+     * is expected to issue a request every {@code expectedIntervalNanos} takes longer than that
+     * interval, the requests that would have been issued meanwhile are back-filled with linearly
+     * decreasing latencies, as HdrHistogram's {@code recordValueWithExpectedInterval} does.
+     *
+     * @param valueNanos The measured latency in nanoseconds
+     * @param expectedIntervalNanos The expected interval between requests, or 0 to disable correction
+     */
+    public void recordValueWithExpectedInterval(long valueNanos, long expectedIntervalNanos) {
+        recordValue(valueNanos);
+        if (expectedIntervalNanos <= 0) {
+            return;
+        }
+        for (long missing = valueNanos - expectedIntervalNanos; missing >= expectedIntervalNanos; missing -= expectedIntervalNanos) {
+            recordValue(missing);
+        }
+    }
+
+    /**
+     * Adds all recorded values of another histogram with the same configuration
+     *
+     * @param other The histogram to merge into this one
+     */
+    public void add(LatencyHistogram other) {
+        if (other.counts.length() != counts.length() || other.unitMagnitude != unitMagnitude) {
+            throw new IllegalArgumentException("Cannot merge histograms with different configurations");
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.getTotalCount());
+        if (other.getTotalCount() > 0) {
+            updateMin(other.minValue.get());
+            updateMax(other.maxValue.get());
+        }
+    }
+
+    /**
+     * Returns an independent copy with the same configuration and recorded values
+     *
+     * @return Copy of this histogram
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram(lowestDiscernibleValue, highestTrackableValue, significantDigits);
+        copy.add(this);
+        return copy;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        minValue.set(Long.MAX_VALUE);
+        maxValue.set(0);
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxValue() {
+        return getTotalCount() == 0 ? 0 : maxValue.get();
+    }
+
+    public long getMinValue() {
+        return getTotalCount() == 0 ? 0 : minValue.get();
+    }
+
+    public double getMean() {
+        long total = 0;
+        double sum = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long count = counts.get(i);
+            if (count != 0) {
+                sum += (double) medianEquivalentValue(valueFromIndex(i)) * count;
+                total += count;
+            }
+        }
+        return total == 0 ? 0 : sum / total;
+    }
+
+    /**
+     * Returns the value at the given percentile. The result is the highest value that is
+     * equivalent to the recorded bucket, so percentiles are never under-reported.
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Value in nanoseconds at or below which the given percentage of samples fall
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = getTotalCount();
+        if (total == 0) {
+            return 0;
+        }
+        double requested = Math.min(Math.max(percentile, 0.0), 100.0);
+        long countAtPercentile = Math.max(1, (long) Math.ceil(requested / 100.0 * total));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= countAtPercentile) {
+                return Math.min(highestEquivalentValue(valueFromIndex(i)), getMaxValue());
+            }
+        }
+        return getMaxValue();
+    }
+
+    /**
+     * Number of slots in the counts array, exposed for serialization
+     */
+    public int getBucketSlotCount() {
+        return counts.length();
+    }
+
+    /**
+     * Count recorded in the given slot, exposed for serialization
+     */
+    public long getCountAtSlot(int slot) {
+        return counts.get(slot);
+    }
+
+    /**
+     * Lowest value that falls into the given slot, exposed for serialization and statistics
+     */
+    public long getValueAtSlot(int slot) {
+        return valueFromIndex(slot);
+    }
+
+    public long getLowestDiscernibleValue() {
+        return lowestDiscernibleValue;
+    }
+
+    public long getHighestTrackableValue() {
+        return highestTrackableValue;
+    }
+
+    public int getSignificantDigits() {
+        return significantDigits;
+    }
+
+    private int countsIndex(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        int subBucketIndex = (int) (value >>> (bucketIndex + unitMagnitude));
+        int bucketBaseIndex = (bucketIndex + 1) << subBucketHalfCountMagnitude;
+        return bucketBaseIndex + subBucketIndex - subBucketHalfCount;
+    }
+
+    private long valueFromIndex(int index) {
+        int bucketIndex = (index >> subBucketHalfCountMagnitude) - 1;
+        int subBucketIndex = (index & (subBucketHalfCount - 1)) + subBucketHalfCount;
+        if (bucketIndex < 0) {
+            subBucketIndex -= subBucketHalfCount;
+            bucketIndex = 0;
+        }
+        return ((long) subBucketIndex) << (bucketIndex + unitMagnitude);
+    }
+
+    private long sizeOfEquivalentValueRange(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        int subBucketIndex = (int) (value >>> (bucketIndex + unitMagnitude));
+        int adjustedBucket = subBucketIndex >= subBucketHalfCount * 2 ? bucketIndex + 1 : bucketIndex;
+        return 1L << (unitMagnitude + adjustedBucket);
+    }
+
+    private long highestEquivalentValue(long value) {
+        return value + sizeOfEquivalentValueRange(value) - 1;
+    }
+
+    private long medianEquivalentValue(long value) {
+        return value + (sizeOfEquivalentValueRange(value) >> 1);
+    }
+
+    private void updateMin(long value) {
+        long current = minValue.get();
+        while (value < current && !minValue.compareAndSet(current, value)) {
+            current = minValue.get();
+        }
+    }
+
+    private void updateMax(long value) {
+        long current = maxValue.get();
+        while (value > current && !maxValue.compareAndSet(current, value)) {
+            current = maxValue.get();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.reqres.api.perf;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the bucketing, percentiles and merging of {@link LatencyHistogram}
+ */
+public class LatencyHistogramTests {
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+    // Three significant digits: every reported value is within 0.1% of the recorded one
+    private static final double PRECISION = 0.001;
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(histogram.getTotalCount(), 0);
+        Assert.assertEquals(histogram.getMinValue(), 0);
+        Assert.assertEquals(histogram.getMaxValue(), 0);
+        Assert.assertEquals(histogram.getValueAtPercentile(99.0), 0);
+        Assert.assertEquals(histogram.getMean(), 0.0);
+    }
+
+    @Test
+    public void testPercentilesOfUniformValues() {
+        LatencyHistogram histogram = uniform(10_000);
+
+        Assert.assertEquals(histogram.getTotalCount(), 10_000);
+        Assert.assertEquals(histogram.getMinValue(), MS, "Min is kept exactly");
+        Assert.assertEquals(histogram.getMaxValue(), 10_000 * MS, "Max is kept exactly");
+        assertWithinPrecision(histogram.getValueAtPercentile(50.0), 5_000 * MS);
+        assertWithinPrecision(histogram.getValueAtPercentile(90.0), 9_000 * MS);
+        assertWithinPrecision(histogram.getValueAtPercentile(99.0), 9_900 * MS);
+        assertWithinPrecision(histogram.getValueAtPercentile(99.9), 9_990 * MS);
+        Assert.assertEquals(histogram.getValueAtPercentile(100.0), 10_000 * MS, "p100 is the max");
+        Assert.assertEquals(histogram.getMean(), 5_000.5 * MS, 5_000.5 * MS * PRECISION);
+    }
+
+    @Test
+    public void testPercentilesAreNeverUnderReported() {
+        LatencyHistogram histogram = uniform(10_000);
+
+        for (double percentile = 1.0; percentile < 100.0; percentile += 1.0) {
+            long exact = (long) Math.ceil(percentile * 100) * MS;
+            Assert.assertTrue(histogram.getValueAtPercentile(percentile) >= exact,
+                    "p" + percentile + " reported below the recorded value " + exact);
+        }
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram(1, 1_000_000, 3);
+        for (long value = 1; value <= 1000; value++) {
+            histogram.recordValue(value);
+        }
+
+        // Below 2048 units of the lowest discernible value every value has a bucket of its own
+        Assert.assertEquals(histogram.getValueAtPercentile(50.0), 500);
+        Assert.assertEquals(histogram.getValueAtPercentile(0.1), 1);
+        Assert.assertEquals(histogram.getValueAtPercentile(99.0), 990);
+    }
+
+    @Test
+    public void testValuesAboveHighestTrackableAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram(1, 1000, 3);
+        histogram.recordValue(5000);
+        histogram.recordValue(-5);
+
+        Assert.assertEquals(histogram.getTotalCount(), 2);
+        Assert.assertEquals(histogram.getMaxValue(), 5000, "Max keeps the unclamped value");
+        Assert.assertEquals(histogram.getMinValue(), 0, "Negative values are recorded as 0");
+    }
+
+    @Test
+    public void testAddAndCopy() {
+        LatencyHistogram first = uniform(5_000);
+        LatencyHistogram second = new LatencyHistogram();
+        for (long i = 5_001; i <= 10_000; i++) {
+            second.recordValue(i * MS);
+        }
+
+        LatencyHistogram merged = first.copy();
+        merged.add(second);
+
+        Assert.assertEquals(first.getTotalCount(), 5_000, "The copy is independent of the original");
+        Assert.assertEquals(merged.getTotalCount(), 10_000);
+        Assert.assertEquals(merged.getMinValue(), MS);
+        Assert.assertEquals(merged.getMaxValue(), 10_000 * MS);
+        Assert.assertEquals(merged.getValueAtPercentile(99.0), uniform(10_000).getValueAtPercentile(99.0),
+                "Merging gives the same distribution as recording everything in one histogram");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testAddRejectsDifferentConfiguration() {
+        new LatencyHistogram().add(new LatencyHistogram(1, 1000, 2));
+    }
+
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = uniform(100);
+        histogram.reset();
+
+        Assert.assertEquals(histogram.getTotalCount(), 0);
+        Assert.assertEquals(histogram.getMaxValue(), 0);
+        Assert.assertEquals(histogram.getValueAtPercentile(50.0), 0);
+    }
+
+    private static LatencyHistogram uniform(int count) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= count; i++) {
+            histogram.recordValue(i * MS);
+        }
+        return histogram;
+    }
+
+    private static void assertWithinPrecision(long actual, long expected) {
+        Assert.assertTrue(actual >= expected && actual <= expected * (1 + PRECISION),
+                "Expected " + expected + " within " + PRECISION * 100 + "% but was " + actual);
+    }
+}
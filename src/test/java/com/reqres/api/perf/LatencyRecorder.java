@@ -0,0 +1,53 @@
+package com.reqres.api.perf;
+
+/**
+ * Records every measurement twice, based on {@link System#nanoTime()}:
+ * <ul>
+ *     <li>raw: service time from when the request was actually sent</li>
+ *     <li>corrected: latency from when the request was intended to be sent, so requests queued
+ *     behind a stalled one are counted as late instead of being silently omitted</li>
+ * </ul>
+ * SLO checks should use the corrected distribution; comparing it to the raw one shows how
+ * much queueing the client added.
+ */
+public class LatencyRecorder {
+    private final LatencyHistogram raw = new LatencyHistogram();
+    private final LatencyHistogram corrected = new LatencyHistogram();
+
+    /**
+     * Records a request that was scheduled to start at a known instant
+     *
+     * @param intendedStartNanos When the request should have been sent
+     * @param actualStartNanos When the request was actually sent
+     * @param endNanos When the response was received
+     */
+    public void recordFromIntendedStart(long intendedStartNanos, long actualStartNanos, long endNanos) {
+        raw.recordValue(endNanos - actualStartNanos);
+        corrected.recordValue(endNanos - Math.min(intendedStartNanos, actualStartNanos));
+    }
+
+    /**
+     * Records a request of a loop without explicit scheduling, back-filling the corrected
+     * distribution with the samples an expected-interval loop would have missed
+     *
+     * @param latencyNanos The measured latency
+     * @param expectedIntervalNanos The interval at which the loop is expected to send requests
+     */
+    public void recordWithExpectedInterval(long latencyNanos, long expectedIntervalNanos) {
+        raw.recordValue(latencyNanos);
+        corrected.recordValueWithExpectedInterval(latencyNanos, expectedIntervalNanos);
+    }
+
+    public void add(LatencyRecorder other) {
+        raw.add(other.raw);
+        corrected.add(other.corrected);
+    }
+
+    public LatencyHistogram getRaw() {
+        return raw;
+    }
+
+    public LatencyHistogram getCorrected() {
+        return corrected;
+    }
+}
@@ -0,0 +1,113 @@
+package com.reqres.api.perf;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the coordinated-omission correction of {@link LatencyRecorder} and {@link PacedLoop}
+ */
+public class LatencyRecorderTests {
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testLateStartCountsInCorrectedLatency() {
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        // Intended at 0, sent 50 ms late, answered 10 ms later
+        recorder.recordFromIntendedStart(0, 50 * MS, 60 * MS);
+
+        Assert.assertEquals(recorder.getRaw().getMaxValue(), 10 * MS, "Raw latency is the service time");
+        Assert.assertEquals(recorder.getCorrected().getMaxValue(), 60 * MS, "Corrected latency includes the delay");
+    }
+
+    @Test
+    public void testEarlyStartIsNotCorrected() {
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        recorder.recordFromIntendedStart(20 * MS, 10 * MS, 30 * MS);
+
+        Assert.assertEquals(recorder.getRaw().getMaxValue(), 20 * MS);
+        Assert.assertEquals(recorder.getCorrected().getMaxValue(), 20 * MS, "An early start never shortens the latency");
+    }
+
+    @Test
+    public void testAddMergesBothDistributions() {
+        LatencyRecorder first = new LatencyRecorder();
+        first.recordFromIntendedStart(0, 0, 5 * MS);
+        LatencyRecorder second = new LatencyRecorder();
+        second.recordFromIntendedStart(0, 40 * MS, 45 * MS);
+
+        first.add(second);
+
+        Assert.assertEquals(first.getRaw().getTotalCount(), 2);
+        Assert.assertEquals(first.getRaw().getMaxValue(), 5 * MS);
+        Assert.assertEquals(first.getCorrected().getMaxValue(), 45 * MS);
+    }
+
+    @Test
+    public void testExpectedIntervalBackFillsStall() {
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        // A loop expected to send every 20 ms stalls for 100 ms, missing the requests due at 20, 40, 60 and 80 ms
+        recorder.recordWithExpectedInterval(100 * MS, 20 * MS);
+
+        Assert.assertEquals(recorder.getRaw().getTotalCount(), 1, "Raw latency keeps only the measured request");
+        Assert.assertEquals(recorder.getCorrected().getTotalCount(), 5, "The four missed requests are back-filled");
+        Assert.assertEquals(recorder.getCorrected().getMaxValue(), 100 * MS);
+        Assert.assertEquals(recorder.getCorrected().getMinValue(), 20 * MS, "Back-filled latencies decrease by the interval");
+    }
+
+    @Test
+    public void testExpectedIntervalWithinPaceAddsNothing() {
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        recorder.recordWithExpectedInterval(15 * MS, 20 * MS);
+        recorder.recordWithExpectedInterval(30 * MS, 0);
+
+        Assert.assertEquals(recorder.getCorrected().getTotalCount(), 2, "Neither a fast request nor a zero interval back-fills");
+    }
+
+    @Test
+    public void testPacedLoopBackFillsStallWithExpectedInterval() {
+        LatencyRecorder recorder = PacedLoop.run(4, Duration.ofMillis(20), PacedLoop.Correction.EXPECTED_INTERVAL, i -> {
+            if (i == 0) {
+                sleep(100);
+            }
+        });
+
+        Assert.assertEquals(recorder.getRaw().getTotalCount(), 4);
+        Assert.assertTrue(recorder.getCorrected().getTotalCount() >= 8,
+                "The stall should add at least four synthetic samples but the corrected count is "
+                        + recorder.getCorrected().getTotalCount());
+    }
+
+    @Test
+    public void testPacedLoopCountsStallAgainstLaterIterations() {
+        // The first iteration stalls for five intervals, so the next ones start late
+        LatencyRecorder recorder = PacedLoop.run(4, Duration.ofMillis(20), i -> {
+            if (i == 0) {
+                sleep(100);
+            }
+        });
+
+        Assert.assertEquals(recorder.getRaw().getTotalCount(), 4);
+        Assert.assertEquals(recorder.getCorrected().getTotalCount(), 4, "Nothing is back-filled by default");
+        Assert.assertTrue(recorder.getRaw().getValueAtPercentile(75.0) < 20 * MS,
+                "Only the stalled iteration is slow by service time");
+        // Iterations 1 to 3 were due at 20, 40 and 60 ms but started at about 100 ms
+        Assert.assertTrue(recorder.getCorrected().getValueAtPercentile(50.0) >= 40 * MS,
+                "The delay behind the stall should count against the iterations that waited");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.reqres.api.perf;
+
+import com.reqres.api.server.FaultInjectingHandler;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records the latency of every exchange into the {@link LatencyRegistry}. Runs as the
+ * innermost filter so logging and other filters are not included in the measurement.
+ * Exchanges with injected faults are left out, so they do not skew the suite-wide percentiles.
+ * The latency of the last exchange of each thread is kept for tests that build their own histograms.
+ */
+public class LatencyRecordingFilter implements OrderedFilter {
+    // One slot per thread, so recording the last latency does not box
+    private static final ThreadLocal<long[]> LAST_NANOS = ThreadLocal.withInitial(() -> new long[]{-1});
+
+    /**
+     * Returns the latency of the last exchange sent from the calling thread, faults included
+     *
+     * @return Latency in nanoseconds, or -1 when no exchange was sent yet
+     */
+    public static long lastNanos() {
+        return LAST_NANOS.get()[0];
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long elapsed = System.nanoTime() - start;
+        LAST_NANOS.get()[0] = elapsed;
+        if (requestSpec.getHeaders().hasHeaderWithName(FaultInjectingHandler.PROFILE_HEADER)) {
+            return response;
+        }
+        LatencyRegistry.forRequest(requestSpec.getMethod(), requestSpec.getUserDefinedPath()).recordValue(elapsed);
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,64 @@
+package com.reqres.api.perf;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suite-wide latency histograms keyed by endpoint, for example {@code GET /users/{id}}.
+ * Fed by {@link LatencyRecordingFilter} for every request sent through the shared specifications.
+ */
+public final class LatencyRegistry {
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    // method -> raw path -> histogram, so repeated requests skip path templating and key concatenation
+    private static final Map<String, Map<String, LatencyHistogram>> REQUEST_CACHE = new ConcurrentHashMap<>();
+
+    private LatencyRegistry() {
+    }
+
+    /**
+     * Returns the histogram for an endpoint, creating it on first use
+     *
+     * @param endpoint Endpoint key in the form {@code METHOD /templated/path}
+     * @return The live histogram for the endpoint
+     */
+    public static LatencyHistogram forEndpoint(String endpoint) {
+        LatencyHistogram histogram = HISTOGRAMS.get(endpoint);
+        return histogram != null ? histogram : HISTOGRAMS.computeIfAbsent(endpoint, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Returns the histogram for a request without allocating once the method and path have been seen
+     *
+     * @param method The HTTP method
+     * @param path The raw request path, templated or with concrete ids
+     * @return The live histogram for the request's endpoint
+     */
+    public static LatencyHistogram forRequest(String method, String path) {
+        Map<String, LatencyHistogram> byPath = REQUEST_CACHE.get(method);
+        if (byPath == null) {
+            byPath = REQUEST_CACHE.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        LatencyHistogram histogram = byPath.get(path);
+        if (histogram == null) {
+            histogram = forEndpoint(EndpointKeys.of(method, path));
+            byPath.putIfAbsent(path, histogram);
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns the live histograms of all endpoints seen so far, sorted by endpoint key
+     *
+     * @return Unmodifiable view of the histograms
+     */
+    public static Map<String, LatencyHistogram> getAll() {
+        return Collections.unmodifiableMap(new TreeMap<>(HISTOGRAMS));
+    }
+
+    public static void reset() {
+        REQUEST_CACHE.clear();
+        HISTOGRAMS.clear();
+    }
+}
@@ -0,0 +1,210 @@
+package com.reqres.api.perf;
+
+import com.reqres.api.utils.RequestContext;
+import io.restassured.response.Response;
+import lombok.Builder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator. Requests are dispatched at the instants given by an
+ * {@link ArrivalSchedule}, regardless of how long earlier requests take, and executed on
+ * a worker pool shared by all load runs. Latency is measured from each request's intended
+ * start, so requests delayed by a stalled server or a saturated worker pool are counted as
+ * late; the raw service time is recorded alongside. Each worker records into its own
+ * {@link LatencyRecorder}; the recorders are merged once the run completes. Requests are sent with
+ * the {@link RequestContext} of the thread that calls {@link #run()}.
+ * <p>
+ * Requests wait for a free worker in a bounded queue ({@code load.queueCapacity}). A request
+ * that finds the queue full is not sent and is counted as dropped, so a run whose workers
+ * cannot keep up fails instead of buffering requests without limit. Requests dispatched while
+ * every worker is busy are counted as queued; many queued or dropped requests mean the
+ * generator, not the server, set the pace.
+ * <p>
+ * With a sample listener, the results since the previous sample are handed to the listener every
+ * sample interval from a separate thread while the run goes on, see {@link IntervalSampler}.
+ *
+ * <pre>
+ * LoadResult result = LoadGenerator.builder()
+ *         .schedule(ArrivalSchedule.fixedRate(500))
+ *         .duration(Duration.ofSeconds(60))
+ *         .request(() -&gt; givenWithApiKey().get("/users"))
+ *         .build()
+ *         .run();
+ * </pre>
+ */
+@Builder
+public class LoadGenerator {
+    private static final Logger logger = LogManager.getLogger(LoadGenerator.class);
+    public static final String WORKERS_PROPERTY = "load.workers";
+    public static final String QUEUE_CAPACITY_PROPERTY = "load.queueCapacity";
+    private static final int WORKERS = Integer.getInteger(WORKERS_PROPERTY, 64);
+    private static final ThreadPoolExecutor SHARED_WORKERS = new ThreadPoolExecutor(WORKERS, WORKERS, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Integer.getInteger(QUEUE_CAPACITY_PROPERTY, 4096)), daemonThreadFactory());
+
+    private final ArrivalSchedule schedule;
+    private final Duration duration;
+    private final Supplier<Response> request;
+    @Builder.Default
+    private final Duration completionTimeout = Duration.ofSeconds(30);
+    // Requests sent one at a time before the measured duration and left out of the results, so a run
+    // that starts in a cold JVM measures neither class loading and JIT compilation nor the backlog
+    // an open-model warm-up would queue up behind them
+    @Builder.Default
+    private final int warmupRequests = 0;
+    // Called with the results of each sample interval, or null to only return the merged results
+    private final Consumer<LoadResult> sampleListener;
+    @Builder.Default
+    private final Duration sampleInterval = Duration.ofMinutes(1);
+
+    /**
+     * Warms up, then dispatches requests on the calling thread until the duration has elapsed
+     * and waits for all in-flight requests to complete
+     *
+     * @return The merged results of the run
+     */
+    public LoadResult run() {
+        // Keyed by worker thread rather than held in a ThreadLocal: the pooled workers outlive the run,
+        // and their stale ThreadLocal entries would keep every earlier run's histograms reachable
+        Map<Thread, LatencyRecorder> workerRecorders = new ConcurrentHashMap<>();
+        Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        LongAdder failures = new LongAdder();
+        long dropped = 0;
+        long queued = 0;
+        AtomicInteger dispatched = new AtomicInteger();
+        Semaphore completions = new Semaphore(0);
+        warmUp();
+
+        long durationNanos = duration.toNanos();
+        long startNanos = System.nanoTime();
+        IntervalSampler sampler = sampleListener == null
+                ? null : new IntervalSampler(sampleInterval, startNanos, durationNanos, sampleListener);
+        long dispatchNanos;
+        long elapsedNanos;
+        try {
+            long offsetNanos = 0;
+            while (offsetNanos < durationNanos) {
+                long intendedStart = startNanos + offsetNanos;
+                long waitNanos;
+                while ((waitNanos = intendedStart - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+
+                // Shared with concurrent runs, so this also counts waits caused by them
+                boolean allBusy = SHARED_WORKERS.getActiveCount() >= WORKERS;
+                try {
+                    // Runs with the test's context, so its request spec and exchange capture reach the workers
+                    SHARED_WORKERS.execute(RequestContext.propagate(() -> {
+                        try {
+                            long actualStart = System.nanoTime();
+                            Response response = request.get();
+                            long end = System.nanoTime();
+                            workerRecorders.computeIfAbsent(Thread.currentThread(), worker -> new LatencyRecorder())
+                                    .recordFromIntendedStart(intendedStart, actualStart, end);
+                            statusCounts.computeIfAbsent(response.getStatusCode(), status -> new LongAdder()).increment();
+                            if (sampler != null) {
+                                sampler.recordCompletion(intendedStart, actualStart, end, response.getStatusCode());
+                            }
+                        } catch (RuntimeException | AssertionError e) {
+                            failures.increment();
+                            if (sampler != null) {
+                                sampler.recordFailure();
+                            }
+                            logger.warn("Load request failed: {}", e.getMessage());
+                        } finally {
+                            completions.release();
+                        }
+                    }));
+                    dispatched.incrementAndGet();
+                    if (allBusy) {
+                        queued++;
+                    }
+                    if (sampler != null) {
+                        sampler.recordDispatch(allBusy);
+                    }
+                } catch (RejectedExecutionException e) {
+                    dropped++;
+                    if (sampler != null) {
+                        sampler.recordDrop();
+                    }
+                }
+                offsetNanos += schedule.nextIntervalNanos(offsetNanos);
+            }
+
+            dispatchNanos = System.nanoTime() - startNanos;
+            awaitCompletion(completions, dispatched.get());
+            elapsedNanos = System.nanoTime() - startNanos;
+        } finally {
+            if (sampler != null) {
+                sampler.stop();
+            }
+        }
+        if (sampler != null) {
+            sampler.finish(startNanos + dispatchNanos);
+        }
+
+        LatencyRecorder merged = new LatencyRecorder();
+        workerRecorders.values().forEach(merged::add);
+        Map<Integer, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+
+        LoadResult result = new LoadResult(merged, dispatched.get(), failures.sum(), dropped, queued, statuses,
+                dispatchNanos, elapsedNanos);
+        logger.info("Load run finished: {} requests dispatched in {} ms ({} req/s achieved), statuses={}, failures={}, dropped={}, queued={}",
+                result.getDispatchedCount(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format(Locale.ROOT, "%.1f", result.getAchievedRate()), statuses, result.getFailureCount(), dropped, queued);
+        return result;
+    }
+
+    private void warmUp() {
+        if (warmupRequests <= 0) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < warmupRequests; i++) {
+            try {
+                request.get();
+            } catch (RuntimeException | AssertionError e) {
+                logger.warn("Warm-up request failed: {}", e.getMessage());
+            }
+        }
+        logger.info("Warmed up with {} requests in {} ms", warmupRequests, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    private void awaitCompletion(Semaphore completions, int dispatched) {
+        try {
+            if (!completions.tryAcquire(dispatched, completionTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException("In-flight requests did not complete within " + completionTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight requests", e);
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "load-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.reqres.api.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Outcome of a {@link LoadGenerator} run
+ */
+@Getter
+@AllArgsConstructor
+public class LoadResult {
+    private final LatencyRecorder latency;
+    private final long dispatchedCount;
+    private final long failureCount;
+    // Requests that were due but found the worker queue full and were never sent
+    private final long droppedCount;
+    // Requests that were dispatched while every worker was busy and waited in the queue
+    private final long queuedCount;
+    private final Map<Integer, Long> statusCounts;
+    // Time from the first intended start until the last request was dispatched
+    private final long dispatchNanos;
+    // Time from the first intended start until the last request completed
+    private final long elapsedNanos;
+
+    /**
+     * Latency from each request's intended start, corrected for coordinated omission
+     *
+     * @return The corrected latency distribution
+     */
+    public LatencyHistogram getHistogram() {
+        return latency.getCorrected();
+    }
+
+    /**
+     * Service time from each request's actual start, excluding queueing delay
+     *
+     * @return The raw latency distribution
+     */
+    public LatencyHistogram getRawHistogram() {
+        return latency.getRaw();
+    }
+
+    public long getCompletedCount() {
+        return latency.getRaw().getTotalCount();
+    }
+
+    /**
+     * Returns the rate at which requests were actually dispatched, which falls below the offered
+     * rate when the generator cannot dispatch on schedule
+     *
+     * @return Requests per second
+     */
+    public double getAchievedRate() {
+        return dispatchNanos == 0 ? 0 : dispatchedCount * 1_000_000_000.0 / dispatchNanos;
+    }
+
+    /**
+     * Returns the rate at which requests completed, including the time to drain the requests still
+     * in flight when dispatching ended, so a server that falls behind shows less than the achieved rate
+     *
+     * @return Completed requests per second
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : getCompletedCount() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Returns the requests that were dropped, failed without a response or got a status outside 2xx
+     *
+     * @return Number of errors
+     */
+    public long getErrorCount() {
+        long errors = failureCount + droppedCount;
+        for (Map.Entry<Integer, Long> status : statusCounts.entrySet()) {
+            if (status.getKey() < 200 || status.getKey() >= 300) {
+                errors += status.getValue();
+            }
+        }
+        return errors;
+    }
+
+    public long getStatusCount(int status) {
+        return statusCounts.getOrDefault(status, 0L);
+    }
+}
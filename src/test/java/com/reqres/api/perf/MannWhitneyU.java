@@ -0,0 +1,107 @@
+package com.reqres.api.perf;
+
+/**
+ * One-sided Mann-Whitney U test computed directly from two histograms with the same
+ * configuration. Histogram slots are ordered by value, so ranks follow from cumulative
+ * bucket counts and values in the same bucket are treated as ties. The normal approximation
+ * with tie correction is used, which is accurate for the sample sizes of latency runs.
+ */
+public final class MannWhitneyU {
+
+    private MannWhitneyU() {
+    }
+
+    /**
+     * Tests whether latencies in {@code current} tend to be larger than in {@code baseline}
+     *
+     * @param current The latencies of this run
+     * @param baseline The latencies of earlier runs
+     * @return The comparison, with a positive z-score when this run is slower
+     */
+    public static Comparison compare(LatencyHistogram current, LatencyHistogram baseline) {
+        if (current.getBucketSlotCount() != baseline.getBucketSlotCount()
+                || current.getLowestDiscernibleValue() != baseline.getLowestDiscernibleValue()) {
+            throw new IllegalArgumentException("Cannot compare histograms with different configurations");
+        }
+        double n1 = current.getTotalCount();
+        double n2 = baseline.getTotalCount();
+        if (n1 == 0 || n2 == 0) {
+            throw new IllegalArgumentException("Both histograms need samples");
+        }
+        double u = 0;
+        double tieTerm = 0;
+        long baselineBelow = 0;
+        for (int slot = 0; slot < current.getBucketSlotCount(); slot++) {
+            long a = current.getCountAtSlot(slot);
+            long b = baseline.getCountAtSlot(slot);
+            if (a == 0 && b == 0) {
+                continue;
+            }
+            // Each current sample beats every baseline sample in lower slots and half of the ties
+            u += a * (baselineBelow + b / 2.0);
+            double t = a + b;
+            tieTerm += t * t * t - t;
+            baselineBelow += b;
+        }
+        double n = n1 + n2;
+        double mean = n1 * n2 / 2;
+        double variance = n1 * n2 / 12 * ((n + 1) - tieTerm / (n * (n - 1)));
+        double z = variance > 0 ? (u - mean) / Math.sqrt(variance) : 0;
+        return new Comparison(u, z, upperTail(z), u / (n1 * n2));
+    }
+
+    /**
+     * Probability that a standard normal variable exceeds {@code z}, with a relative error below 1.2e-7
+     */
+    static double upperTail(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.5 * x);
+        // Chebyshev fit of erfc(x), Numerical Recipes 6.2
+        double erfc = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return z >= 0 ? erfc / 2 : 1 - erfc / 2;
+    }
+
+    /**
+     * Result of a {@link MannWhitneyU} comparison
+     */
+    public static final class Comparison {
+        private final double u;
+        private final double z;
+        private final double pValue;
+        private final double probabilitySlower;
+
+        private Comparison(double u, double z, double pValue, double probabilitySlower) {
+            this.u = u;
+            this.z = z;
+            this.pValue = pValue;
+            this.probabilitySlower = probabilitySlower;
+        }
+
+        public double getU() {
+            return u;
+        }
+
+        /**
+         * Standardized U statistic; above 1.645, 2.326 or 3.090 rejects "not slower" at 5%, 1% or 0.1%
+         */
+        public double getZ() {
+            return z;
+        }
+
+        /**
+         * One-sided p-value of "this run is not slower" under the normal approximation
+         */
+        public double getPValue() {
+            return pValue;
+        }
+
+        /**
+         * Probability that a random sample of this run is slower than a random baseline sample, 0.5 when equal
+         */
+        public double getProbabilitySlower() {
+            return probabilitySlower;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.reqres.api.perf;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link MannWhitneyU} against values worked out by hand from the textbook formulas
+ */
+public class MannWhitneyUTests {
+    private static final double DELTA = 1e-6;
+
+    @Test
+    public void testSeparatedSamplesWithoutTies() {
+        // Every current sample beats every baseline sample: U = 3 * 3 = 9, mean 4.5, variance 3 * 3 * 7 / 12 = 5.25
+        MannWhitneyU.Comparison comparison = MannWhitneyU.compare(histogram(4, 5, 6), histogram(1, 2, 3));
+
+        Assert.assertEquals(comparison.getU(), 9.0, DELTA);
+        Assert.assertEquals(comparison.getZ(), 4.5 / Math.sqrt(5.25), DELTA);
+        Assert.assertEquals(comparison.getPValue(), 0.0247673067, DELTA);
+        Assert.assertEquals(comparison.getProbabilitySlower(), 1.0, DELTA);
+    }
+
+    @Test
+    public void testTiesCountHalfAndShrinkTheVariance() {
+        // U = 0 + 0.5 + 1.5 + 2 = 4, mean 6; ties on 2 and 3 give a tie term of 2 * (2^3 - 2) = 12,
+        // so the variance is 4 * 3 / 12 * (8 - 12 / (7 * 6)) = 7.7142857
+        MannWhitneyU.Comparison comparison = MannWhitneyU.compare(histogram(1, 2, 3, 4), histogram(2, 3, 5));
+
+        Assert.assertEquals(comparison.getU(), 4.0, DELTA);
+        Assert.assertEquals(comparison.getZ(), -2 / Math.sqrt(8 - 12.0 / 42), DELTA);
+        Assert.assertEquals(comparison.getZ(), -0.7200822998, DELTA);
+        Assert.assertEquals(comparison.getPValue(), 0.7642628376, DELTA);
+        Assert.assertEquals(comparison.getProbabilitySlower(), 4.0 / 12, DELTA);
+    }
+
+    @Test
+    public void testIdenticalSamplesAreNotSlower() {
+        MannWhitneyU.Comparison comparison = MannWhitneyU.compare(histogram(1, 2, 3, 4), histogram(1, 2, 3, 4));
+
+        Assert.assertEquals(comparison.getU(), 8.0, DELTA);
+        Assert.assertEquals(comparison.getZ(), 0.0, DELTA);
+        Assert.assertEquals(comparison.getPValue(), 0.5, DELTA);
+        Assert.assertEquals(comparison.getProbabilitySlower(), 0.5, DELTA);
+    }
+
+    @Test
+    public void testAllTiedSamplesHaveNoVariance() {
+        MannWhitneyU.Comparison comparison = MannWhitneyU.compare(histogram(7, 7), histogram(7, 7, 7));
+
+        Assert.assertEquals(comparison.getZ(), 0.0, DELTA);
+        Assert.assertEquals(comparison.getPValue(), 0.5, DELTA);
+    }
+
+    @Test
+    public void testUpperTailAtCriticalValues() {
+        // The one-sided critical values quoted on Comparison.getZ
+        Assert.assertEquals(MannWhitneyU.upperTail(1.645), 0.0499849055, DELTA);
+        Assert.assertEquals(MannWhitneyU.upperTail(2.326), 0.0100092753, DELTA);
+        Assert.assertEquals(MannWhitneyU.upperTail(3.090), 0.0010007825, DELTA);
+        Assert.assertEquals(MannWhitneyU.upperTail(-1.645), 1 - 0.0499849055, DELTA);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDifferentConfigurationsAreRejected() {
+        MannWhitneyU.compare(histogram(1, 2), new LatencyHistogram(1, 1000, 2));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testEmptyHistogramIsRejected() {
+        MannWhitneyU.compare(histogram(1, 2), new LatencyHistogram(1, 1_000_000, 3));
+    }
+
+    private static LatencyHistogram histogram(long... values) {
+        // A unit of 1 keeps every small value in a bucket of its own
+        LatencyHistogram histogram = new LatencyHistogram(1, 1_000_000, 3);
+        for (long value : values) {
+            histogram.recordValue(value);
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,72 @@
+package com.reqres.api.perf;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs a sequential request loop at a fixed pace. By default iteration {@code i} is intended to start
+ * at {@code start + i * interval}; when an earlier iteration overruns, later iterations start late
+ * and the delay is included in their corrected latency. With {@link Correction#EXPECTED_INTERVAL} the
+ * loop keeps its pace from the previous iteration instead and back-fills each overrun.
+ */
+public final class PacedLoop {
+
+    /**
+     * How the corrected latency accounts for the iterations an overrun held up
+     */
+    public enum Correction {
+        // Every iteration is timed from its slot in the fixed schedule
+        INTENDED_START,
+        // The missed iterations are recorded as synthetic samples, see LatencyHistogram.recordValueWithExpectedInterval
+        EXPECTED_INTERVAL
+    }
+
+    private PacedLoop() {
+    }
+
+    /**
+     * Runs the loop correcting from each iteration's intended start
+     *
+     * @param iterations Number of iterations to run
+     * @param interval Intended time between the starts of consecutive iterations
+     * @param body The request to execute, receiving the iteration index
+     * @return Raw and corrected latencies of all iterations
+     */
+    public static LatencyRecorder run(int iterations, Duration interval, IntConsumer body) {
+        return run(iterations, interval, Correction.INTENDED_START, body);
+    }
+
+    /**
+     * @param iterations Number of iterations to run
+     * @param interval Intended time between the starts of consecutive iterations
+     * @param correction How overruns are counted in the corrected latency
+     * @param body The request to execute, receiving the iteration index
+     * @return Raw and corrected latencies of all iterations
+     */
+    public static LatencyRecorder run(int iterations, Duration interval, Correction correction, IntConsumer body) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long intervalNanos = interval.toNanos();
+        long startNanos = System.nanoTime();
+        long intendedStart = startNanos;
+
+        for (int i = 0; i < iterations; i++) {
+            long waitNanos;
+            while ((waitNanos = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            long actualStart = System.nanoTime();
+            body.accept(i);
+            long end = System.nanoTime();
+            if (correction == Correction.EXPECTED_INTERVAL) {
+                recorder.recordWithExpectedInterval(end - actualStart, intervalNanos);
+                // Paced from this iteration, so an overrun is back-filled rather than carried into the next ones
+                intendedStart = actualStart + intervalNanos;
+            } else {
+                recorder.recordFromIntendedStart(intendedStart, actualStart, end);
+                intendedStart = startNanos + (i + 1) * intervalNanos;
+            }
+        }
+        return recorder;
+    }
+}
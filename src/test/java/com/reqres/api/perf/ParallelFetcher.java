@@ -0,0 +1,130 @@
+package com.reqres.api.perf;
+
+import com.reqres.api.utils.RequestContext;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Issues one request per key with at most a fixed number of requests in flight, for
+ * N+1 style checks that fetch every entity of a list. Each fetch runs on one of
+ * {@code concurrency} workers that take the next key as soon as their previous request
+ * completes; results are returned in key order together with their latencies. Workers
+ * send their requests with the calling test's {@link RequestContext}, so fault profiles
+ * and exchange capture apply to them as well.
+ *
+ * <pre>
+ * FetchBatch&lt;Integer&gt; batch = ParallelFetcher.fetchAll(ids,
+ *         id -&gt; givenWithApiKey().pathParam("id", id).get("/users/{id}"));
+ * </pre>
+ */
+public final class ParallelFetcher {
+    private static final Logger logger = LogManager.getLogger(ParallelFetcher.class);
+    public static final String CONCURRENCY_PROPERTY = "fetch.concurrency";
+    private static final int DEFAULT_CONCURRENCY = Integer.getInteger(CONCURRENCY_PROPERTY, 8);
+    private static final Duration TIMEOUT = Duration.ofMinutes(5);
+    private static final ExecutorService SHARED_WORKERS = Executors.newCachedThreadPool(daemonThreadFactory());
+
+    private ParallelFetcher() {
+    }
+
+    /**
+     * Fetches every key with the concurrency set by {@code fetch.concurrency}, 8 by default
+     *
+     * @param keys The keys to fetch, such as entity ids
+     * @param request Sends the request for one key
+     * @return The results in key order
+     */
+    public static <K> FetchBatch<K> fetchAll(List<K> keys, Function<K, Response> request) {
+        return fetchAll(keys, DEFAULT_CONCURRENCY, request);
+    }
+
+    /**
+     * Fetches every key with at most {@code concurrency} requests in flight
+     *
+     * @param keys The keys to fetch, such as entity ids
+     * @param concurrency Maximum number of concurrent requests
+     * @param request Sends the request for one key
+     * @return The results in key order
+     */
+    public static <K> FetchBatch<K> fetchAll(List<K> keys, int concurrency, Function<K, Response> request) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        List<K> ordered = new ArrayList<>(keys);
+        Fetched<?>[] results = new Fetched<?>[ordered.size()];
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(concurrency, ordered.size());
+        CountDownLatch done = new CountDownLatch(workers);
+
+        long start = System.nanoTime();
+        for (int w = 0; w < workers; w++) {
+            SHARED_WORKERS.execute(RequestContext.propagate(() -> {
+                try {
+                    for (int i = next.getAndIncrement(); i < ordered.size(); i = next.getAndIncrement()) {
+                        results[i] = fetch(ordered.get(i), request, latency);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }));
+        }
+        await(done);
+        long elapsedNanos = System.nanoTime() - start;
+
+        @SuppressWarnings("unchecked")
+        List<Fetched<K>> fetched = (List<Fetched<K>>) (List<?>) Arrays.asList(results);
+        FetchBatch<K> batch = new FetchBatch<>(fetched, latency, elapsedNanos);
+        logger.info("Fetched {} keys with concurrency {} in {} ms, {} failed",
+                ordered.size(), workers, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), batch.getFailures().size());
+        return batch;
+    }
+
+    private static <K> Fetched<K> fetch(K key, Function<K, Response> request, LatencyHistogram latency) {
+        long start = System.nanoTime();
+        try {
+            Response response = request.apply(key);
+            long elapsed = System.nanoTime() - start;
+            latency.recordValue(elapsed);
+            return new Fetched<>(key, response, null, elapsed);
+        } catch (Exception | AssertionError e) {
+            // REST Assured rethrows I/O errors unchecked; failed fetches count in the latency too
+            long elapsed = System.nanoTime() - start;
+            latency.recordValue(elapsed);
+            return new Fetched<>(key, null, e, elapsed);
+        }
+    }
+
+    private static void await(CountDownLatch done) {
+        try {
+            if (!done.await(TIMEOUT.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException("Fetches did not complete within " + TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for fetches", e);
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "fetch-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.reqres.api.perf;
+
+/**
+ * The phases of an HTTP exchange measured by {@link PhaseTimingHttpClient}. Connection setup
+ * ({@link #DNS}, {@link #CONNECT}, {@link #TLS}) is only measured when the exchange opens a new
+ * connection; {@link #TTFB} is the server's processing time plus one network round trip.
+ */
+public enum Phase {
+    DNS("dns"),
+    CONNECT("connect"),
+    TLS("tls"),
+    REQUEST_WRITE("write"),
+    TTFB("ttfb"),
+    BODY_READ("body");
+
+    private final String label;
+
+    Phase(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the short name used in metric labels and report keys
+     */
+    public String getLabel() {
+        return label;
+    }
+}
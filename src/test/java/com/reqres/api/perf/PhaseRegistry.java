@@ -0,0 +1,119 @@
+package com.reqres.api.perf;
+
+import com.reqres.api.metrics.MetricsRegistry;
+import com.reqres.api.metrics.Timer;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Suite-wide histograms of the {@link Phase phases} of every exchange, keyed like the
+ * {@link LatencyRegistry} with the phase appended, for example {@code GET /users/{id} [ttfb]}.
+ * Each phase is also exported as the {@value #PHASE_DURATION} timer of the {@link MetricsRegistry}.
+ */
+public final class PhaseRegistry {
+    public static final String PHASE_DURATION = "http_client_phase_duration_seconds";
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    // method -> raw path -> phases of the endpoint, like the request cache of LatencyRegistry
+    private static final Map<String, Map<String, EndpointPhases>> REQUEST_CACHE = new ConcurrentHashMap<>();
+
+    private PhaseRegistry() {
+    }
+
+    /**
+     * Returns the report key of a phase of an endpoint
+     *
+     * @param endpoint Endpoint key in the form {@code METHOD /templated/path}
+     * @param phase The phase
+     * @return Key in the form {@code METHOD /templated/path [phase]}
+     */
+    public static String key(String endpoint, Phase phase) {
+        return endpoint + " [" + phase.getLabel() + "]";
+    }
+
+    /**
+     * Returns the histogram of a phase of an endpoint, creating it on first use
+     *
+     * @param endpoint Endpoint key in the form {@code METHOD /templated/path}
+     * @param phase The phase
+     * @return The live histogram
+     */
+    public static LatencyHistogram forPhase(String endpoint, Phase phase) {
+        return HISTOGRAMS.computeIfAbsent(key(endpoint, phase), key -> new LatencyHistogram());
+    }
+
+    /**
+     * Returns the phases of a request's endpoint without allocating once the method and path have been seen
+     *
+     * @param method The HTTP method
+     * @param path The raw request path, templated or with concrete ids
+     * @return The phases of the request's endpoint
+     */
+    static EndpointPhases forRequest(String method, String path) {
+        Map<String, EndpointPhases> byPath = REQUEST_CACHE.get(method);
+        if (byPath == null) {
+            byPath = REQUEST_CACHE.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        EndpointPhases phases = byPath.get(path);
+        if (phases == null) {
+            phases = byPath.computeIfAbsent(path, key -> new EndpointPhases(method, EndpointKeys.templatePath(key)));
+        }
+        return phases;
+    }
+
+    /**
+     * Returns the live histograms of all phases seen so far, sorted by key
+     *
+     * @return Unmodifiable view of the histograms
+     */
+    public static Map<String, LatencyHistogram> getAll() {
+        return Collections.unmodifiableMap(new TreeMap<>(HISTOGRAMS));
+    }
+
+    public static void reset() {
+        REQUEST_CACHE.clear();
+        HISTOGRAMS.clear();
+    }
+
+    /**
+     * The histograms and timers of the phases of one endpoint, created when a phase is first recorded
+     * so phases that never take place, such as TLS over plain http, are not reported
+     */
+    static final class EndpointPhases {
+        private final String method;
+        private final String path;
+        // Indexed by phase ordinal
+        private final AtomicReferenceArray<PhaseMetrics> byPhase = new AtomicReferenceArray<>(Phase.values().length);
+
+        private EndpointPhases(String method, String path) {
+            this.method = method;
+            this.path = path;
+        }
+
+        void record(Phase phase, long nanos) {
+            PhaseMetrics metrics = byPhase.get(phase.ordinal());
+            if (metrics == null) {
+                byPhase.compareAndSet(phase.ordinal(), null, new PhaseMetrics(
+                        forPhase(EndpointKeys.of(method, path), phase),
+                        MetricsRegistry.timer(PHASE_DURATION, "Time spent in each phase of an HTTP exchange",
+                                "method", method, "path", path, "phase", phase.getLabel())));
+                metrics = byPhase.get(phase.ordinal());
+            }
+            metrics.histogram.recordValue(nanos);
+            metrics.timer.record(nanos);
+        }
+    }
+
+    private static final class PhaseMetrics {
+        private final LatencyHistogram histogram;
+        private final Timer timer;
+
+        private PhaseMetrics(LatencyHistogram histogram, Timer timer) {
+            this.histogram = histogram;
+            this.timer = timer;
+        }
+    }
+}
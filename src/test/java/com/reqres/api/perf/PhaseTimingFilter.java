@@ -0,0 +1,38 @@
+package com.reqres.api.perf;
+
+import com.reqres.api.server.FaultInjectingHandler;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Starts the {@link PhaseTimings} of every exchange, which {@link PhaseTimingHttpClient} fills in.
+ * Like {@link LatencyRecordingFilter}, exchanges with injected faults are timed but left out of the
+ * {@link PhaseRegistry}; their timings are still available from {@link PhaseTimings#last()}.
+ */
+public class PhaseTimingFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        PhaseRegistry.EndpointPhases target = requestSpec.getHeaders().hasHeaderWithName(FaultInjectingHandler.PROFILE_HEADER)
+                ? null
+                : PhaseRegistry.forRequest(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+        StartupProfiler.markFirstRequest();
+        PhaseTimings.begin(target);
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            PhaseTimings.end();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Innermost, right before the request is sent
+        return LOWEST_PRECEDENCE;
+    }
+}
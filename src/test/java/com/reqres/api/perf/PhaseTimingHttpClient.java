@@ -0,0 +1,250 @@
+package com.reqres.api.perf;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.BasicClientConnectionManager;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.apache.http.ssl.SSLContexts;
+
+import javax.net.ssl.SSLSocket;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * The HTTP client REST Assured creates by default, instrumented to time the {@link Phase phases}
+ * of each exchange into the {@link PhaseTimings} started by {@link PhaseTimingFilter}:
+ * <ul>
+ *     <li>DNS: resolving the host name</li>
+ *     <li>connect: the TCP handshake, ending where the TLS handshake starts</li>
+ *     <li>TLS: the TLS handshake and host name verification, https only</li>
+ *     <li>write: sending the request line, headers and body</li>
+ *     <li>TTFB: from the request being sent to the response headers being read</li>
+ *     <li>body: from the first read of the response body to its end</li>
+ * </ul>
+ * REST Assured reads the body lazily, so the body phase is recorded when the test reads the body,
+ * and not at all when the test never does. Exchanges sent outside {@link PhaseTimingFilter} are not timed.
+ */
+@SuppressWarnings("deprecation")
+public class PhaseTimingHttpClient extends DefaultHttpClient {
+
+    @Override
+    protected ClientConnectionManager createClientConnectionManager() {
+        SchemeRegistry registry = new SchemeRegistry();
+        registry.register(new Scheme("http", 80, PlainSocketFactory.getSocketFactory()));
+        registry.register(new Scheme("https", 443, new TimedSslSocketFactory()));
+        return new BasicClientConnectionManager(registry) {
+            @Override
+            protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemes) {
+                return new TimedConnectionOperator(schemes);
+            }
+        };
+    }
+
+    @Override
+    protected HttpRequestExecutor createRequestExecutor() {
+        return new TimedRequestExecutor();
+    }
+
+    /**
+     * Times the response of an exchange sent by an engine that cannot observe its connection setup or request
+     * write: TTFB runs from handing the request to the engine to the response headers, so it includes both
+     *
+     * @param handedOverNanos {@link System#nanoTime()} when the request was handed to the engine
+     * @param response The response, whose entity is wrapped to time the body read
+     */
+    public static void timeResponse(long handedOverNanos, HttpResponse response) {
+        long received = System.nanoTime();
+        PhaseTimings timings = PhaseTimings.current();
+        if (timings != null) {
+            timings.record(Phase.TTFB, received - handedOverNanos);
+            HttpEntity entity = response.getEntity();
+            if (entity != null) {
+                response.setEntity(new TimedEntity(entity, timings));
+            }
+        }
+    }
+
+    /**
+     * Times name resolution and the connect and TLS handshakes of new connections
+     */
+    private static final class TimedConnectionOperator extends DefaultClientConnectionOperator {
+
+        private TimedConnectionOperator(SchemeRegistry schemes) {
+            super(schemes);
+        }
+
+        @Override
+        protected InetAddress[] resolveHostname(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            InetAddress[] addresses = super.resolveHostname(host);
+            long resolved = System.nanoTime();
+            PhaseTimings.ifCurrent(timings -> {
+                timings.record(Phase.DNS, resolved - start);
+                timings.connectStartNanos = resolved;
+            });
+            return addresses;
+        }
+
+        @Override
+        public void openConnection(OperatedClientConnection conn, HttpHost target, InetAddress local,
+                                   HttpContext context, HttpParams params) throws IOException {
+            PhaseTimings.ifCurrent(timings -> timings.tcpConnectedNanos = 0);
+            super.openConnection(conn, target, local, context, params);
+            long opened = System.nanoTime();
+            PhaseTimings.ifCurrent(timings -> {
+                if (timings.tcpConnectedNanos == 0) {
+                    timings.record(Phase.CONNECT, opened - timings.connectStartNanos);
+                } else {
+                    timings.record(Phase.CONNECT, timings.tcpConnectedNanos - timings.connectStartNanos);
+                    timings.record(Phase.TLS, opened - timings.tcpConnectedNanos);
+                }
+            });
+        }
+    }
+
+    /**
+     * The default https socket factory, marking the end of the TCP handshake before the TLS handshake starts
+     */
+    private static final class TimedSslSocketFactory extends SSLSocketFactory {
+
+        private TimedSslSocketFactory() {
+            super(SSLContexts.createDefault(), BROWSER_COMPATIBLE_HOSTNAME_VERIFIER);
+        }
+
+        @Override
+        protected void prepareSocket(SSLSocket socket) throws IOException {
+            PhaseTimings.ifCurrent(timings -> timings.tcpConnectedNanos = System.nanoTime());
+        }
+    }
+
+    /**
+     * Times writing the request and waiting for the response headers
+     */
+    private static final class TimedRequestExecutor extends HttpRequestExecutor {
+
+        @Override
+        protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws IOException, HttpException {
+            long start = System.nanoTime();
+            HttpResponse response = super.doSendRequest(request, conn, context);
+            long sent = System.nanoTime();
+            PhaseTimings.ifCurrent(timings -> {
+                timings.record(Phase.REQUEST_WRITE, sent - start);
+                timings.requestSentNanos = sent;
+            });
+            return response;
+        }
+
+        @Override
+        protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws HttpException, IOException {
+            HttpResponse response = super.doReceiveResponse(request, conn, context);
+            long received = System.nanoTime();
+            PhaseTimings timings = PhaseTimings.current();
+            if (timings != null) {
+                timings.record(Phase.TTFB, received - timings.requestSentNanos);
+                HttpEntity entity = response.getEntity();
+                if (entity != null) {
+                    response.setEntity(new TimedEntity(entity, timings));
+                }
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Times reading the response body from the first read to the end of the stream
+     */
+    private static final class TimedEntity extends HttpEntityWrapper {
+        private final PhaseTimings timings;
+        private InputStream content;
+
+        private TimedEntity(HttpEntity entity, PhaseTimings timings) {
+            super(entity);
+            this.timings = timings;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            if (content == null) {
+                content = new TimedInputStream(super.getContent(), timings);
+            }
+            return content;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try (InputStream in = getContent()) {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+        }
+    }
+
+    private static final class TimedInputStream extends FilterInputStream {
+        private final PhaseTimings timings;
+        private long firstReadNanos;
+        private boolean ended;
+
+        private TimedInputStream(InputStream in, PhaseTimings timings) {
+            super(in);
+            this.timings = timings;
+        }
+
+        @Override
+        public int read() throws IOException {
+            started();
+            int b = super.read();
+            if (b == -1) {
+                ended();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            started();
+            int read = super.read(buffer, offset, length);
+            if (read == -1) {
+                ended();
+            }
+            return read;
+        }
+
+        private void started() {
+            if (firstReadNanos == 0) {
+                firstReadNanos = System.nanoTime();
+            }
+        }
+
+        private void ended() {
+            if (!ended) {
+                ended = true;
+                timings.record(Phase.BODY_READ, System.nanoTime() - firstReadNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.reqres.api.perf;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Phase durations of one HTTP exchange. {@link PhaseTimingFilter} starts the timings on the thread
+ * that sends the request, {@link PhaseTimingHttpClient} fills them in as the exchange progresses and
+ * records every phase into the {@link PhaseRegistry}. The body is usually read after the filter has
+ * returned, so its phase is filled in later, when the test reads the body to its end.
+ */
+public final class PhaseTimings {
+    private static final ThreadLocal<PhaseTimings> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<PhaseTimings> LAST = new ThreadLocal<>();
+
+    private final long[] nanos = new long[Phase.values().length];
+    // Where each phase is recorded, or null to keep the timings to this exchange
+    private final PhaseRegistry.EndpointPhases target;
+    // Marks between phases, set by the HTTP client on the sending thread
+    long connectStartNanos;
+    long tcpConnectedNanos;
+    long requestSentNanos;
+
+    private PhaseTimings(PhaseRegistry.EndpointPhases target) {
+        this.target = target;
+        Arrays.fill(nanos, -1);
+    }
+
+    /**
+     * Starts the timings of an exchange on the calling thread
+     *
+     * @param target Where to record the phases, or null to record nowhere
+     * @return The new timings
+     */
+    static PhaseTimings begin(PhaseRegistry.EndpointPhases target) {
+        PhaseTimings timings = new PhaseTimings(target);
+        CURRENT.set(timings);
+        LAST.set(timings);
+        return timings;
+    }
+
+    /**
+     * Detaches the timings from the calling thread once the response has arrived. The body phase
+     * can still be filled in afterwards.
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs an action on the timings of the exchange in progress on the calling thread, if any
+     */
+    static void ifCurrent(Consumer<PhaseTimings> action) {
+        PhaseTimings timings = CURRENT.get();
+        if (timings != null) {
+            action.accept(timings);
+        }
+    }
+
+    static PhaseTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns the timings of the last exchange sent from the calling thread
+     *
+     * @return The timings, or null when no exchange was sent yet
+     */
+    public static PhaseTimings last() {
+        return LAST.get();
+    }
+
+    void record(Phase phase, long durationNanos) {
+        long duration = Math.max(0, durationNanos);
+        nanos[phase.ordinal()] = duration;
+        if (target != null) {
+            target.record(phase, duration);
+        }
+    }
+
+    /**
+     * Checks whether a phase took place, connection setup is skipped on a reused connection
+     */
+    public boolean isRecorded(Phase phase) {
+        return nanos[phase.ordinal()] >= 0;
+    }
+
+    /**
+     * Returns the duration of a phase
+     *
+     * @param phase The phase
+     * @return Duration in nanoseconds, or -1 when the phase did not take place or has not ended yet
+     */
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+}
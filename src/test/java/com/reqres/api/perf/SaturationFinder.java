@@ -0,0 +1,179 @@
+package com.reqres.api.perf;
+
+import io.restassured.response.Response;
+import lombok.Builder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Finds the maximum sustainable throughput of an endpoint. Runs {@link LoadGenerator} steps at a
+ * geometrically growing fixed rate until a step is no longer sustained: its p99 latency exceeds the SLO,
+ * requests fail or get a non-2xx status, or the throughput falls behind the offered rate. It then
+ * bisects between the last good and the first bad rate to locate the knee of the load-latency curve
+ * more precisely. Latency is measured from each request's intended start, so a server that falls
+ * behind the offered rate shows its queueing delay in the p99.
+ * <p>
+ * The generator's worker pool ({@code load.workers}) caps the requests in flight. A step is
+ * client-bound when requests were dropped for lack of a worker, the achieved rate fell behind the
+ * offered one, or more than {@code maxQueuedShare} of the requests found every worker busy. Such a
+ * step measures the generator rather than the server, so it is never sustained, the search stops
+ * there, and the result is {@link SaturationResult#isClientBound() flagged}.
+ *
+ * <pre>
+ * SaturationResult result = SaturationFinder.builder()
+ *         .description("GET /users")
+ *         .request(() -&gt; givenWithApiKey().get("/users"))
+ *         .p99Slo(Duration.ofMillis(500))
+ *         .build()
+ *         .run();
+ * </pre>
+ */
+@Builder
+public class SaturationFinder {
+    private static final Logger logger = LogManager.getLogger(SaturationFinder.class);
+
+    private final String description;
+    private final Supplier<Response> request;
+    private final Duration p99Slo;
+    @Builder.Default
+    private final double startRate = 10;
+    // Each step offers this many times the rate of the previous one
+    @Builder.Default
+    private final double stepFactor = 1.5;
+    @Builder.Default
+    private final double maxRate = 1000;
+    @Builder.Default
+    private final Duration stepDuration = Duration.ofSeconds(5);
+    // Bisection steps between the last rate within the SLO and the first rate over it
+    @Builder.Default
+    private final int refinements = 2;
+    // Share of the offered rate a step must complete to be sustained; below it requests queue up without bound
+    @Builder.Default
+    private final double minThroughputRatio = 0.9;
+    // Share of requests that may find every worker busy before a step is client-bound
+    @Builder.Default
+    private final double maxQueuedShare = 0.01;
+    // Sent before the first step only, see LoadGenerator
+    @Builder.Default
+    private final int warmupRequests = 0;
+
+    /**
+     * Runs steps of increasing load until the SLO is exceeded or the maximum rate is reached
+     *
+     * @return The load-latency curve and the maximum sustainable throughput
+     */
+    public SaturationResult run() {
+        if (p99Slo == null || startRate <= 0 || stepFactor <= 1 || maxRate < startRate) {
+            throw new IllegalArgumentException("Saturation search needs a p99 SLO, a positive start rate, "
+                    + "a step factor above 1 and a maximum rate of at least the start rate");
+        }
+        List<SaturationStep> steps = new ArrayList<>();
+        String stopReason;
+        double lastGood = 0;
+        double firstBad = 0;
+        double rate = startRate;
+        while (true) {
+            SaturationStep step = runStep(rate, steps.isEmpty() ? warmupRequests : 0);
+            if (step == null || !step.isSustained()) {
+                stopReason = describeViolation(rate, step);
+                // Bisecting below a client-bound step would only measure the generator
+                firstBad = step != null && step.isClientBound() ? 0 : rate;
+                if (step != null) {
+                    steps.add(step);
+                }
+                break;
+            }
+            steps.add(step);
+            lastGood = rate;
+            if (rate >= maxRate) {
+                stopReason = String.format(Locale.ROOT, "reached the maximum rate of %.1f req/s within the SLO", maxRate);
+                break;
+            }
+            rate = Math.min(rate * stepFactor, maxRate);
+        }
+
+        for (int i = 0; i < refinements && lastGood > 0 && firstBad > 0; i++) {
+            double middle = (lastGood + firstBad) / 2;
+            SaturationStep step = runStep(middle, 0);
+            if (step == null) {
+                firstBad = middle;
+                continue;
+            }
+            steps.add(step);
+            if (step.isSustained()) {
+                lastGood = middle;
+            } else {
+                firstBad = middle;
+            }
+        }
+
+        steps.sort(Comparator.comparingDouble(SaturationStep::getOfferedRate));
+        SaturationResult result = new SaturationResult(description, steps, stopReason);
+        if (result.isClientBound()) {
+            logger.warn("Saturation of {} was limited by the load generator, the server may sustain more: {}",
+                    description, stopReason);
+        }
+        logger.info("Saturation of {}: max sustainable throughput {} req/s with p99 within {} ms, stopped because {}",
+                description, String.format(Locale.ROOT, "%.1f", result.getMaxSustainableThroughput()),
+                p99Slo.toMillis(), stopReason);
+        return result;
+    }
+
+    /**
+     * Runs one step at a fixed rate
+     *
+     * @return The step, or null when its requests did not complete in time
+     */
+    private SaturationStep runStep(double rate, int warmup) {
+        logger.info("Saturation step for {} at {} req/s", description, String.format(Locale.ROOT, "%.1f", rate));
+        LoadResult result;
+        try {
+            result = LoadGenerator.builder()
+                    .schedule(ArrivalSchedule.fixedRate(rate))
+                    .duration(stepDuration)
+                    .warmupRequests(warmup)
+                    .request(request)
+                    .build()
+                    .run();
+        } catch (IllegalStateException e) {
+            logger.warn("Saturation step at {} req/s did not complete: {}", String.format(Locale.ROOT, "%.1f", rate), e.getMessage());
+            return null;
+        }
+        boolean clientBound = result.getDroppedCount() > 0
+                || result.getAchievedRate() < rate * minThroughputRatio
+                || result.getQueuedCount() > result.getDispatchedCount() * maxQueuedShare;
+        boolean sustained = !clientBound
+                && result.getErrorCount() == 0
+                && result.getHistogram().getValueAtPercentile(99.0) <= p99Slo.toNanos()
+                && result.getThroughput() >= rate * minThroughputRatio;
+        return new SaturationStep(rate, result, sustained, clientBound);
+    }
+
+    private String describeViolation(double rate, SaturationStep step) {
+        if (step == null) {
+            return String.format(Locale.ROOT, "requests at %.1f req/s did not complete", rate);
+        }
+        if (step.isClientBound()) {
+            LoadResult result = step.getResult();
+            return String.format(Locale.ROOT, "the load generator became the bottleneck at %.1f req/s: "
+                            + "%.1f req/s dispatched, %d dropped, %d of %d found every worker busy",
+                    rate, result.getAchievedRate(), result.getDroppedCount(), result.getQueuedCount(), result.getDispatchedCount());
+        }
+        if (step.getErrorCount() > 0) {
+            return String.format(Locale.ROOT, "%d errors at %.1f req/s, statuses %s",
+                    step.getErrorCount(), rate, step.getResult().getStatusCounts());
+        }
+        double p99Millis = step.getLatencyAtPercentile(99.0) / 1_000_000.0;
+        if (p99Millis > p99Slo.toMillis()) {
+            return String.format(Locale.ROOT, "p99 of %.1f ms at %.1f req/s exceeded the SLO of %d ms", p99Millis, rate, p99Slo.toMillis());
+        }
+        return String.format(Locale.ROOT, "throughput of %.1f req/s fell behind the offered %.1f req/s", step.getThroughput(), rate);
+    }
+}
@@ -0,0 +1,105 @@
+package com.reqres.api.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of a {@link SaturationFinder} run: the load-latency curve and the highest throughput
+ * that was sustained within the latency SLO without errors
+ */
+@Getter
+@AllArgsConstructor
+public class SaturationResult {
+    private final String description;
+    // Sorted by offered rate
+    private final List<SaturationStep> steps;
+    // Why the search stopped, such as the first step over the SLO
+    private final String stopReason;
+
+    /**
+     * Returns the step with the highest throughput among the sustained steps
+     *
+     * @return The step, or null when even the first step was not sustained
+     */
+    public SaturationStep getKnee() {
+        return steps.stream()
+                .filter(SaturationStep::isSustained)
+                .max(Comparator.comparingDouble(SaturationStep::getThroughput))
+                .orElse(null);
+    }
+
+    /**
+     * Tells whether a step was paced by the load generator rather than the server, in which case
+     * the maximum sustainable throughput is a lower bound of what the server sustains
+     */
+    public boolean isClientBound() {
+        return steps.stream().anyMatch(SaturationStep::isClientBound);
+    }
+
+    /**
+     * Returns the maximum sustainable throughput, the throughput of the {@link #getKnee() knee}
+     *
+     * @return Requests per second, 0 when no step was sustained
+     */
+    public double getMaxSustainableThroughput() {
+        SaturationStep knee = getKnee();
+        return knee == null ? 0 : knee.getThroughput();
+    }
+
+    /**
+     * Formats the curve as a tab separated table with one line per step, preceded by the maximum
+     * sustainable throughput and the stop reason as {@code #} comments
+     *
+     * @return The table
+     */
+    public String toTable() {
+        List<String> lines = new ArrayList<>();
+        lines.add("# " + description);
+        lines.add(String.format(Locale.ROOT, "# max sustainable throughput: %.1f req/s", getMaxSustainableThroughput()));
+        lines.add("# stopped: " + stopReason);
+        if (isClientBound()) {
+            lines.add("# client-bound: the load generator limited at least one step");
+        }
+        lines.add("offered_rps\tthroughput_rps\tp50_ms\tp90_ms\tp99_ms\tmax_ms\trequests\terrors\tsustained\tclient_bound");
+        for (SaturationStep step : steps) {
+            lines.add(String.format(Locale.ROOT, "%.1f\t%.1f\t%.3f\t%.3f\t%.3f\t%.3f\t%d\t%d\t%s\t%s",
+                    step.getOfferedRate(), step.getThroughput(),
+                    toMillis(step.getLatencyAtPercentile(50.0)),
+                    toMillis(step.getLatencyAtPercentile(90.0)),
+                    toMillis(step.getLatencyAtPercentile(99.0)),
+                    toMillis(step.getResult().getHistogram().getMaxValue()),
+                    step.getResult().getDispatchedCount(), step.getErrorCount(), step.isSustained(), step.isClientBound()));
+        }
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+
+    /**
+     * Writes the {@link #toTable() curve} to a file, replacing an earlier one
+     *
+     * @param file Target file, parent directories are created
+     */
+    public void write(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, toTable().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write saturation curve to " + file, e);
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.reqres.api.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One point of the load-latency curve measured by {@link SaturationFinder}
+ */
+@Getter
+@AllArgsConstructor
+public class SaturationStep {
+    // Arrival rate the step was run at
+    private final double offeredRate;
+    private final LoadResult result;
+    // Within the p99 SLO, without errors, keeping up with the offered rate and not client-bound
+    private final boolean sustained;
+    // Paced by the load generator rather than the server, see SaturationFinder
+    private final boolean clientBound;
+
+    public double getThroughput() {
+        return result.getThroughput();
+    }
+
+    public long getErrorCount() {
+        return result.getErrorCount();
+    }
+
+    /**
+     * Returns a percentile of the latency from each request's intended start
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Latency in nanoseconds
+     */
+    public long getLatencyAtPercentile(double percentile) {
+        return result.getHistogram().getValueAtPercentile(percentile);
+    }
+}
@@ -0,0 +1,158 @@
+package com.reqres.api.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToLongFunction;
+
+/**
+ * The samples of a {@link SoakRunner} run and the trends drawn from them. The first interval
+ * includes class loading, JIT compilation and the worker pool filling up, so trends start at the
+ * second interval; drift compares the first and the last quarter of the remaining intervals,
+ * whose latencies are merged while the run goes.
+ */
+@Getter
+@AllArgsConstructor
+public class SoakResult {
+    static final String HEADER = "elapsed_s\trequests\terrors\tthroughput_rps\tp50_ms\tp99_ms\tmax_ms"
+            + "\theap_used_mb\theap_after_gc_mb\theap_committed_mb\tgc_count\tgc_time_ms\tthreads\topen_fds";
+    private static final double NANOS_PER_HOUR = 3_600_000_000_000.0;
+
+    private final String description;
+    private final List<SoakSample> samples;
+    private final LatencyHistogram firstQuarterLatency;
+    private final LatencyHistogram lastQuarterLatency;
+
+    /**
+     * Returns the samples trends are drawn from, all but the first unless there is only one
+     */
+    public List<SoakSample> getSteadySamples() {
+        return samples.size() > 1 ? samples.subList(1, samples.size()) : samples;
+    }
+
+    /**
+     * Returns the time the steady samples span, from the end of the first interval to the end of the last
+     */
+    public Duration getSteadyDuration() {
+        return samples.size() > 1
+                ? Duration.ofNanos(samples.get(samples.size() - 1).getElapsedNanos() - samples.get(0).getElapsedNanos())
+                : Duration.ZERO;
+    }
+
+    public List<SoakSample> getFirstQuarter() {
+        return samples.subList(firstQuarterStart(samples.size()), firstQuarterStart(samples.size()) + quarterSize(samples.size()));
+    }
+
+    public List<SoakSample> getLastQuarter() {
+        return samples.subList(samples.size() - quarterSize(samples.size()), samples.size());
+    }
+
+    /**
+     * Checks whether an interval's latencies belong to the first quarter of the steady intervals
+     *
+     * @param index Index of the interval
+     * @param intervals Number of intervals of the run
+     */
+    static boolean inFirstQuarter(int index, int intervals) {
+        int start = firstQuarterStart(intervals);
+        return index >= start && index < start + quarterSize(intervals);
+    }
+
+    static boolean inLastQuarter(int index, int intervals) {
+        return index >= intervals - quarterSize(intervals);
+    }
+
+    private static int firstQuarterStart(int intervals) {
+        return intervals > 1 ? 1 : 0;
+    }
+
+    private static int quarterSize(int intervals) {
+        return Math.max(1, (intervals - firstQuarterStart(intervals)) / 4);
+    }
+
+    public long getRequestCount() {
+        return samples.stream().mapToLong(SoakSample::getRequestCount).sum();
+    }
+
+    public long getErrorCount() {
+        return samples.stream().mapToLong(SoakSample::getErrorCount).sum();
+    }
+
+    /**
+     * Returns the trend of the heap left after garbage collection, the live data set, as the slope
+     * of a least squares fit over the steady samples taken after the first collection
+     *
+     * @return Growth in bytes per hour, NaN with fewer than three such samples
+     */
+    public double getHeapGrowthPerHour() {
+        double[] x = new double[samples.size()];
+        double[] y = new double[samples.size()];
+        int n = 0;
+        for (SoakSample sample : getSteadySamples()) {
+            if (sample.getJvm().getHeapAfterGcBytes() >= 0) {
+                x[n] = sample.getElapsedNanos() / NANOS_PER_HOUR;
+                y[n] = sample.getJvm().getHeapAfterGcBytes();
+                n++;
+            }
+        }
+        if (n < 3) {
+            return Double.NaN;
+        }
+        double meanX = Arrays.stream(x, 0, n).average().orElse(0);
+        double meanY = Arrays.stream(y, 0, n).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < n; i++) {
+            covariance += (x[i] - meanX) * (y[i] - meanY);
+            variance += (x[i] - meanX) * (x[i] - meanX);
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    /**
+     * Returns how much the floor of the client JVM's thread count, its minimum over a quarter of the run,
+     * rose from the first quarter to the last
+     */
+    public long getThreadGrowth() {
+        return growth(sample -> sample.getJvm().getThreadCount());
+    }
+
+    /**
+     * Returns how much the floor of the file descriptors the client JVM holds open, sockets included,
+     * rose from the first quarter to the last; 0 where the platform does not report them. Sockets of
+     * clients that are no longer referenced stay open until garbage collection, so the count follows a
+     * sawtooth; the floor only rises when descriptors leak.
+     */
+    public long getFileDescriptorGrowth() {
+        return growth(sample -> Math.max(0, sample.getJvm().getOpenFileDescriptors()));
+    }
+
+    private long growth(ToLongFunction<SoakSample> metric) {
+        return floor(getLastQuarter(), metric) - floor(getFirstQuarter(), metric);
+    }
+
+    private static long floor(List<SoakSample> intervals, ToLongFunction<SoakSample> metric) {
+        return intervals.stream().mapToLong(metric).min().orElse(0);
+    }
+
+    /**
+     * Formats a sample as a line of the time series, with the columns of {@link #HEADER}
+     */
+    static String toLine(SoakSample sample) {
+        JvmStats jvm = sample.getJvm();
+        return String.format(Locale.ROOT, "%.1f\t%d\t%d\t%.1f\t%.3f\t%.3f\t%.3f\t%.1f\t%.1f\t%.1f\t%d\t%d\t%d\t%d",
+                sample.getElapsedNanos() / 1_000_000_000.0, sample.getRequestCount(), sample.getErrorCount(),
+                sample.getThroughput(), sample.getP50Nanos() / 1_000_000.0, sample.getP99Nanos() / 1_000_000.0,
+                sample.getMaxNanos() / 1_000_000.0, toMegabytes(jvm.getHeapUsedBytes()), toMegabytes(jvm.getHeapAfterGcBytes()),
+                toMegabytes(jvm.getHeapCommittedBytes()), jvm.getGcCount(), jvm.getGcTimeMillis(),
+                jvm.getThreadCount(), jvm.getOpenFileDescriptors());
+    }
+
+    private static double toMegabytes(long bytes) {
+        return bytes < 0 ? -1 : bytes / (1024.0 * 1024.0);
+    }
+}
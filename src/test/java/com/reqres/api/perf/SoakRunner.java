@@ -0,0 +1,136 @@
+package com.reqres.api.perf;
+
+import io.restassured.response.Response;
+import lombok.Builder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps an open-model workload running for a long time and samples it at fixed intervals. The
+ * whole soak is one {@link LoadGenerator} run at a fixed rate; every sample interval the requests
+ * completed since the previous sample are taken from a separate thread, together with a
+ * {@link JvmStats} snapshot of the client JVM, so the load never pauses or drains between samples
+ * and every sample holds the latency percentiles of its own interval. Samples are appended to the
+ * output file as they are taken, so an aborted run still leaves its time series behind.
+ *
+ * <pre>
+ * SoakResult result = SoakRunner.builder()
+ *         .description("GET /users")
+ *         .request(() -&gt; givenWithApiKey().get("/users"))
+ *         .rate(20)
+ *         .duration(Duration.ofHours(4))
+ *         .output(Paths.get("target/soak/users.tsv"))
+ *         .build()
+ *         .run();
+ * </pre>
+ */
+@Builder
+public class SoakRunner {
+    private static final Logger logger = LogManager.getLogger(SoakRunner.class);
+
+    private final String description;
+    private final Supplier<Response> request;
+    private final double rate;
+    private final Duration duration;
+    @Builder.Default
+    private final Duration sampleInterval = Duration.ofMinutes(1);
+    // Sent before the soak starts, see LoadGenerator
+    @Builder.Default
+    private final int warmupRequests = 0;
+    // Time series written as the run goes, or null to keep it in memory only
+    private final Path output;
+
+    /**
+     * Runs the load until the duration has elapsed, sampling it every interval
+     *
+     * @return The samples of all intervals
+     */
+    public SoakResult run() {
+        if (rate <= 0 || duration == null || sampleInterval.isZero() || sampleInterval.isNegative()) {
+            throw new IllegalArgumentException("Soak run needs a positive rate, a duration and a positive sample interval");
+        }
+        List<SoakSample> samples = new ArrayList<>();
+        LatencyHistogram firstQuarter = new LatencyHistogram();
+        LatencyHistogram lastQuarter = new LatencyHistogram();
+        int intervals = (int) Math.max(1, duration.toNanos() / sampleInterval.toNanos());
+        logger.info("Soaking {} at {} req/s for {} intervals of {} s", description,
+                String.format(Locale.ROOT, "%.1f", rate), intervals, sampleInterval.getSeconds());
+
+        try (BufferedWriter writer = openOutput()) {
+            // Called from the sampling thread and, for the last interval, from this one once the sampler has stopped
+            Consumer<LoadResult> collector = result -> {
+                int index = samples.size();
+                long elapsedNanos = (index == 0 ? 0 : samples.get(index - 1).getElapsedNanos()) + result.getElapsedNanos();
+                SoakSample sample = SoakSample.of(elapsedNanos, result, JvmStats.capture());
+                samples.add(sample);
+                if (SoakResult.inFirstQuarter(index, intervals)) {
+                    firstQuarter.add(result.getHistogram());
+                }
+                if (SoakResult.inLastQuarter(index, intervals)) {
+                    lastQuarter.add(result.getHistogram());
+                }
+                logSample(sample);
+                if (writer != null) {
+                    try {
+                        writer.write(SoakResult.toLine(sample));
+                        writer.newLine();
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not write soak samples to " + output, e);
+                    }
+                }
+            };
+            LoadGenerator.builder()
+                    .schedule(ArrivalSchedule.fixedRate(rate))
+                    .duration(sampleInterval.multipliedBy(intervals))
+                    .warmupRequests(warmupRequests)
+                    .request(request)
+                    .sampleInterval(sampleInterval)
+                    .sampleListener(collector)
+                    .build()
+                    .run();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write soak samples to " + output, e);
+        }
+        return new SoakResult(description, samples, firstQuarter, lastQuarter);
+    }
+
+    private BufferedWriter openOutput() throws IOException {
+        if (output == null) {
+            return null;
+        }
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+        writer.write("# " + description);
+        writer.newLine();
+        writer.write(SoakResult.HEADER);
+        writer.newLine();
+        return writer;
+    }
+
+    private void logSample(SoakSample sample) {
+        JvmStats jvm = sample.getJvm();
+        logger.info("Soak sample at {} s: p50={} ms p99={} ms errors={} heap={} MB afterGc={} MB gc={} ({} ms) threads={} fds={}",
+                TimeUnit.NANOSECONDS.toSeconds(sample.getElapsedNanos()),
+                String.format(Locale.ROOT, "%.3f", sample.getP50Nanos() / 1_000_000.0),
+                String.format(Locale.ROOT, "%.3f", sample.getP99Nanos() / 1_000_000.0),
+                sample.getErrorCount(), jvm.getHeapUsedBytes() >> 20, jvm.getHeapAfterGcBytes() >> 20,
+                jvm.getGcCount(), jvm.getGcTimeMillis(), jvm.getThreadCount(), jvm.getOpenFileDescriptors());
+    }
+}
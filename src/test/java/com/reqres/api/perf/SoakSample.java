@@ -0,0 +1,32 @@
+package com.reqres.api.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The load and client JVM statistics of one interval of a {@link SoakRunner} run. Only the
+ * percentiles of the interval are kept, so a run of many hours holds no histogram per interval.
+ */
+@Getter
+@AllArgsConstructor
+public class SoakSample {
+    // From the start of the soak to the end of the interval
+    private final long elapsedNanos;
+    private final long requestCount;
+    // Requests that failed or got a non-2xx status
+    private final long errorCount;
+    // Completed requests per second
+    private final double throughput;
+    // Latency from each request's intended start
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+    // Taken at the end of the interval
+    private final JvmStats jvm;
+
+    static SoakSample of(long elapsedNanos, LoadResult result, JvmStats jvm) {
+        LatencyHistogram latency = result.getHistogram();
+        return new SoakSample(elapsedNanos, result.getDispatchedCount(), result.getErrorCount(), result.getThroughput(),
+                latency.getValueAtPercentile(50.0), latency.getValueAtPercentile(99.0), latency.getMaxValue(), jvm);
+    }
+}
@@ -0,0 +1,111 @@
+package com.reqres.api.perf;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Milestones of the suite's startup, measured from the start of the JVM, such as TestNG loading the
+ * listeners, the background preloading finishing and the first request being sent. Each milestone is
+ * recorded once, the first time it is reached, together with the number of classes loaded by then.
+ */
+public final class StartupProfiler {
+    public static final String LISTENERS_LOADED = "listeners loaded";
+    public static final String PRELOAD_DONE = "preload done";
+    public static final String FIRST_TEST = "first test started";
+    public static final String FIRST_REQUEST = "first request sent";
+
+    private static final Map<String, Milestone> MILESTONES = new ConcurrentHashMap<>();
+    private static volatile boolean firstRequestSent;
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * Records a milestone unless it has been reached before
+     *
+     * @param name Name of the milestone
+     */
+    public static void mark(String name) {
+        MILESTONES.computeIfAbsent(name, key -> new Milestone(key,
+                ManagementFactory.getRuntimeMXBean().getUptime(),
+                ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount()));
+    }
+
+    /**
+     * Records {@link #FIRST_REQUEST}; after the first call this is a single volatile read
+     */
+    static void markFirstRequest() {
+        if (!firstRequestSent) {
+            firstRequestSent = true;
+            mark(FIRST_REQUEST);
+        }
+    }
+
+    /**
+     * Returns the milestones reached so far in the order they were reached
+     *
+     * @return The milestones
+     */
+    public static List<Milestone> getMilestones() {
+        List<Milestone> milestones = new ArrayList<>(MILESTONES.values());
+        milestones.sort(Comparator.comparingLong(Milestone::getUptimeMillis).thenComparing(Milestone::getName));
+        return milestones;
+    }
+
+    /**
+     * Returns the time from the start of the JVM to the first request
+     *
+     * @return Milliseconds, or -1 if no request has been sent
+     */
+    public static long getTimeToFirstRequestMillis() {
+        Milestone first = MILESTONES.get(FIRST_REQUEST);
+        return first != null ? first.getUptimeMillis() : -1;
+    }
+
+    /**
+     * Formats the milestones as a tab-separated table
+     *
+     * @return The table, one milestone per line after a header
+     */
+    public static String toTable() {
+        StringBuilder table = new StringBuilder("milestone\tuptime_ms\tloaded_classes\n");
+        for (Milestone milestone : getMilestones()) {
+            table.append(milestone.getName()).append('\t')
+                    .append(milestone.getUptimeMillis()).append('\t')
+                    .append(milestone.getLoadedClasses()).append('\n');
+        }
+        return table.toString();
+    }
+
+    public static void write(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, toTable().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write startup profile to " + file, e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Milestone {
+        private final String name;
+        private final long uptimeMillis;
+        private final long loadedClasses;
+    }
+}
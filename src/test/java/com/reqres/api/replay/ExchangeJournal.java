@@ -0,0 +1,206 @@
+package com.reqres.api.replay;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only binary journal of HTTP exchanges, written through a memory-mapped file.
+ * Appending copies the record into the mapping and never waits for the disk, so
+ * recording adds microseconds to a request. The file is mapped in chunks; space
+ * that has not been written yet is zero, which reads as the end of the journal,
+ * so a journal cut short by a crashed run is still readable up to the last record.
+ * <p>
+ * Layout, big-endian: the magic {@code RQJ1}, then one record per exchange, then an int 0.
+ * A record is its length as an int followed by latency nanos (long), status (short),
+ * method, path, query (strings), request body (bytes), content type (string) and
+ * response body (bytes). Strings are an unsigned short length and UTF-8 bytes;
+ * byte arrays are an int length and the raw bytes.
+ */
+public final class ExchangeJournal implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(ExchangeJournal.class);
+    public static final String FILE_PROPERTY = "api.journal";
+    private static final int MAGIC = 0x52514A31;
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private MappedByteBuffer mapping;
+    private long mappingStart;
+    private long position;
+    private int count;
+    private boolean closed;
+
+    private ExchangeJournal(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        map(0, CHUNK_SIZE);
+        mapping.putInt(MAGIC);
+        position = Integer.BYTES;
+    }
+
+    /**
+     * Returns the journal file set by {@code api.journal}, by default {@code target/journal/reqres.journal}
+     */
+    public static Path defaultFile() {
+        return Paths.get(System.getProperty(FILE_PROPERTY, "target/journal/reqres.journal"));
+    }
+
+    /**
+     * Creates a new, empty journal, replacing any existing file
+     *
+     * @param file The journal file
+     * @return The journal, open for appending
+     */
+    public static ExchangeJournal create(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            return new ExchangeJournal(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create exchange journal " + file, e);
+        }
+    }
+
+    /**
+     * Appends an exchange. Safe to call from several threads.
+     *
+     * @param exchange The exchange to record
+     */
+    public synchronized void append(RecordedExchange exchange) {
+        if (closed) {
+            throw new IllegalStateException("Exchange journal " + file + " is closed");
+        }
+        byte[] method = utf8(exchange.getMethod());
+        byte[] path = utf8(exchange.getPath());
+        byte[] query = utf8(exchange.getQuery());
+        byte[] contentType = utf8(exchange.getContentType());
+        int length = Long.BYTES + Short.BYTES
+                + 4 * Short.BYTES + method.length + path.length + query.length + contentType.length
+                + 2 * Integer.BYTES + exchange.getRequestBody().length + exchange.getResponseBody().length;
+
+        // Keeps room for the record, its length and the int 0 that ends the journal
+        long required = position + Integer.BYTES + length + Integer.BYTES;
+        if (required > mappingStart + mapping.capacity()) {
+            map(position, Math.max(CHUNK_SIZE, Integer.BYTES + length + Integer.BYTES));
+        }
+        mapping.position((int) (position - mappingStart));
+        mapping.putInt(length)
+                .putLong(exchange.getLatencyNanos())
+                .putShort((short) exchange.getStatus());
+        putString(method);
+        putString(path);
+        putString(query);
+        mapping.putInt(exchange.getRequestBody().length).put(exchange.getRequestBody());
+        putString(contentType);
+        mapping.putInt(exchange.getResponseBody().length).put(exchange.getResponseBody());
+        position += Integer.BYTES + length;
+        count++;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Flushes the journal to disk and trims the unused part of the last chunk
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            mapping.force();
+            channel.truncate(position + Integer.BYTES);
+            channel.close();
+            logger.info("Recorded {} exchanges ({} bytes) to {}", count, position + Integer.BYTES, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close exchange journal " + file, e);
+        }
+    }
+
+    /**
+     * Reads all exchanges of a journal in the order they were recorded
+     *
+     * @param file The journal file
+     * @return The recorded exchanges
+     */
+    public static List<RecordedExchange> read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < Integer.BYTES || buffer.getInt() != MAGIC) {
+                throw new IllegalStateException(file + " is not an exchange journal");
+            }
+            List<RecordedExchange> exchanges = new ArrayList<>();
+            while (buffer.remaining() >= Integer.BYTES) {
+                int length = buffer.getInt();
+                if (length == 0 || length > buffer.remaining()) {
+                    break;
+                }
+                long latencyNanos = buffer.getLong();
+                int status = buffer.getShort();
+                String method = getString(buffer);
+                String path = getString(buffer);
+                String query = getString(buffer);
+                byte[] requestBody = getBytes(buffer);
+                String contentType = getString(buffer);
+                byte[] responseBody = getBytes(buffer);
+                exchanges.add(new RecordedExchange(method, path, query, requestBody, status, contentType, responseBody, latencyNanos));
+            }
+            return exchanges;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read exchange journal " + file, e);
+        }
+    }
+
+    private void map(long start, int size) {
+        try {
+            mapping = channel.map(FileChannel.MapMode.READ_WRITE, start, size);
+            mappingStart = start;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map exchange journal " + file, e);
+        }
+    }
+
+    private void putString(byte[] value) {
+        mapping.putShort((short) value.length).put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] value = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        byte[] value = new byte[buffer.getInt()];
+        buffer.get(value);
+        return value;
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Journal strings are limited to 65535 bytes, got " + bytes.length);
+        }
+        return bytes;
+    }
+}
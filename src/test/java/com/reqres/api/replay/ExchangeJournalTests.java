@@ -0,0 +1,154 @@
+package com.reqres.api.replay;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for the record layout, chunked mapping and crash tolerance of {@link ExchangeJournal}
+ */
+public class ExchangeJournalTests {
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("journal");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        RecordedExchange login = new RecordedExchange("POST", "/api/login", "", utf8("{\"email\":\"é@x\"}"),
+                200, "application/json", utf8("{\"token\":\"t\"}"), 1_234_567L);
+        RecordedExchange page = new RecordedExchange("GET", "/api/users", "page=2&per_page=3", new byte[0],
+                404, null, new byte[]{0, -1, 42}, 0L);
+        Path file = directory.resolve("round-trip.journal");
+
+        try (ExchangeJournal journal = ExchangeJournal.create(file)) {
+            journal.append(login);
+            journal.append(page);
+            Assert.assertEquals(journal.getCount(), 2);
+        }
+        List<RecordedExchange> read = ExchangeJournal.read(file);
+
+        Assert.assertEquals(read.size(), 2);
+        assertSame(read.get(0), login);
+        assertSame(read.get(1), page);
+        Assert.assertEquals(read.get(1).getContentType(), "", "A missing content type is stored as empty");
+    }
+
+    @Test
+    public void testCloseTrimsTheUnusedChunk() throws IOException {
+        Path file = directory.resolve("trimmed.journal");
+        try (ExchangeJournal journal = ExchangeJournal.create(file)) {
+            journal.append(exchange(0, 10));
+        }
+
+        // Magic, then the record: length, latency, status, four strings and two byte arrays, then the int 0
+        long record = Integer.BYTES + Long.BYTES + Short.BYTES + 4 * Short.BYTES + "GET".length() + "/api/users/0".length()
+                + 2 * Integer.BYTES + 10;
+        Assert.assertEquals(Files.size(file), Integer.BYTES + record + Integer.BYTES);
+    }
+
+    @Test
+    public void testRecordsSpanSeveralChunks() {
+        Path file = directory.resolve("chunks.journal");
+        int count = 3000;
+        try (ExchangeJournal journal = ExchangeJournal.create(file)) {
+            // About 3000 * 2 KB crosses the 4 MB chunk boundary, and the 5 MB record needs a chunk larger than the default
+            for (int i = 0; i < count; i++) {
+                journal.append(exchange(i, 2048));
+            }
+            journal.append(exchange(count, 5 * 1024 * 1024));
+            journal.append(exchange(count + 1, 10));
+        }
+        List<RecordedExchange> read = ExchangeJournal.read(file);
+
+        Assert.assertEquals(read.size(), count + 2);
+        for (int i = 0; i < read.size(); i++) {
+            Assert.assertEquals(read.get(i).getPath(), "/api/users/" + i, "Record " + i + " out of order or corrupted");
+        }
+        Assert.assertEquals(read.get(count).getResponseBody().length, 5 * 1024 * 1024);
+    }
+
+    @Test
+    public void testJournalCutShortIsReadUpToTheLastCompleteRecord() throws IOException {
+        Path file = directory.resolve("complete.journal");
+        try (ExchangeJournal journal = ExchangeJournal.create(file)) {
+            for (int i = 0; i < 3; i++) {
+                journal.append(exchange(i, 100));
+            }
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Path crashed = directory.resolve("crashed.journal");
+        // Drops the end marker and half of the last record, as a run killed mid-write would leave it
+        Files.write(crashed, Arrays.copyOf(bytes, bytes.length - Integer.BYTES - 50));
+
+        List<RecordedExchange> read = ExchangeJournal.read(crashed);
+
+        Assert.assertEquals(read.size(), 2);
+        Assert.assertEquals(read.get(1).getPath(), "/api/users/1");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testOtherFilesAreRejected() throws IOException {
+        Path file = directory.resolve("other.txt");
+        Files.write(file, utf8("not a journal"));
+
+        ExchangeJournal.read(file);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAppendAfterCloseIsRejected() {
+        ExchangeJournal journal = ExchangeJournal.create(directory.resolve("closed.journal"));
+        journal.close();
+
+        journal.append(exchange(0, 10));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testOverlongStringsAreRejected() {
+        char[] path = new char[70_000];
+        Arrays.fill(path, 'a');
+        try (ExchangeJournal journal = ExchangeJournal.create(directory.resolve("long.journal"))) {
+            journal.append(new RecordedExchange("GET", new String(path), "", new byte[0], 200, "", new byte[0], 0L));
+        }
+    }
+
+    private static RecordedExchange exchange(int id, int bodySize) {
+        byte[] body = new byte[bodySize];
+        Arrays.fill(body, (byte) ('a' + id % 26));
+        return new RecordedExchange("GET", "/api/users/" + id, "", new byte[0], 200, "", body, id);
+    }
+
+    private static void assertSame(RecordedExchange actual, RecordedExchange expected) {
+        Assert.assertEquals(actual.getMethod(), expected.getMethod());
+        Assert.assertEquals(actual.getPath(), expected.getPath());
+        Assert.assertEquals(actual.getQuery(), expected.getQuery());
+        Assert.assertEquals(actual.getRequestBody(), expected.getRequestBody());
+        Assert.assertEquals(actual.getStatus(), expected.getStatus());
+        Assert.assertEquals(actual.getResponseBody(), expected.getResponseBody());
+        Assert.assertEquals(actual.getLatencyNanos(), expected.getLatencyNanos());
+        Assert.assertEquals(actual.key(), expected.key());
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
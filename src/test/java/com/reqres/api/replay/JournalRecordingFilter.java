@@ -0,0 +1,75 @@
+package com.reqres.api.replay;
+
+import com.reqres.api.server.FaultInjectingHandler;
+import com.reqres.api.server.StubServer;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * Records every exchange into the suite's {@link ExchangeJournal} when {@code api.record} is set.
+ * Runs just outside the latency filter, so the recorded latency is the same time the
+ * {@link com.reqres.api.perf.LatencyRegistry} sees, and appending to the journal is not part of it.
+ * Exchanges with injected faults are not recorded, since replay does not match on headers.
+ */
+public class JournalRecordingFilter implements OrderedFilter {
+    private static ExchangeJournal journal;
+
+    /**
+     * Returns the journal recorded to in this JVM, creating it at {@link ExchangeJournal#defaultFile()} on first use
+     */
+    public static synchronized ExchangeJournal journal() {
+        if (journal == null) {
+            journal = ExchangeJournal.create(ExchangeJournal.defaultFile());
+        }
+        return journal;
+    }
+
+    /**
+     * Closes the journal, if one was opened; a later request starts a new one
+     */
+    public static synchronized void closeJournal() {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long elapsed = System.nanoTime() - start;
+        if (requestSpec.getHeaders().hasHeaderWithName(FaultInjectingHandler.PROFILE_HEADER)) {
+            return response;
+        }
+
+        URI uri = URI.create(requestSpec.getURI());
+        String query = RecordedExchange.canonicalQuery(uri.getRawQuery() == null
+                ? Collections.emptyMap() : StubServer.parseQuery(uri.getRawQuery()));
+        journal().append(new RecordedExchange(requestSpec.getMethod(), uri.getRawPath(), query,
+                bodyBytes(requestSpec.getBody()), response.getStatusCode(), response.getContentType(),
+                response.asByteArray(), elapsed));
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 1;
+    }
+
+    private static byte[] bodyBytes(Object body) {
+        if (body == null) {
+            return new byte[0];
+        }
+        return body instanceof byte[] ? (byte[]) body : body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,50 @@
+package com.reqres.api.replay;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * One request/response exchange as stored in an {@link ExchangeJournal}
+ */
+@Getter
+@AllArgsConstructor
+public class RecordedExchange {
+    private final String method;
+    private final String path;
+    // Decoded query parameters sorted by name, see canonicalQuery
+    private final String query;
+    private final byte[] requestBody;
+    private final int status;
+    private final String contentType;
+    private final byte[] responseBody;
+    // Time from sending the request to receiving the full response when it was recorded
+    private final long latencyNanos;
+
+    /**
+     * Returns the key that identifies equivalent requests: method, path, query and body
+     */
+    public String key() {
+        return key(method, path, query, requestBody);
+    }
+
+    public static String key(String method, String path, String canonicalQuery, byte[] body) {
+        return method + ' ' + path + '?' + canonicalQuery + '\n' + new String(body, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Formats decoded query parameters in name order, so the order in the URL does not matter
+     *
+     * @param params Decoded query parameters
+     * @return Parameters as {@code name=value} pairs joined by {@code &}
+     */
+    public static String canonicalQuery(Map<String, String> params) {
+        StringJoiner query = new StringJoiner("&");
+        new TreeMap<>(params).forEach((name, value) -> query.add(name + '=' + value));
+        return query.toString();
+    }
+}
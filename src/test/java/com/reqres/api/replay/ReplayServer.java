@@ -0,0 +1,62 @@
+package com.reqres.api.replay;
+
+import com.reqres.api.server.LocalReqresServer;
+import com.reqres.api.server.StubServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Holds the single replay server shared by the whole suite. It serves the exchanges of the journal
+ * at {@code api.journal} and, with {@code api.replay.timing=recorded}, holds each response back for
+ * the latency it had when it was recorded.
+ */
+public final class ReplayServer {
+    public static final String TIMING_PROPERTY = "api.replay.timing";
+
+    private static StubServer server;
+
+    private ReplayServer() {
+    }
+
+    /**
+     * Checks whether responses are held back for their recorded latency
+     *
+     * @return true when {@code api.replay.timing} is set to {@code recorded}
+     */
+    public static boolean isRecordedTiming() {
+        return "recorded".equalsIgnoreCase(System.getProperty(TIMING_PROPERTY));
+    }
+
+    /**
+     * Returns the base URL of the replay server, starting it on first use
+     *
+     * @return Base URL including the {@code /api} prefix
+     */
+    public static synchronized String getBaseUrl() {
+        if (server == null || !server.isRunning()) {
+            Path journal = ExchangeJournal.defaultFile();
+            if (!Files.exists(journal)) {
+                throw new IllegalStateException("No exchange journal at " + journal + ", record one with -Dapi.record=true first");
+            }
+            List<RecordedExchange> exchanges = ExchangeJournal.read(journal);
+            try {
+                server = new StubServer(new ReplayStubHandler(exchanges, isRecordedTiming()))
+                        .start(Integer.getInteger(LocalReqresServer.PORT_PROPERTY, 0));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to start replay server", e);
+            }
+        }
+        return server.getBaseUrl() + "/api";
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.close();
+            server = null;
+        }
+    }
+}
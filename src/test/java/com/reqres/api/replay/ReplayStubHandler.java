@@ -0,0 +1,63 @@
+package com.reqres.api.replay;
+
+import com.reqres.api.server.StubHandler;
+import com.reqres.api.server.StubRequest;
+import com.reqres.api.server.StubResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers requests with the responses recorded in an {@link ExchangeJournal}. Requests are matched
+ * on method, path, query parameters and body. When a request was recorded several times, its
+ * recordings are served in turn, so repeated requests see the recorded sequence of responses and
+ * latencies. Requests that were never recorded get a 501 response naming the request.
+ */
+public class ReplayStubHandler implements StubHandler {
+    private static final Logger logger = LogManager.getLogger(ReplayStubHandler.class);
+
+    private final Map<String, List<RecordedExchange>> exchanges = new HashMap<>();
+    // Next recording to serve per request key; the handler only runs on the server's event loop
+    private final Map<String, Integer> cursors = new HashMap<>();
+    private final boolean recordedTiming;
+
+    /**
+     * @param recorded The recorded exchanges
+     * @param recordedTiming Whether to hold each response back for its recorded latency
+     */
+    public ReplayStubHandler(List<RecordedExchange> recorded, boolean recordedTiming) {
+        for (RecordedExchange exchange : recorded) {
+            exchanges.computeIfAbsent(exchange.key(), key -> new ArrayList<>()).add(exchange);
+        }
+        this.recordedTiming = recordedTiming;
+    }
+
+    @Override
+    public StubResponse handle(StubRequest request) {
+        String key = RecordedExchange.key(request.getMethod(), request.getPath(),
+                RecordedExchange.canonicalQuery(request.getQueryParams()), request.getBody());
+        List<RecordedExchange> recordings = exchanges.get(key);
+        if (recordings == null) {
+            logger.warn("No recorded exchange for {} {}", request.getMethod(), request.getPath());
+            return StubResponse.json(501, Collections.singletonMap("error",
+                    "No recorded exchange for " + request.getMethod() + " " + request.getPath()));
+        }
+
+        int cursor = cursors.merge(key, 1, Integer::sum) - 1;
+        RecordedExchange exchange = recordings.get(cursor % recordings.size());
+        StubResponse response = new StubResponse(exchange.getStatus(), exchange.getResponseBody());
+        if (!exchange.getContentType().isEmpty()) {
+            response.header("Content-Type", exchange.getContentType());
+        }
+        if (recordedTiming) {
+            response.delay(Duration.ofNanos(exchange.getLatencyNanos()));
+        }
+        return response;
+    }
+}
@@ -0,0 +1,98 @@
+package com.reqres.api.server;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Wraps a handler and injects the latency and faults of the {@link FaultProfile} named in the
+ * {@value #PROFILE_HEADER} header. Requests without the header are passed through untouched.
+ * <p>
+ * The header value is {@code <profile>; seed=<seed>; session=<id>}. Each session, one test
+ * invocation, draws from its own random sequence started from the seed, so a test sees the same
+ * latencies and faults on every run no matter which other tests run concurrently.
+ */
+public class FaultInjectingHandler implements StubHandler {
+    public static final String PROFILE_HEADER = "X-Fault-Profile";
+    private static final int MAX_SESSIONS = 1024;
+
+    private final StubHandler delegate;
+    // Only touched by the server's event loop
+    private final Map<String, SplittableRandom> sessions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SplittableRandom> eldest) {
+            return size() > MAX_SESSIONS;
+        }
+    };
+
+    public FaultInjectingHandler(StubHandler delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Formats the {@value #PROFILE_HEADER} header value that selects a profile
+     *
+     * @param profile Name of the profile
+     * @param seed Seed of the session's random sequence
+     * @param session Identifies the test invocation the requests belong to
+     * @return The header value
+     */
+    public static String headerValue(String profile, long seed, String session) {
+        return profile + "; seed=" + seed + "; session=" + session;
+    }
+
+    @Override
+    public StubResponse handle(StubRequest request) {
+        String header = request.getHeader(PROFILE_HEADER);
+        if (header == null) {
+            return delegate.handle(request);
+        }
+
+        String[] parts = header.split(";");
+        FaultProfile profile = FaultProfiles.get(parts[0].trim());
+        long seed = 1;
+        String session = header;
+        for (int i = 1; i < parts.length; i++) {
+            String part = parts[i].trim();
+            if (part.startsWith("seed=")) {
+                seed = Long.parseLong(part.substring("seed=".length()));
+            } else if (part.startsWith("session=")) {
+                session = part.substring("session=".length());
+            }
+        }
+        long sessionSeed = seed;
+        SplittableRandom random = sessions.computeIfAbsent(session, id -> new SplittableRandom(sessionSeed));
+
+        StubResponse response = injectFault(profile, random.nextDouble());
+        if (response == null) {
+            response = delegate.handle(request);
+        }
+        long latencyNanos = profile.latencyFor(request.getPath()).sampleNanos(random);
+        if (latencyNanos > 0) {
+            response.delay(Duration.ofNanos(latencyNanos));
+        }
+        if (profile.getDripBytes() > 0) {
+            response.drip(profile.getDripBytes(), profile.getDripInterval());
+        }
+        return response;
+    }
+
+    private static StubResponse injectFault(FaultProfile profile, double draw) {
+        double threshold = profile.getResetRate();
+        if (draw < threshold) {
+            return StubResponse.reset();
+        }
+        threshold += profile.getServerErrorRate();
+        if (draw < threshold) {
+            return StubResponse.json(503, Collections.singletonMap("error", "Service Unavailable"));
+        }
+        threshold += profile.getRateLimitRate();
+        if (draw < threshold) {
+            return StubResponse.json(429, Collections.singletonMap("error", "Too Many Requests"))
+                    .header("Retry-After", "1");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.reqres.api.server;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Latency and faults the local stand-in server injects into the responses of a test.
+ * Latency is configured per endpoint by path prefix; the longest matching prefix wins.
+ * Fault rates are probabilities between 0 and 1 and are drawn in the order reset,
+ * server error, rate limit, so their sum must not exceed 1.
+ *
+ * <pre>
+ * FaultProfile.builder()
+ *         .name("slow-users")
+ *         .endpointLatency("/api/users", LatencyDistribution.pareto(Duration.ofMillis(5), 1.5))
+ *         .serverErrorRate(0.1)
+ *         .build();
+ * </pre>
+ */
+@Getter
+@Builder
+public class FaultProfile {
+    private final String name;
+    @Singular("endpointLatency")
+    private final Map<String, LatencyDistribution> endpointLatencies;
+    @Builder.Default
+    private final LatencyDistribution defaultLatency = LatencyDistribution.none();
+    // Share of requests answered with 503 Service Unavailable
+    private final double serverErrorRate;
+    // Share of requests answered with 429 Too Many Requests and a Retry-After header
+    private final double rateLimitRate;
+    // Share of requests whose connection is reset instead of answered
+    private final double resetRate;
+    // Slow-drip responses: bytes per write and the pause between writes, 0 bytes to send at once
+    private final int dripBytes;
+    @Builder.Default
+    private final Duration dripInterval = Duration.ZERO;
+
+    /**
+     * Returns the latency distribution of the endpoint a request path belongs to
+     *
+     * @param path Request path such as {@code /api/users/2}
+     * @return Distribution of the longest matching endpoint prefix, or the default latency
+     */
+    public LatencyDistribution latencyFor(String path) {
+        LatencyDistribution latency = defaultLatency;
+        int matched = -1;
+        for (Map.Entry<String, LatencyDistribution> endpoint : endpointLatencies.entrySet()) {
+            String prefix = endpoint.getKey();
+            if (prefix.length() > matched && path.startsWith(prefix)) {
+                latency = endpoint.getValue();
+                matched = prefix.length();
+            }
+        }
+        return latency;
+    }
+}
@@ -0,0 +1,73 @@
+package com.reqres.api.server;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The fault profiles tests can select with {@link UseFaultProfile}
+ */
+public final class FaultProfiles {
+    private static final Map<String, FaultProfile> PROFILES = new LinkedHashMap<>();
+
+    static {
+        register(FaultProfile.builder()
+                .name("fixed-latency")
+                .defaultLatency(LatencyDistribution.fixed(Duration.ofMillis(100)))
+                .build());
+        register(FaultProfile.builder()
+                .name("normal-latency")
+                .defaultLatency(LatencyDistribution.normal(Duration.ofMillis(50), Duration.ofMillis(10)))
+                .build());
+        // Half of the user requests take under 4 ms, one in a hundred over 200 ms; everything else is fast
+        register(FaultProfile.builder()
+                .name("long-tail")
+                .endpointLatency("/api/users", LatencyDistribution.pareto(Duration.ofMillis(2), 1.0))
+                .defaultLatency(LatencyDistribution.fixed(Duration.ofMillis(2)))
+                .build());
+        register(FaultProfile.builder()
+                .name("server-errors")
+                .serverErrorRate(1.0)
+                .build());
+        register(FaultProfile.builder()
+                .name("rate-limited")
+                .rateLimitRate(1.0)
+                .build());
+        register(FaultProfile.builder()
+                .name("slow-drip")
+                .dripBytes(32)
+                .dripInterval(Duration.ofMillis(50))
+                .build());
+        register(FaultProfile.builder()
+                .name("connection-reset")
+                .resetRate(1.0)
+                .build());
+    }
+
+    private FaultProfiles() {
+    }
+
+    /**
+     * Returns a profile by name
+     *
+     * @param name Name of the profile
+     * @return The profile
+     * @throws IllegalArgumentException If there is no profile with that name
+     */
+    public static FaultProfile get(String name) {
+        FaultProfile profile = PROFILES.get(name);
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown fault profile '" + name + "', expected one of " + PROFILES.keySet());
+        }
+        return profile;
+    }
+
+    public static Map<String, FaultProfile> getAll() {
+        return Collections.unmodifiableMap(PROFILES);
+    }
+
+    private static void register(FaultProfile profile) {
+        PROFILES.put(profile.getName(), profile);
+    }
+}
@@ -0,0 +1,70 @@
+package com.reqres.api.server;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distribution of the latency a {@link FaultProfile} adds to a response
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+    /** Upper bound of Pareto samples, longer than any read timeout of the suite */
+    long MAX_PARETO_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Draws the latency of one response
+     *
+     * @param random Source of randomness, seeded per test so the sequence of draws is repeatable
+     * @return Latency in nanoseconds, never negative
+     */
+    long sampleNanos(SplittableRandom random);
+
+    static LatencyDistribution none() {
+        return random -> 0;
+    }
+
+    static LatencyDistribution fixed(Duration latency) {
+        long nanos = latency.toNanos();
+        return random -> nanos;
+    }
+
+    /**
+     * Normally distributed latency, cut off at zero
+     *
+     * @param mean Mean latency
+     * @param standardDeviation Standard deviation of the latency
+     * @return The distribution
+     */
+    static LatencyDistribution normal(Duration mean, Duration standardDeviation) {
+        long meanNanos = mean.toNanos();
+        long deviationNanos = standardDeviation.toNanos();
+        return random -> Math.max(0, meanNanos + Math.round(gaussian(random) * deviationNanos));
+    }
+
+    /**
+     * Pareto distributed latency: most responses take close to {@code scale}, a few take many times longer.
+     * The smaller the shape, the heavier the tail; the p99 is {@code scale * 100^(1/shape)}. Samples are
+     * capped at {@link #MAX_PARETO_NANOS}, as a draw far out in the tail of a small shape would
+     * otherwise round to {@code Long.MAX_VALUE} and overflow the server's due times.
+     *
+     * @param scale Minimum latency
+     * @param shape Tail index, greater than zero
+     * @return The distribution
+     */
+    static LatencyDistribution pareto(Duration scale, double shape) {
+        if (shape <= 0) {
+            throw new IllegalArgumentException("Pareto shape must be positive, got " + shape);
+        }
+        long scaleNanos = scale.toNanos();
+        // Inverse transform sampling; 1 - nextDouble() is in (0, 1], so the power is finite
+        return random -> Math.min(MAX_PARETO_NANOS, Math.round(scaleNanos / Math.pow(1.0 - random.nextDouble(), 1.0 / shape)));
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller transform, SplittableRandom has no nextGaussian before Java 17
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+}
@@ -0,0 +1,59 @@
+package com.reqres.api.server;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Unit tests for the samples of {@link LatencyDistribution}
+ */
+public class LatencyDistributionTests {
+    private static final long MS = Duration.ofMillis(1).toNanos();
+
+    @Test
+    public void testParetoSamplesAreCapped() {
+        // With shape 0.01 most draws are scale * u^-100, far beyond the range of a long
+        LatencyDistribution distribution = LatencyDistribution.pareto(Duration.ofMillis(1), 0.01);
+        SplittableRandom random = new SplittableRandom(42);
+
+        boolean capped = false;
+        for (int i = 0; i < 1000; i++) {
+            long sample = distribution.sampleNanos(random);
+            Assert.assertTrue(sample >= MS && sample <= LatencyDistribution.MAX_PARETO_NANOS, "Sample out of range: " + sample);
+            capped |= sample == LatencyDistribution.MAX_PARETO_NANOS;
+        }
+        Assert.assertTrue(capped, "Some samples should have reached the cap");
+    }
+
+    @Test
+    public void testParetoPercentiles() {
+        // Shape 1: the p99 is scale * 100
+        LatencyDistribution distribution = LatencyDistribution.pareto(Duration.ofMillis(1), 1.0);
+        SplittableRandom random = new SplittableRandom(7);
+        long[] samples = new long[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = distribution.sampleNanos(random);
+        }
+        Arrays.sort(samples);
+
+        Assert.assertTrue(samples[0] >= MS, "No sample is below the scale");
+        Assert.assertEquals(samples[samples.length / 2], 2 * MS, 0.05 * 2 * MS, "p50 is scale * 2");
+        Assert.assertEquals(samples[samples.length * 99 / 100], 100 * MS, 0.1 * 100 * MS, "p99 is scale * 100");
+    }
+
+    @Test
+    public void testSameSeedGivesSameSequence() {
+        LatencyDistribution distribution = LatencyDistribution.normal(Duration.ofMillis(50), Duration.ofMillis(10));
+        SplittableRandom first = new SplittableRandom(3);
+        SplittableRandom second = new SplittableRandom(3);
+
+        for (int i = 0; i < 100; i++) {
+            long sample = distribution.sampleNanos(first);
+            Assert.assertEquals(sample, distribution.sampleNanos(second));
+            Assert.assertTrue(sample >= 0, "Normal samples are cut off at zero");
+        }
+    }
+}
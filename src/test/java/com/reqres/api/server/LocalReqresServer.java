@@ -0,0 +1,40 @@
+package com.reqres.api.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Holds the single in-process ReqRes stand-in server shared by the whole suite. Requests of tests
+ * annotated with {@link UseFaultProfile} get the latency and faults of their profile.
+ */
+public final class LocalReqresServer {
+    public static final String PORT_PROPERTY = "api.local.port";
+
+    private static StubServer server;
+
+    private LocalReqresServer() {
+    }
+
+    /**
+     * Returns the base URL of the local server, starting it on first use
+     *
+     * @return Base URL including the {@code /api} prefix
+     */
+    public static synchronized String getBaseUrl() {
+        if (server == null || !server.isRunning()) {
+            try {
+                server = new StubServer(new FaultInjectingHandler(new ReqresStubHandler())).start(Integer.getInteger(PORT_PROPERTY, 0));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to start local ReqRes server", e);
+            }
+        }
+        return server.getBaseUrl() + "/api";
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.close();
+            server = null;
+        }
+    }
+}
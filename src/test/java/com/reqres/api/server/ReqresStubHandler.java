@@ -0,0 +1,236 @@
+package com.reqres.api.server;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Serves the ReqRes API endpoints from the fixtures in {@code stub/} with the
+ * same response shapes as the schemas in {@code schemas/}
+ */
+public class ReqresStubHandler implements StubHandler {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String API_PREFIX = "/api";
+    private static final String TOKEN = "QpwL5tke4Pnpja7X4";
+    private static final int DEFAULT_PER_PAGE = 6;
+    private static final Map<String, Object> SUPPORT = Map.of(
+            "url", "https://contentcaddy.io?utm_source=reqres&utm_medium=json&utm_campaign=referral",
+            "text", "Tired of writing endless social media content? Let Content Caddy generate it for you.");
+
+    private final List<Map<String, Object>> users;
+    private final List<Map<String, Object>> resources;
+    private final AtomicInteger nextId = new AtomicInteger(100);
+
+    public ReqresStubHandler() {
+        this.users = loadFixture("stub/users.json");
+        this.resources = loadFixture("stub/resources.json");
+    }
+
+    @Override
+    public StubResponse handle(StubRequest request) {
+        String path = request.getPath();
+        if (!path.startsWith(API_PREFIX + "/")) {
+            return notFound();
+        }
+        String[] segments = path.substring(API_PREFIX.length() + 1).split("/");
+
+        switch (segments[0]) {
+            case "users":
+                return handleCollection(request, segments, users);
+            case "unknown":
+                return handleCollection(request, segments, resources);
+            case "login":
+                return segments.length == 1 ? handleLogin(request) : notFound();
+            case "register":
+                return segments.length == 1 ? handleRegister(request) : notFound();
+            default:
+                return notFound();
+        }
+    }
+
+    private StubResponse handleCollection(StubRequest request, String[] segments, List<Map<String, Object>> items) {
+        if (segments.length > 2) {
+            return notFound();
+        }
+        String method = request.getMethod();
+        if ("OPTIONS".equals(method)) {
+            return StubResponse.empty(204)
+                    .header("Access-Control-Allow-Methods", "GET,HEAD,PUT,PATCH,POST,DELETE");
+        }
+
+        if (segments.length == 1) {
+            switch (method) {
+                case "GET":
+                    return listPage(request, items);
+                case "POST":
+                    return withBody(request, body -> {
+                        Map<String, Object> created = new LinkedHashMap<>(body);
+                        created.put("id", String.valueOf(nextId.getAndIncrement()));
+                        created.put("createdAt", Instant.now().toString());
+                        return StubResponse.json(201, created);
+                    });
+                default:
+                    return error(405, "Method Not Allowed");
+            }
+        }
+
+        switch (method) {
+            case "GET":
+                Map<String, Object> item = findById(items, segments[1]);
+                if (item == null) {
+                    return notFound();
+                }
+                Map<String, Object> single = new LinkedHashMap<>();
+                single.put("data", item);
+                single.put("support", SUPPORT);
+                return StubResponse.json(200, single);
+            case "PUT":
+            case "PATCH":
+                return withBody(request, body -> {
+                    Map<String, Object> updated = new LinkedHashMap<>(body);
+                    updated.put("updatedAt", Instant.now().toString());
+                    return StubResponse.json(200, updated);
+                });
+            case "DELETE":
+                return StubResponse.empty(204);
+            default:
+                return error(405, "Method Not Allowed");
+        }
+    }
+
+    private StubResponse listPage(StubRequest request, List<Map<String, Object>> items) {
+        int page = positiveIntParam(request, "page", 1);
+        int perPage = positiveIntParam(request, "per_page", DEFAULT_PER_PAGE);
+        int total = items.size();
+        long from = (long) (page - 1) * perPage;
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("page", page);
+        body.put("per_page", perPage);
+        body.put("total", total);
+        body.put("total_pages", (total + perPage - 1) / perPage);
+        body.put("data", from >= total ? Collections.emptyList() : items.subList((int) from, (int) Math.min(total, from + perPage)));
+        body.put("support", SUPPORT);
+        return StubResponse.json(200, body);
+    }
+
+    private StubResponse handleLogin(StubRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return error(405, "Method Not Allowed");
+        }
+        return withBody(request, body -> {
+            StubResponse invalid = validateCredentials(body);
+            return invalid != null ? invalid : StubResponse.json(200, Map.of("token", TOKEN));
+        });
+    }
+
+    private StubResponse handleRegister(StubRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return error(405, "Method Not Allowed");
+        }
+        return withBody(request, body -> {
+            StubResponse invalid = validateCredentials(body);
+            if (invalid != null) {
+                return invalid;
+            }
+            Map<String, Object> registered = new LinkedHashMap<>();
+            registered.put("id", findByEmail((String) body.get("email")).get("id"));
+            registered.put("token", TOKEN);
+            return StubResponse.json(200, registered);
+        });
+    }
+
+    /**
+     * Applies the ReqRes credential rules: email and password are required and
+     * only users from the fixture data may log in or register
+     */
+    private StubResponse validateCredentials(Map<String, Object> body) {
+        if (isBlank(body.get("email")) && isBlank(body.get("username"))) {
+            return error(400, "Missing email or username");
+        }
+        if (isBlank(body.get("password"))) {
+            return error(400, "Missing password");
+        }
+        Object email = body.get("email");
+        if (!(email instanceof String)) {
+            return error(400, email == null ? "user not found" : "Bad Request");
+        }
+        if (findByEmail((String) email) == null) {
+            return error(400, "user not found");
+        }
+        return null;
+    }
+
+    private StubResponse withBody(StubRequest request, Function<Map<String, Object>, StubResponse> action) {
+        byte[] body = request.getBody();
+        if (body.length == 0) {
+            return action.apply(Collections.emptyMap());
+        }
+        try {
+            return action.apply(MAPPER.readValue(body, new TypeReference<Map<String, Object>>() { }));
+        } catch (IOException e) {
+            return request.getBodyAsString().trim().startsWith("<")
+                    ? error(415, "Unsupported Media Type")
+                    : error(400, "Bad Request");
+        }
+    }
+
+    private Map<String, Object> findById(List<Map<String, Object>> items, String id) {
+        for (Map<String, Object> item : items) {
+            if (String.valueOf(item.get("id")).equals(id)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Object> findByEmail(String email) {
+        for (Map<String, Object> user : users) {
+            if (user.get("email").equals(email)) {
+                return user;
+            }
+        }
+        return null;
+    }
+
+    private static int positiveIntParam(StubRequest request, String name, int defaultValue) {
+        try {
+            int value = Integer.parseInt(request.getQueryParams().getOrDefault(name, ""));
+            return value > 0 ? value : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static boolean isBlank(Object value) {
+        return value == null || value.toString().isEmpty();
+    }
+
+    private static StubResponse notFound() {
+        return StubResponse.json(404, Collections.emptyMap());
+    }
+
+    private static StubResponse error(int status, String message) {
+        return StubResponse.json(status, Collections.singletonMap("error", message));
+    }
+
+    private static List<Map<String, Object>> loadFixture(String resource) {
+        try (InputStream in = ReqresStubHandler.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Stub fixture not found: " + resource);
+            }
+            return Collections.unmodifiableList(MAPPER.readValue(in, new TypeReference<List<Map<String, Object>>>() { }));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to load stub fixture: " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.reqres.api.server;
+
+/**
+ * Produces a response for a request received by the {@link StubServer}.
+ * Handlers are invoked on the server's event loop thread and must not block.
+ */
+@FunctionalInterface
+public interface StubHandler {
+
+    StubResponse handle(StubRequest request);
+}
@@ -0,0 +1,34 @@
+package com.reqres.api.server;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * A parsed HTTP request received by the {@link StubServer}
+ */
+@Data
+@AllArgsConstructor
+public class StubRequest {
+    private String method;
+    private String path;
+    private Map<String, String> queryParams;
+    private Map<String, String> headers;
+    private byte[] body;
+
+    /**
+     * Returns a header value using a case-insensitive lookup
+     *
+     * @param name The header name
+     * @return The header value or null when the header is absent
+     */
+    public String getHeader(String name) {
+        return headers.get(name.toLowerCase());
+    }
+
+    public String getBodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
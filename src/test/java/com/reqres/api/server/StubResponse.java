@@ -0,0 +1,145 @@
+package com.reqres.api.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An HTTP response produced by a {@link StubHandler}
+ */
+@Getter
+public class StubResponse {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final int status;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private final byte[] body;
+    private long delayNanos;
+    // Bytes sent per write and the pause between writes of a slow-drip response, 0 to send it at once
+    private int dripBytes;
+    private long dripIntervalNanos;
+    private boolean reset;
+
+    public StubResponse(int status, byte[] body) {
+        this.status = status;
+        this.body = body;
+    }
+
+    /**
+     * Creates a response with a JSON serialized body
+     *
+     * @param status The HTTP status code
+     * @param body The object to serialize as the response body
+     * @return StubResponse with a JSON content type
+     */
+    public static StubResponse json(int status, Object body) {
+        try {
+            return new StubResponse(status, MAPPER.writeValueAsBytes(body))
+                    .header("Content-Type", "application/json; charset=utf-8");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize stub response body", e);
+        }
+    }
+
+    /**
+     * Creates a response without a body
+     *
+     * @param status The HTTP status code
+     * @return StubResponse with an empty body
+     */
+    public static StubResponse empty(int status) {
+        return new StubResponse(status, EMPTY_BODY);
+    }
+
+    public StubResponse header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    /**
+     * Holds the response back for the given time before the server sends it
+     *
+     * @param delay Time between receiving the request and sending the response
+     * @return This response
+     */
+    public StubResponse delay(Duration delay) {
+        this.delayNanos = delay.toNanos();
+        return this;
+    }
+
+    /**
+     * Sends the response a few bytes at a time, like a slow or congested server
+     *
+     * @param bytes Bytes per write
+     * @param interval Pause between writes
+     * @return This response
+     */
+    public StubResponse drip(int bytes, Duration interval) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Drip size must be positive, got " + bytes);
+        }
+        this.dripBytes = bytes;
+        this.dripIntervalNanos = interval.toNanos();
+        return this;
+    }
+
+    /**
+     * Creates a response that resets the connection instead of answering, once any delay has passed
+     *
+     * @return StubResponse that aborts the connection with a TCP reset
+     */
+    public static StubResponse reset() {
+        StubResponse response = empty(500);
+        response.reset = true;
+        return response;
+    }
+
+    /**
+     * Encodes the status line, headers and body as an HTTP/1.1 message
+     *
+     * @param keepAlive Whether the connection stays open after this response
+     * @return The raw response bytes
+     */
+    public byte[] encode(boolean keepAlive) {
+        StringBuilder head = new StringBuilder(128)
+                .append("HTTP/1.1 ").append(status).append(' ').append(reasonPhrase(status)).append("\r\n");
+        headers.forEach((name, value) -> head.append(name).append(": ").append(value).append("\r\n"));
+        if (status != 204) {
+            head.append("Content-Length: ").append(body.length).append("\r\n");
+        }
+        head.append("Connection: ").append(keepAlive ? "keep-alive" : "close").append("\r\n\r\n");
+
+        byte[] headBytes = head.toString().getBytes(StandardCharsets.ISO_8859_1);
+        byte[] message = new byte[headBytes.length + body.length];
+        System.arraycopy(headBytes, 0, message, 0, headBytes.length);
+        System.arraycopy(body, 0, message, headBytes.length, body.length);
+        return message;
+    }
+
+    private static String reasonPhrase(int status) {
+        switch (status) {
+            case 200: return "OK";
+            case 201: return "Created";
+            case 204: return "No Content";
+            case 400: return "Bad Request";
+            case 404: return "Not Found";
+            case 405: return "Method Not Allowed";
+            case 411: return "Length Required";
+            case 413: return "Payload Too Large";
+            case 415: return "Unsupported Media Type";
+            case 429: return "Too Many Requests";
+            case 431: return "Request Header Fields Too Large";
+            case 500: return "Internal Server Error";
+            case 501: return "Not Implemented";
+            case 502: return "Bad Gateway";
+            case 503: return "Service Unavailable";
+            default: return "Unknown";
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.reqres.api.server;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal HTTP/1.1 server running on a single non-blocking NIO event loop.
+ * Supports keep-alive and pipelined requests with Content-Length bodies and
+ * delegates every decoded request to a {@link StubHandler}. Responses with a
+ * {@link StubResponse#delay delay} or a {@link StubResponse#drip drip} are paced
+ * by event-loop timers, so a slow response never blocks other connections.
+ */
+public class StubServer implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(StubServer.class);
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_SIZE = 64 * 1024;
+    private static final int MAX_BODY_SIZE = 8 * 1024 * 1024;
+    private static final byte[] HEADER_TERMINATOR = {'\r', '\n', '\r', '\n'};
+
+    private final StubHandler handler;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread eventLoop;
+    private volatile boolean running;
+    // Connections waiting for a delayed response to become due, only touched by the event loop
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+
+    public StubServer(StubHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Binds the server to the loopback interface and starts the event loop
+     *
+     * @param port The port to listen on, or 0 to pick a free port
+     * @return This server
+     * @throws IOException If the port cannot be bound
+     */
+    public synchronized StubServer start(int port) throws IOException {
+        if (running) {
+            throw new IllegalStateException("Stub server is already running on port " + getPort());
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        eventLoop = new Thread(this::runEventLoop, "stub-server-event-loop");
+        eventLoop.setDaemon(true);
+        eventLoop.start();
+        logger.info("Stub server listening on {}", getBaseUrl());
+        return this;
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + getPort();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        // The socket reports no port once the event loop has closed the channel
+        int port = getPort();
+        running = false;
+        selector.wakeup();
+        try {
+            eventLoop.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Stub server on port {} stopped", port);
+    }
+
+    private void runEventLoop() {
+        while (running) {
+            try {
+                select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handleKey(key);
+                }
+                fireDueTimers();
+            } catch (ClosedSelectorException e) {
+                break;
+            } catch (IOException e) {
+                logger.error("Stub server event loop error: {}", e.getMessage());
+            }
+        }
+        shutdownChannels();
+    }
+
+    /**
+     * Waits for I/O, or only until the next delayed response is due
+     */
+    private void select() throws IOException {
+        Timer next = timers.peek();
+        if (next == null) {
+            selector.select();
+            return;
+        }
+        long waitNanos = next.dueNanos - System.nanoTime();
+        if (waitNanos <= 0) {
+            selector.selectNow();
+        } else {
+            selector.select(TimeUnit.NANOSECONDS.toMillis(waitNanos + 999_999));
+        }
+    }
+
+    private void fireDueTimers() {
+        long now = System.nanoTime();
+        while (!timers.isEmpty() && timers.peek().dueNanos - now <= 0) {
+            SelectionKey key = timers.poll().key;
+            if (!key.isValid()) {
+                continue;
+            }
+            ((Connection) key.attachment()).timerPending = false;
+            try {
+                write(key);
+            } catch (IOException e) {
+                logger.debug("Closing stub server connection: {}", e.getMessage());
+                closeConnection(key);
+            } catch (RuntimeException e) {
+                logger.warn("Closing stub server connection after an unexpected error", e);
+                closeConnection(key);
+            }
+        }
+    }
+
+    private void handleKey(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        try {
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            if (key.isReadable()) {
+                read(key);
+            }
+            if (key.isValid() && key.isWritable()) {
+                write(key);
+            }
+        } catch (IOException e) {
+            logger.debug("Closing stub server connection: {}", e.getMessage());
+            closeConnection(key);
+        } catch (RuntimeException e) {
+            // One bad connection must not take down the event loop serving all the others
+            logger.warn("Closing stub server connection after an unexpected error", e);
+            closeConnection(key);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Connection());
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+
+        readBuffer.clear();
+        int read = channel.read(readBuffer);
+        if (read < 0) {
+            closeConnection(key);
+            return;
+        }
+        readBuffer.flip();
+        connection.append(readBuffer);
+        processInbound(connection);
+        write(key);
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+
+        while (!connection.outbound.isEmpty()) {
+            Outbound head = connection.outbound.peek();
+            if (head.dueNanos != 0 && head.dueNanos - System.nanoTime() > 0) {
+                // Responses leave in request order, so everything behind a delayed one waits too.
+                // The head's due time never moves earlier, so one pending timer per connection is enough.
+                if (!connection.timerPending) {
+                    timers.add(new Timer(head.dueNanos, key));
+                    connection.timerPending = true;
+                }
+                key.interestOps(SelectionKey.OP_READ);
+                return;
+            }
+            if (head.reset) {
+                // A zero linger time makes close() send RST instead of FIN
+                channel.setOption(StandardSocketOptions.SO_LINGER, 0);
+                closeConnection(key);
+                return;
+            }
+            ByteBuffer buffer = head.buffer;
+            if (head.dripBytes > 0) {
+                int limit = buffer.limit();
+                buffer.limit(Math.min(limit, buffer.position() + head.dripBytes));
+                channel.write(buffer);
+                buffer.limit(limit);
+                if (buffer.hasRemaining()) {
+                    head.dueNanos = System.nanoTime() + head.dripIntervalNanos;
+                    continue;
+                }
+            } else {
+                channel.write(buffer);
+            }
+            if (buffer.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            connection.outbound.poll();
+        }
+        if (connection.closeAfterWrite) {
+            closeConnection(key);
+            return;
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    /**
+     * Decodes every complete request in the connection's inbound buffer and queues the responses
+     */
+    private void processInbound(Connection connection) {
+        while (!connection.closeAfterWrite) {
+            int headerEnd = indexOf(connection.inbound, connection.inboundLength, HEADER_TERMINATOR);
+            if (headerEnd < 0) {
+                if (connection.inboundLength > MAX_HEADER_SIZE) {
+                    reject(connection, 431, "Request Header Fields Too Large");
+                }
+                return;
+            }
+
+            String[] lines = new String(connection.inbound, 0, headerEnd, StandardCharsets.ISO_8859_1).split("\r\n");
+            String[] requestLine = lines[0].split(" ");
+            if (requestLine.length != 3) {
+                reject(connection, 400, "Bad Request");
+                return;
+            }
+
+            Map<String, String> headers = new HashMap<>();
+            for (int i = 1; i < lines.length; i++) {
+                int colon = lines[i].indexOf(':');
+                if (colon > 0) {
+                    headers.put(lines[i].substring(0, colon).trim().toLowerCase(), lines[i].substring(colon + 1).trim());
+                }
+            }
+            if (headers.containsKey("transfer-encoding")) {
+                reject(connection, 411, "Length Required");
+                return;
+            }
+
+            long contentLength;
+            try {
+                contentLength = Long.parseLong(headers.getOrDefault("content-length", "0"));
+            } catch (NumberFormatException e) {
+                reject(connection, 400, "Bad Request");
+                return;
+            }
+            if (contentLength < 0) {
+                reject(connection, 400, "Bad Request");
+                return;
+            }
+            if (contentLength > MAX_BODY_SIZE) {
+                reject(connection, 413, "Payload Too Large");
+                return;
+            }
+            int bodyStart = headerEnd + HEADER_TERMINATOR.length;
+            // Both terms are bounded above, so the end of the request fits an int once the check passes
+            long requestEnd = bodyStart + contentLength;
+            if (connection.inboundLength < requestEnd) {
+                return;
+            }
+            byte[] body = Arrays.copyOfRange(connection.inbound, bodyStart, (int) requestEnd);
+            connection.consume((int) requestEnd);
+
+            String target = requestLine[1];
+            int queryStart = target.indexOf('?');
+            String path = queryStart < 0 ? target : target.substring(0, queryStart);
+            Map<String, String> queryParams = queryStart < 0
+                    ? Collections.emptyMap()
+                    : parseQuery(target.substring(queryStart + 1));
+
+            boolean keepAlive = "HTTP/1.1".equals(requestLine[2])
+                    ? !"close".equalsIgnoreCase(headers.get("connection"))
+                    : "keep-alive".equalsIgnoreCase(headers.get("connection"));
+
+            StubResponse response = dispatch(new StubRequest(requestLine[0], path, queryParams, headers, body));
+            connection.outbound.add(new Outbound(response, keepAlive));
+            connection.closeAfterWrite = !keepAlive || response.isReset();
+        }
+    }
+
+    private StubResponse dispatch(StubRequest request) {
+        try {
+            return handler.handle(request);
+        } catch (RuntimeException e) {
+            logger.error("Stub handler failed for {} {}: {}", request.getMethod(), request.getPath(), e.getMessage());
+            return StubResponse.json(500, Collections.singletonMap("error", "Internal Server Error"));
+        }
+    }
+
+    private void reject(Connection connection, int status, String error) {
+        connection.outbound.add(new Outbound(StubResponse.json(status, Collections.singletonMap("error", error)), false));
+        connection.closeAfterWrite = true;
+    }
+
+    /**
+     * Decodes a raw query string such as {@code page=2&per_page=6}
+     *
+     * @param query The query string without the leading {@code ?}
+     * @return Decoded parameters in query order
+     */
+    public static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new LinkedHashMap<>();
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static int indexOf(byte[] buffer, int length, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (buffer[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private void closeConnection(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            logger.debug("Error closing stub server connection: {}", e.getMessage());
+        }
+    }
+
+    private void shutdownChannels() {
+        try {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+            serverChannel.close();
+        } catch (IOException e) {
+            logger.warn("Error shutting down stub server: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Per-connection buffers, only ever touched by the event loop thread
+     */
+    private static final class Connection {
+        private byte[] inbound = new byte[4096];
+        private int inboundLength;
+        private final Deque<Outbound> outbound = new ArrayDeque<>();
+        private boolean closeAfterWrite;
+        // Whether a timer for the delayed head response is queued, so pipelined requests add no more
+        private boolean timerPending;
+
+        private void append(ByteBuffer source) {
+            int required = inboundLength + source.remaining();
+            if (required > inbound.length) {
+                inbound = Arrays.copyOf(inbound, Math.max(required, inbound.length * 2));
+            }
+            int count = source.remaining();
+            source.get(inbound, inboundLength, count);
+            inboundLength += count;
+        }
+
+        private void consume(int count) {
+            System.arraycopy(inbound, count, inbound, 0, inboundLength - count);
+            inboundLength -= count;
+        }
+    }
+
+    private static final class Outbound {
+        private final ByteBuffer buffer;
+        private final int dripBytes;
+        private final long dripIntervalNanos;
+        private final boolean reset;
+        // System.nanoTime() at which the next bytes may be sent, or 0 to send them at once
+        private long dueNanos;
+
+        private Outbound(StubResponse response, boolean keepAlive) {
+            this.buffer = ByteBuffer.wrap(response.encode(keepAlive));
+            this.dripBytes = response.getDripBytes();
+            this.dripIntervalNanos = response.getDripIntervalNanos();
+            this.reset = response.isReset();
+            this.dueNanos = response.getDelayNanos() > 0 ? System.nanoTime() + response.getDelayNanos() : 0;
+        }
+    }
+
+    private static final class Timer implements Comparable<Timer> {
+        private final long dueNanos;
+        private final SelectionKey key;
+
+        private Timer(long dueNanos, SelectionKey key) {
+            this.dueNanos = dueNanos;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(Timer other) {
+            return Long.compare(dueNanos - other.dueNanos, 0);
+        }
+    }
+}
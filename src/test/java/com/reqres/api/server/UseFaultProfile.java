@@ -0,0 +1,25 @@
+package com.reqres.api.server;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a test against the local stand-in server with the latency and faults of a {@link FaultProfile}.
+ * Only the requests of the annotated test are affected. Outside local mode the test is skipped.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface UseFaultProfile {
+
+    /**
+     * Name of a profile in {@link FaultProfiles}
+     */
+    String value();
+
+    /**
+     * Seed of the latency and fault draws; the same seed gives the same sequence on every run
+     */
+    long seed() default 1;
+}
@@ -0,0 +1,232 @@
+package com.reqres.api.sharding;
+
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Assigns the test methods of a suite to N shards. Every shard computes the same plan from the
+ * same classes and duration history, so shards agree on the split without talking to each other.
+ * <ul>
+ *   <li>Methods linked by {@code dependsOnMethods} form one unit and always land in the same shard.</li>
+ *   <li>A data-driven method without dependencies is split by row instead: it runs in every shard,
+ *       and each shard keeps every N-th row.</li>
+ *   <li>Units go to shards by a stable hash of their name ({@link Strategy#HASH}) or, given a
+ *       duration history, longest first to the least loaded shard ({@link Strategy#DURATION}).</li>
+ * </ul>
+ */
+public final class ShardPlan {
+    private static final long UNKNOWN_DURATION_MILLIS = 1000;
+
+    public enum Strategy {
+        HASH, DURATION;
+
+        /**
+         * Parses {@code hash}, {@code duration} or {@code auto}; auto uses durations once there is history
+         */
+        public static Strategy parse(String value, TestDurationHistory history) {
+            if (value == null || value.isEmpty() || "auto".equalsIgnoreCase(value)) {
+                return history.isEmpty() ? HASH : DURATION;
+            }
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final int shardCount;
+    private final Strategy strategy;
+    private final Map<Class<?>, List<String>> testMethods = new LinkedHashMap<>();
+    private final Map<String, Integer> shardByMethod = new HashMap<>();
+    private final Set<String> rowShardedMethods = new HashSet<>();
+    private final long[] predictedMillis;
+
+    private ShardPlan(int shardCount, Strategy strategy) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        this.shardCount = shardCount;
+        this.strategy = strategy;
+        this.predictedMillis = new long[shardCount];
+    }
+
+    /**
+     * Splits the test methods of the given classes into shards
+     *
+     * @param classes Test classes in suite order
+     * @param shardCount Number of shards
+     * @param strategy How whole units are assigned
+     * @param history Durations of earlier runs, used for {@link Strategy#DURATION} and the predicted shard times
+     * @return The plan
+     */
+    public static ShardPlan create(List<Class<?>> classes, int shardCount, Strategy strategy, TestDurationHistory history) {
+        ShardPlan plan = new ShardPlan(shardCount, strategy);
+        long unknownMillis = history.mean(UNKNOWN_DURATION_MILLIS);
+
+        List<Unit> units = new ArrayList<>();
+        for (Class<?> testClass : classes) {
+            List<String> methodNames = plan.testMethods.computeIfAbsent(testClass, key -> new ArrayList<>());
+            for (List<Method> group : dependencyGroups(testClass)) {
+                group.forEach(method -> methodNames.add(method.getName()));
+                long millis = group.stream().mapToLong(method -> history.get(key(testClass, method.getName()), unknownMillis)).sum();
+                if (group.size() == 1 && !group.get(0).getAnnotation(Test.class).dataProvider().isEmpty()) {
+                    String methodKey = key(testClass, group.get(0).getName());
+                    plan.rowShardedMethods.add(methodKey);
+                    for (int shard = 0; shard < shardCount; shard++) {
+                        plan.predictedMillis[shard] += millis / shardCount;
+                    }
+                } else {
+                    units.add(new Unit(testClass, group, millis));
+                }
+            }
+        }
+
+        if (strategy == Strategy.DURATION) {
+            // Longest processing time first: each unit goes to the shard that would finish earliest
+            units.sort(Comparator.comparingLong((Unit unit) -> unit.millis).reversed().thenComparing(unit -> unit.name));
+            for (Unit unit : units) {
+                int lightest = 0;
+                for (int shard = 1; shard < shardCount; shard++) {
+                    if (plan.predictedMillis[shard] < plan.predictedMillis[lightest]) {
+                        lightest = shard;
+                    }
+                }
+                plan.assign(unit, lightest);
+            }
+        } else {
+            for (Unit unit : units) {
+                plan.assign(unit, Math.floorMod(stableHash(unit.name), shardCount));
+            }
+        }
+        return plan;
+    }
+
+    public static String key(Class<?> testClass, String methodName) {
+        return testClass.getName() + "#" + methodName;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Tells whether a shard runs a test method, in full or for some of its rows
+     */
+    public boolean includes(int shard, String methodKey) {
+        return rowShardedMethods.contains(methodKey) || Integer.valueOf(shard).equals(shardByMethod.get(methodKey));
+    }
+
+    /**
+     * Returns the names of the test methods of a class that a shard runs, in full or for some of their rows
+     */
+    public List<String> methodsFor(int shard, Class<?> testClass) {
+        List<String> methods = new ArrayList<>();
+        for (String method : testMethods.getOrDefault(testClass, Collections.emptyList())) {
+            if (includes(shard, key(testClass, method))) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * Tells whether a method's data-provider rows are split between shards
+     */
+    public boolean isRowSharded(String methodKey) {
+        return rowShardedMethods.contains(methodKey);
+    }
+
+    /**
+     * Tells whether a shard runs a row of a row-sharded method. Rows are dealt round-robin,
+     * starting at a shard picked by the method's hash so single-row methods spread out too.
+     */
+    public boolean includesRow(int shard, String methodKey, int rowIndex) {
+        return Math.floorMod(stableHash(methodKey) + rowIndex, shardCount) == shard;
+    }
+
+    /**
+     * Returns the expected run time of a shard according to the duration history
+     */
+    public long getPredictedMillis(int shard) {
+        return predictedMillis[shard];
+    }
+
+    private void assign(Unit unit, int shard) {
+        for (Method method : unit.methods) {
+            shardByMethod.put(key(unit.testClass, method.getName()), shard);
+        }
+        predictedMillis[shard] += unit.millis;
+    }
+
+    /**
+     * Groups the enabled test methods of a class into sets connected by {@code dependsOnMethods}
+     */
+    private static List<List<Method>> dependencyGroups(Class<?> testClass) {
+        Map<String, Method> methods = new TreeMap<>();
+        for (Method method : testClass.getMethods()) {
+            Test test = method.getAnnotation(Test.class);
+            if (test != null && test.enabled()) {
+                methods.put(method.getName(), method);
+            }
+        }
+
+        Map<String, String> parent = new HashMap<>();
+        methods.keySet().forEach(name -> parent.put(name, name));
+        for (Method method : methods.values()) {
+            for (String dependency : method.getAnnotation(Test.class).dependsOnMethods()) {
+                if (parent.containsKey(dependency)) {
+                    parent.put(root(parent, method.getName()), root(parent, dependency));
+                }
+            }
+        }
+
+        Map<String, List<Method>> groups = new TreeMap<>();
+        for (Method method : methods.values()) {
+            groups.computeIfAbsent(root(parent, method.getName()), root -> new ArrayList<>()).add(method);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static String root(Map<String, String> parent, String name) {
+        while (!parent.get(name).equals(name)) {
+            name = parent.get(name);
+        }
+        return name;
+    }
+
+    // String.hashCode is stable too, but CRC32 spreads similar method names more evenly
+    private static int stableHash(String value) {
+        CRC32 crc = new CRC32();
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    private static final class Unit {
+        private final Class<?> testClass;
+        private final List<Method> methods;
+        private final long millis;
+        private final String name;
+
+        private Unit(Class<?> testClass, List<Method> methods, long millis) {
+            this.testClass = testClass;
+            this.methods = methods;
+            this.millis = millis;
+            this.name = key(testClass, methods.get(0).getName());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.reqres.api.sharding;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test methods {@link ShardPlanTests} computes plans for. Not part of the suite, so none of them runs.
+ */
+class ShardPlanFixture {
+    @Test
+    public void a() {
+    }
+
+    @Test(dependsOnMethods = "a")
+    public void b() {
+    }
+
+    @Test(dependsOnMethods = "b")
+    public void c() {
+    }
+
+    @Test
+    public void d() {
+    }
+
+    @Test(dataProvider = "rowData", dependsOnMethods = "d")
+    public void dependentRows(int row) {
+    }
+
+    @Test
+    public void e() {
+    }
+
+    @Test(dataProvider = "rowData")
+    public void rows(int row) {
+    }
+
+    @Test(enabled = false)
+    public void disabled() {
+    }
+
+    @DataProvider
+    public Object[][] rowData() {
+        return new Object[][]{{1}, {2}};
+    }
+}
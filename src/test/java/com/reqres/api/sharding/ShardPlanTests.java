@@ -0,0 +1,121 @@
+package com.reqres.api.sharding;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for the grouping and assignment rules of {@link ShardPlan}
+ */
+public class ShardPlanTests {
+    private static final List<Class<?>> CLASSES = Collections.singletonList(ShardPlanFixture.class);
+    private static final List<String> WHOLE_METHODS = Arrays.asList("a", "b", "c", "d", "dependentRows", "e");
+
+    @Test
+    public void testEveryMethodRunsInExactlyOneShard() {
+        for (int shardCount = 1; shardCount <= 4; shardCount++) {
+            ShardPlan plan = ShardPlan.create(CLASSES, shardCount, ShardPlan.Strategy.HASH, new TestDurationHistory());
+
+            for (String method : WHOLE_METHODS) {
+                int shards = 0;
+                for (int shard = 0; shard < shardCount; shard++) {
+                    shards += plan.includes(shard, key(method)) ? 1 : 0;
+                }
+                Assert.assertEquals(shards, 1, method + " with " + shardCount + " shards");
+            }
+            for (int shard = 0; shard < shardCount; shard++) {
+                Assert.assertFalse(plan.methodsFor(shard, ShardPlanFixture.class).contains("disabled"), "Disabled methods are not planned");
+            }
+        }
+    }
+
+    @Test
+    public void testDependentMethodsShareAShard() {
+        ShardPlan plan = ShardPlan.create(CLASSES, 3, ShardPlan.Strategy.HASH, new TestDurationHistory());
+
+        int shard = shardOf(plan, "a");
+        Assert.assertEquals(shardOf(plan, "b"), shard, "b depends on a");
+        Assert.assertEquals(shardOf(plan, "c"), shard, "c depends on b");
+        Assert.assertEquals(shardOf(plan, "dependentRows"), shardOf(plan, "d"), "dependentRows depends on d");
+    }
+
+    @Test
+    public void testIndependentDataDrivenMethodIsSplitByRow() {
+        ShardPlan plan = ShardPlan.create(CLASSES, 3, ShardPlan.Strategy.HASH, new TestDurationHistory());
+
+        Assert.assertTrue(plan.isRowSharded(key("rows")));
+        Assert.assertFalse(plan.isRowSharded(key("dependentRows")), "A method with dependencies runs whole");
+        for (int row = 0; row < 10; row++) {
+            int shards = 0;
+            for (int shard = 0; shard < 3; shard++) {
+                Assert.assertTrue(plan.includes(shard, key("rows")), "Row-sharded methods run in every shard");
+                shards += plan.includesRow(shard, key("rows"), row) ? 1 : 0;
+            }
+            Assert.assertEquals(shards, 1, "Row " + row + " should run in exactly one shard");
+        }
+    }
+
+    @Test
+    public void testDurationStrategyPlacesLongestUnitsFirst() {
+        TestDurationHistory history = new TestDurationHistory();
+        history.record(key("a"), 100);
+        history.record(key("b"), 100);
+        history.record(key("c"), 100);
+        history.record(key("d"), 200);
+        history.record(key("dependentRows"), 100);
+        history.record(key("e"), 50);
+        history.record(key("rows"), 40);
+
+        ShardPlan plan = ShardPlan.create(CLASSES, 2, ShardPlan.Strategy.DURATION, history);
+
+        // rows adds 20 to each shard; a-b-c (300) and d-dependentRows (300) go to one shard each, e (50) to the first
+        Assert.assertEquals(shardOf(plan, "a"), 0);
+        Assert.assertEquals(shardOf(plan, "d"), 1);
+        Assert.assertEquals(shardOf(plan, "e"), 0);
+        Assert.assertEquals(plan.getPredictedMillis(0), 370);
+        Assert.assertEquals(plan.getPredictedMillis(1), 320);
+    }
+
+    @Test
+    public void testPlanIsDeterministic() {
+        ShardPlan first = ShardPlan.create(CLASSES, 4, ShardPlan.Strategy.HASH, new TestDurationHistory());
+        ShardPlan second = ShardPlan.create(CLASSES, 4, ShardPlan.Strategy.HASH, new TestDurationHistory());
+
+        for (int shard = 0; shard < 4; shard++) {
+            Assert.assertEquals(first.methodsFor(shard, ShardPlanFixture.class), second.methodsFor(shard, ShardPlanFixture.class),
+                    "Shards must agree on the split without coordination");
+        }
+    }
+
+    @Test
+    public void testStrategyParsing() {
+        TestDurationHistory empty = new TestDurationHistory();
+        TestDurationHistory recorded = new TestDurationHistory();
+        recorded.record(key("a"), 10);
+
+        Assert.assertEquals(ShardPlan.Strategy.parse("auto", empty), ShardPlan.Strategy.HASH);
+        Assert.assertEquals(ShardPlan.Strategy.parse(null, recorded), ShardPlan.Strategy.DURATION);
+        Assert.assertEquals(ShardPlan.Strategy.parse("hash", recorded), ShardPlan.Strategy.HASH);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testShardCountMustBePositive() {
+        ShardPlan.create(CLASSES, 0, ShardPlan.Strategy.HASH, new TestDurationHistory());
+    }
+
+    private static int shardOf(ShardPlan plan, String method) {
+        for (int shard = 0; shard < plan.getShardCount(); shard++) {
+            if (plan.includes(shard, key(method))) {
+                return shard;
+            }
+        }
+        throw new AssertionError(method + " is in no shard");
+    }
+
+    private static String key(String method) {
+        return ShardPlan.key(ShardPlanFixture.class, method);
+    }
+}
@@ -0,0 +1,141 @@
+package com.reqres.api.sharding;
+
+import com.reqres.api.listeners.MetricsListener;
+import com.reqres.api.listeners.ShardingListener;
+import com.reqres.api.metrics.ExpositionMerger;
+import com.reqres.api.perf.BaselineStore;
+import com.reqres.api.perf.LatencyHistogram;
+import lombok.Getter;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Merges the output of the shards of one run into a single report under the run directory:
+ * <ul>
+ *   <li>{@code testng-results.xml} with the counts summed and every shard's suite element,</li>
+ *   <li>{@code junitreports/shard-N} with each shard's JUnit XML reports, for CI report globs,</li>
+ *   <li>{@code latency.tsv} with the latency histograms of all shards merged per endpoint,</li>
+ *   <li>{@code metrics.prom} with the HTTP metrics of all shards summed per series.</li>
+ * </ul>
+ */
+@Getter
+public final class ShardReport {
+    private static final String TESTNG_RESULTS = "testng-results.xml";
+    private static final String JUNIT_REPORTS = "junitreports";
+
+    private int total;
+    private int passed;
+    private int failed;
+    private int skipped;
+    private final List<Path> shardsWithoutResults = new ArrayList<>();
+    private final Map<String, LatencyHistogram> latencies = new TreeMap<>();
+
+    private ShardReport() {
+    }
+
+    /**
+     * Reads the output directories of all shards and writes the merged report
+     *
+     * @param shardDirectories Output directory of each shard, in shard order
+     * @param directory Directory the merged report is written to
+     * @return The merged counts and latencies
+     */
+    public static ShardReport merge(List<Path> shardDirectories, Path directory) {
+        ShardReport report = new ShardReport();
+        try {
+            DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            Document merged = builder.newDocument();
+            Element root = merged.createElement("testng-results");
+            merged.appendChild(root);
+            root.appendChild(merged.createElement("reporter-output"));
+
+            for (int shard = 0; shard < shardDirectories.size(); shard++) {
+                Path shardDirectory = shardDirectories.get(shard);
+                Path results = shardDirectory.resolve(TESTNG_RESULTS);
+                if (!Files.exists(results)) {
+                    report.shardsWithoutResults.add(shardDirectory);
+                    continue;
+                }
+                Element shardRoot = builder.parse(results.toFile()).getDocumentElement();
+                report.passed += intAttribute(shardRoot, "passed");
+                report.failed += intAttribute(shardRoot, "failed");
+                report.skipped += intAttribute(shardRoot, "skipped");
+                NodeList suites = shardRoot.getElementsByTagName("suite");
+                for (int i = 0; i < suites.getLength(); i++) {
+                    root.appendChild(merged.importNode(suites.item(i), true));
+                }
+                copyJUnitReports(shardDirectory.resolve(JUNIT_REPORTS), directory.resolve(JUNIT_REPORTS).resolve("shard-" + (shard + 1)));
+                report.mergeLatencies(shardDirectory.resolve(ShardingListener.LATENCY_FILE));
+            }
+
+            // TestNG's own total also counts ignored methods, which every shard reports for the methods it left out
+            report.total = report.passed + report.failed + report.skipped;
+            root.setAttribute("total", Integer.toString(report.total));
+            root.setAttribute("passed", Integer.toString(report.passed));
+            root.setAttribute("failed", Integer.toString(report.failed));
+            root.setAttribute("skipped", Integer.toString(report.skipped));
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.transform(new DOMSource(merged), new StreamResult(directory.resolve(TESTNG_RESULTS).toFile()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to merge shard results into " + directory, e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to merge shard results into " + directory, e);
+        }
+
+        BaselineStore latencyFile = new BaselineStore(directory.resolve(ShardingListener.LATENCY_FILE));
+        report.latencies.forEach((endpoint, histogram) -> latencyFile.append(endpoint, histogram, true));
+        List<Path> metricsFiles = new ArrayList<>();
+        shardDirectories.forEach(shardDirectory -> metricsFiles.add(shardDirectory.resolve(MetricsListener.METRICS_FILE)));
+        ExpositionMerger.merge(metricsFiles, directory.resolve(MetricsListener.METRICS_FILE));
+        return report;
+    }
+
+    public boolean isSuccessful() {
+        return shardsWithoutResults.isEmpty() && failed == 0;
+    }
+
+    private void mergeLatencies(Path file) {
+        BaselineStore store = new BaselineStore(file);
+        for (String endpoint : store.keys()) {
+            latencies.computeIfAbsent(endpoint, key -> new LatencyHistogram()).add(store.loadBaseline(endpoint, Integer.MAX_VALUE));
+        }
+    }
+
+    private static void copyJUnitReports(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return;
+        }
+        Files.createDirectories(target);
+        try (DirectoryStream<Path> reports = Files.newDirectoryStream(source, "*.xml")) {
+            for (Path report : reports) {
+                Files.copy(report, target.resolve(report.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static int intAttribute(Node element, String name) {
+        Node attribute = element.getAttributes().getNamedItem(name);
+        return attribute == null ? 0 : Integer.parseInt(attribute.getNodeValue());
+    }
+}
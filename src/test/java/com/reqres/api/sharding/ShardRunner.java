@@ -0,0 +1,137 @@
+package com.reqres.api.sharding;
+
+import com.reqres.api.listeners.ShardingListener;
+import com.reqres.api.listeners.TestDurationListener;
+import com.reqres.api.utils.PerformanceValidator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Runs a TestNG suite as N shards, each in its own forked JVM, and merges their results.
+ * Shard i runs {@code org.testng.TestNG} with {@code -Dshard.index=i}, so the {@link ShardingListener}
+ * registered in the suite keeps only that shard's methods and rows. Each shard writes its TestNG
+ * output, console log, latency histograms and test durations to {@code <shard.dir>/shard-<i+1>};
+ * the merged report is written to {@code shard.dir} itself, by default {@code target/shards}.
+ * <p>
+ * Usage: {@code ShardRunner [suite.xml]} with {@code -Dshard.count=<n>} (default: available processors).
+ * Properties that configure the tests ({@code api.*}, {@code load.*}, {@code perf.*}, {@code saturation.*},
+ * {@code soak.*}, ...) are passed on to every shard; extra JVM options for the shards go in {@code -Dshard.jvmArgs}.
+ */
+public final class ShardRunner {
+    private static final Logger logger = LogManager.getLogger(ShardRunner.class);
+    public static final String DIRECTORY_PROPERTY = "shard.dir";
+    public static final String JVM_ARGS_PROPERTY = "shard.jvmArgs";
+    private static final String DEFAULT_SUITE = "src/test/resources/testng.xml";
+    private static final List<String> FORWARDED_PREFIXES = Arrays.asList(
+            "api.", "suite.", "load.", "fetch.", "log.capture.", "perf.", "saturation.", "soak.", "metrics.port", "test.history.", ShardingListener.STRATEGY_PROPERTY);
+
+    private ShardRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String suiteFile = args.length > 0 ? args[0] : DEFAULT_SUITE;
+        int shardCount = Integer.getInteger(ShardingListener.COUNT_PROPERTY, Runtime.getRuntime().availableProcessors());
+        Path directory = Paths.get(System.getProperty(DIRECTORY_PROPERTY, "target/shards"));
+        System.exit(run(suiteFile, shardCount, directory).isSuccessful() ? 0 : 1);
+    }
+
+    /**
+     * Starts all shards, waits for them and merges their output
+     *
+     * @param suiteFile The TestNG suite file
+     * @param shardCount Number of shards, each run in its own JVM
+     * @param directory Directory for the shard outputs and the merged report
+     * @return The merged report
+     */
+    public static ShardReport run(String suiteFile, int shardCount, Path directory) throws IOException, InterruptedException {
+        deleteRecursively(directory);
+        long startNanos = System.nanoTime();
+        List<Path> shardDirectories = new ArrayList<>();
+        List<CompletableFuture<Long>> finished = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            Path shardDirectory = directory.resolve("shard-" + (shard + 1));
+            Files.createDirectories(shardDirectory);
+            shardDirectories.add(shardDirectory);
+            Process process = new ProcessBuilder(command(suiteFile, shard, shardCount, shardDirectory))
+                    .redirectErrorStream(true)
+                    .redirectOutput(shardDirectory.resolve("console.log").toFile())
+                    .start();
+            finished.add(process.onExit().thenApply(exited -> System.nanoTime()));
+        }
+        logger.info("Started {} shards of {}, output in {}", shardCount, suiteFile, directory);
+
+        long busyMillis = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            long elapsedMillis = (finished.get(shard).join() - startNanos) / 1_000_000;
+            busyMillis += elapsedMillis;
+            logger.info("Shard {}/{} finished in {} ms", shard + 1, shardCount, elapsedMillis);
+        }
+        long wallMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        ShardReport report = ShardReport.merge(shardDirectories, directory);
+        mergeDurations(shardDirectories);
+        report.getLatencies().forEach((endpoint, histogram) -> PerformanceValidator.logPercentiles(endpoint + " (all shards)", histogram));
+        report.getShardsWithoutResults().forEach(shard -> logger.error("Shard in {} wrote no results, see its console.log", shard));
+        logger.info("Sharded run: {} tests, {} passed, {} failed, {} skipped in {} ms wall clock ({} ms summed over {} shards)",
+                report.getTotal(), report.getPassed(), report.getFailed(), report.getSkipped(), wallMillis, busyMillis, shardCount);
+        return report;
+    }
+
+    private static List<String> command(String suiteFile, int shard, int shardCount, Path shardDirectory) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        String jvmArgs = System.getProperty(JVM_ARGS_PROPERTY, "").trim();
+        if (!jvmArgs.isEmpty()) {
+            command.addAll(Arrays.asList(jvmArgs.split("\\s+")));
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (FORWARDED_PREFIXES.stream().anyMatch(name::startsWith)) {
+                command.add("-D" + name + "=" + System.getProperty(name));
+            }
+        }
+        command.add("-D" + ShardingListener.INDEX_PROPERTY + "=" + shard);
+        command.add("-D" + ShardingListener.COUNT_PROPERTY + "=" + shardCount);
+        command.add("-D" + ShardingListener.OUTPUT_PROPERTY + "=" + shardDirectory);
+        command.add("-Dlog.file=" + shardDirectory.resolve("api-tests.log"));
+        command.add("org.testng.TestNG");
+        command.add("-d");
+        command.add(shardDirectory.toString());
+        command.add(suiteFile);
+        return command;
+    }
+
+    private static void mergeDurations(List<Path> shardDirectories) {
+        Path historyFile = TestDurationHistory.defaultFile();
+        TestDurationHistory history = TestDurationHistory.load(historyFile);
+        for (Path shardDirectory : shardDirectories) {
+            history.putAll(TestDurationHistory.load(shardDirectory.resolve(TestDurationListener.DURATIONS_FILE)));
+        }
+        if (!history.isEmpty()) {
+            history.save(historyFile);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
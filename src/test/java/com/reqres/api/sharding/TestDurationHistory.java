@@ -0,0 +1,145 @@
+package com.reqres.api.sharding;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Duration of each test method in earlier runs, keyed by {@code fully.qualified.Class#method}.
+ * The duration of a data-driven method is the total over all of its rows. New measurements are
+ * blended with the stored value as an exponentially weighted moving average, so one slow run
+ * shifts the estimate without replacing it.
+ * <p>
+ * File format, one method per line, tab separated: {@code key millis}
+ */
+public final class TestDurationHistory {
+    public static final String FILE_PROPERTY = "test.history.file";
+    private static final String DEFAULT_FILE = "target/test-history/durations.tsv";
+    private static final double SMOOTHING = 0.5;
+
+    private final Map<String, Long> durations = new TreeMap<>();
+
+    /**
+     * Returns the history file set by {@code test.history.file}, by default {@code target/test-history/durations.tsv}
+     */
+    public static Path defaultFile() {
+        return Paths.get(System.getProperty(FILE_PROPERTY, DEFAULT_FILE));
+    }
+
+    /**
+     * Reads a history file, returning an empty history when it does not exist yet
+     *
+     * @param file The history file
+     * @return The stored durations
+     */
+    public static TestDurationHistory load(Path file) {
+        TestDurationHistory history = new TestDurationHistory();
+        if (!Files.exists(file)) {
+            return history;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int separator = line.indexOf('\t');
+                if (separator > 0) {
+                    try {
+                        history.durations.put(line.substring(0, separator), Long.parseLong(line.substring(separator + 1)));
+                    } catch (NumberFormatException ignored) {
+                        // Skips lines from a partially written or hand-edited file
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read test duration history " + file, e);
+        }
+        return history;
+    }
+
+    public boolean isEmpty() {
+        return durations.isEmpty();
+    }
+
+    /**
+     * Returns the stored duration of a test method
+     *
+     * @param key The method key, {@code Class#method}
+     * @param defaultMillis Value returned for methods without history
+     * @return Duration in milliseconds
+     */
+    public long get(String key, long defaultMillis) {
+        return durations.getOrDefault(key, defaultMillis);
+    }
+
+    /**
+     * Returns the mean stored duration, used as the estimate for methods that have not run before
+     *
+     * @param defaultMillis Value returned when the history is empty
+     * @return Mean duration in milliseconds
+     */
+    public long mean(long defaultMillis) {
+        return durations.isEmpty() ? defaultMillis
+                : Math.round(durations.values().stream().mapToLong(Long::longValue).average().orElse(defaultMillis));
+    }
+
+    /**
+     * Blends a new measurement into the stored duration of a test method
+     *
+     * @param key The method key, {@code Class#method}
+     * @param millis Duration measured in this run
+     * @return The updated estimate
+     */
+    public long record(String key, long millis) {
+        return durations.merge(key, millis, (previous, current) -> Math.round(SMOOTHING * current + (1 - SMOOTHING) * previous));
+    }
+
+    /**
+     * Overwrites stored durations with those of another history, such as the part written by one shard
+     *
+     * @param other History whose entries win
+     */
+    public void putAll(TestDurationHistory other) {
+        durations.putAll(other.durations);
+    }
+
+    /**
+     * Drops every method except the given ones, so a shard only writes what it measured
+     *
+     * @param keys Method keys to keep
+     */
+    public void retainAll(Collection<String> keys) {
+        durations.keySet().retainAll(keys);
+    }
+
+    public Map<String, Long> asMap() {
+        return Collections.unmodifiableMap(durations);
+    }
+
+    /**
+     * Writes the history to a temporary file and moves it into place, so readers never see a partial file
+     *
+     * @param file The history file
+     */
+    public void save(Path file) {
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, "durations", ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> entry : durations.entrySet()) {
+                    writer.write(entry.getKey() + '\t' + entry.getValue() + '\n');
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write test duration history " + file, e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.reqres.api.tests;
+
+import com.reqres.api.models.LoginRequest;
+import com.reqres.api.models.UserRequest;
+import com.reqres.api.models.responses.LoginResponse;
+import com.reqres.api.models.responses.SingleUserResponse;
+import com.reqres.api.models.responses.UserCreateResponse;
+import com.reqres.api.models.responses.UserListResponse;
+import com.reqres.api.server.FaultInjectingHandler;
+import com.reqres.api.utils.ApiUtils;
+import com.reqres.api.utils.AsyncApiClient;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the non-blocking {@link AsyncApiClient}
+ */
+public class AsyncClientTests extends BaseTest {
+
+    private static final int CAPPED_IN_FLIGHT = 4;
+    private static final int CAPPED_REQUESTS = 24;
+    // fixed-latency holds every response for 100 ms, so the capped requests need at least 6 rounds
+    private static final long CAPPED_MIN_MILLIS = (CAPPED_REQUESTS / CAPPED_IN_FLIGHT) * 100L - 50;
+    private static final int REFUSED_REQUESTS = 500;
+
+    private final AsyncApiClient client = AsyncApiClient.builder().build();
+
+    @BeforeClass
+    public void skipInReplayMode() {
+        if (ApiUtils.isReplayMode()) {
+            throw new SkipException("Async calls bypass the REST Assured filters, so a recording holds none of their exchanges");
+        }
+    }
+
+    @Test
+    public void testGetUser() throws Exception {
+        logger.info("Testing a single user fetched with the async client");
+
+        SingleUserResponse user = client.getUser(2).get(30, TimeUnit.SECONDS);
+
+        Assert.assertEquals(user.getData().getId(), Integer.valueOf(2), "Expected user 2");
+        Assert.assertNotNull(user.getData().getEmail(), "User email should be present");
+    }
+
+    @Test
+    public void testListUsers() throws Exception {
+        logger.info("Testing a user page fetched with the async client");
+
+        UserListResponse users = client.listUsers(2, 3).get(30, TimeUnit.SECONDS);
+
+        Assert.assertEquals(users.getPage(), Integer.valueOf(2), "Expected page 2");
+        Assert.assertEquals(users.getPer_page(), Integer.valueOf(3), "Expected 3 users per page");
+        Assert.assertEquals(users.getData().size(), 3, "Expected 3 users on the page");
+    }
+
+    @Test
+    public void testLoginAndCreateUser() throws Exception {
+        logger.info("Testing a login and a user creation sent together with the async client");
+
+        CompletableFuture<LoginResponse> login = client.login(new LoginRequest("eve.holt@reqres.in", "cityslicka"));
+        CompletableFuture<UserCreateResponse> created = client.createUser(UserRequest.builder().name("morpheus").job("leader").build());
+
+        Assert.assertNotNull(login.get(30, TimeUnit.SECONDS).getToken(), "Token should be present in response");
+        UserCreateResponse user = created.get(30, TimeUnit.SECONDS);
+        Assert.assertEquals(user.getName(), "morpheus", "Unexpected name");
+        Assert.assertEquals(user.getJob(), "leader", "Unexpected job");
+        Assert.assertNotNull(user.getId(), "Created user should have an id");
+    }
+
+    @Test
+    public void testErrorStatusCompletesExceptionally() throws Exception {
+        logger.info("Testing that a failed login completes the future with the status and body");
+
+        CompletableFuture<LoginResponse> login = client.login(new LoginRequest("peter@klaven", ""));
+
+        try {
+            login.get(30, TimeUnit.SECONDS);
+            Assert.fail("Login without a password should fail");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof AsyncApiClient.ApiStatusException, "Unexpected failure: " + e.getCause());
+            AsyncApiClient.ApiStatusException error = (AsyncApiClient.ApiStatusException) e.getCause();
+            Assert.assertEquals(error.getStatusCode(), 400, "Expected 400 Bad Request");
+            Assert.assertTrue(error.getBody().contains("error"), "Error body should be kept: " + error.getBody());
+        }
+    }
+
+    @Test
+    public void testInFlightCapQueuesExcessRequests() throws Exception {
+        if (!ApiUtils.isLocalMode()) {
+            throw new SkipException("The in-flight cap is measured against the local server's injected latency");
+        }
+        logger.info("Testing {} requests sent through a cap of {} in-flight requests", CAPPED_REQUESTS, CAPPED_IN_FLIGHT);
+
+        AsyncApiClient capped = AsyncApiClient.builder()
+                .maxInFlight(CAPPED_IN_FLIGHT)
+                .header(FaultInjectingHandler.PROFILE_HEADER,
+                        FaultInjectingHandler.headerValue("fixed-latency", 1, "AsyncClientTests.testInFlightCapQueuesExcessRequests"))
+                .build();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<SingleUserResponse>> users = new ArrayList<>();
+        for (int i = 0; i < CAPPED_REQUESTS; i++) {
+            users.add(capped.getUser(i % 6 + 1));
+        }
+        Assert.assertEquals(capped.getInFlight(), CAPPED_IN_FLIGHT, "Only the cap should be in flight");
+        Assert.assertEquals(capped.getQueued(), CAPPED_REQUESTS - CAPPED_IN_FLIGHT, "The rest should wait in the queue");
+
+        CompletableFuture.allOf(users.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        for (int i = 0; i < CAPPED_REQUESTS; i++) {
+            Assert.assertEquals(users.get(i).join().getData().getId(), Integer.valueOf(i % 6 + 1), "Unexpected user for request " + i);
+        }
+        Assert.assertEquals(capped.getPeakInFlight(), CAPPED_IN_FLIGHT, "The cap should have been reached but never exceeded");
+        Assert.assertEquals(capped.getInFlight(), 0, "Every permit should be returned");
+        Assert.assertTrue(elapsedMillis >= CAPPED_MIN_MILLIS,
+                "Capped requests finished in " + elapsedMillis + " ms, faster than the cap allows");
+        logger.info("{} capped requests finished in {} ms", CAPPED_REQUESTS, elapsedMillis);
+    }
+
+    @Test
+    public void testFailedRequestsHandOnEveryPermit() throws Exception {
+        logger.info("Testing {} queued requests that fail to connect through a single permit", REFUSED_REQUESTS);
+
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        AsyncApiClient refused = AsyncApiClient.builder()
+                .baseUrl("http://localhost:" + closedPort)
+                .maxInFlight(1)
+                .build();
+
+        List<CompletableFuture<SingleUserResponse>> users = new ArrayList<>();
+        for (int i = 0; i < REFUSED_REQUESTS; i++) {
+            users.add(refused.getUser(2));
+        }
+        CompletableFuture.allOf(users.toArray(new CompletableFuture[0])).exceptionally(failure -> null).get(60, TimeUnit.SECONDS);
+
+        for (CompletableFuture<SingleUserResponse> user : users) {
+            Assert.assertTrue(user.isCompletedExceptionally(), "A request to a closed port should fail");
+        }
+        Assert.assertEquals(refused.getQueued(), 0, "Every queued request should have been sent");
+        Assert.assertEquals(refused.getInFlight(), 0, "Every permit should be returned");
+    }
+}
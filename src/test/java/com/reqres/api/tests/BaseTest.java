@@ -1,13 +1,23 @@
 package com.reqres.api.tests;
 
+import com.reqres.api.perf.AllocationTracker;
+import com.reqres.api.replay.JournalRecordingFilter;
+import com.reqres.api.replay.ReplayServer;
+import com.reqres.api.server.LocalReqresServer;
 import com.reqres.api.utils.ApiUtils;
-import io.restassured.RestAssured;
-import io.restassured.parsing.Parser;
+import com.reqres.api.utils.Bootstrap;
+import com.reqres.api.utils.RequestContext;
+import com.reqres.api.utils.SchemaRegistry;
 import io.restassured.specification.RequestSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+
+import java.lang.reflect.Method;
 
 import static io.restassured.RestAssured.given;
 
@@ -17,26 +27,61 @@ import static io.restassured.RestAssured.given;
 public abstract class BaseTest {
     protected static final Logger logger = LogManager.getLogger(BaseTest.class);
 
+    @BeforeSuite(alwaysRun = true)
+    public void preloadSchemas() {
+        if (Bootstrap.isEnabled()) {
+            // Normally running since StartupListener saw the suite; started here when testng.xml is bypassed
+            logger.info("Waiting for background preloading...");
+            Bootstrap.start();
+            Bootstrap.await();
+            return;
+        }
+        logger.info("Precompiling JSON schemas...");
+        SchemaRegistry.preloadAll();
+    }
+    
     @BeforeClass
     public void setUp() {
         logger.info("Setting up test class with API key authentication...");
-        RestAssured.defaultParser = Parser.JSON;
         ApiUtils.setupRestAssured();
     }
     
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        if (ApiUtils.isLocalMode()) {
+            logger.info("Stopping local ReqRes server");
+            LocalReqresServer.stop();
+        }
+        if (ApiUtils.isReplayMode()) {
+            logger.info("Stopping replay server");
+            ReplayServer.stop();
+        }
+        if (ApiUtils.isRecording()) {
+            JournalRecordingFilter.closeJournal();
+        }
+    }
+    
     @BeforeMethod
-    public void logTestMethod() {
-        logger.info("Starting test method: {}", Thread.currentThread().getStackTrace()[2].getMethodName());
+    public void logTestMethod(Method method) {
+        logger.info("Starting test method: {}", method.getName());
+        RequestContext.begin(method.getName());
+    }
+    
+    @AfterMethod(alwaysRun = true)
+    public void clearRequestContext() {
+        RequestContext.clear();
     }
     
     /**
-     * Helper method to get a request specification with API key authentication
+     * Helper method to get a request specification with API key authentication.
+     * Also opens a new exchange of the {@link AllocationTracker} on the calling thread.
      * 
      * @return RequestSpecification with API key authentication
      */
     protected RequestSpecification givenWithApiKey() {
-        // API key is already set in the default request spec via ApiUtils.setupRestAssured()
-        // This method ensures that all test methods use a consistent approach
-        return given();
+        // Every call starts from a fresh specification merged with the thread's prebuilt base spec,
+        // so no test mutates state shared with tests running on other threads
+        AllocationTracker.begin();
+        return given().spec(RequestContext.current().getRequestSpec());
     }
 }
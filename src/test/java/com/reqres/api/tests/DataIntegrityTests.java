@@ -1,8 +1,14 @@
 package com.reqres.api.tests;
 
+import com.reqres.api.models.Resource;
 import com.reqres.api.models.User;
 import com.reqres.api.models.UserRequest;
+import com.reqres.api.perf.FetchBatch;
+import com.reqres.api.perf.Fetched;
+import com.reqres.api.perf.ParallelFetcher;
 import com.reqres.api.utils.DataValidator;
+import com.reqres.api.utils.PerformanceValidator;
+import com.reqres.api.utils.ResponseHandler;
 import io.restassured.response.Response;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -31,35 +37,38 @@ public class DataIntegrityTests extends BaseTest {
                 .extract()
                 .response();
         
-        List<Map<String, Object>> users = listResponse.jsonPath().getList("data");
-        Assert.assertFalse(users.isEmpty(), "User list should not be empty");
+        // Validate data consistency across all users while streaming the body
+        int validated = DataValidator.validateConsistentUserFields(listResponse);
+        Assert.assertTrue(validated > 0, "User list should not be empty");
         
-        // Validate data consistency across all users
-        DataValidator.validateConsistentUserFields(users);
+        // Bound to the models, so the body is never built into a tree of maps
+        List<User> users = ResponseHandler.getUserList(listResponse).getData();
+        Assert.assertEquals(users.size(), validated, "Every streamed user should be bound");
+        
+        // Fetch every user of the list with bounded concurrency, then check the batch
+        FetchBatch<User> batch = ParallelFetcher.fetchAll(users, user -> givenWithApiKey()
+                .pathParam("id", user.getId())
+                .when()
+                .get("/users/{id}"))
+                .assertAllSucceeded();
+        PerformanceValidator.logPercentiles("GET /users/{id} fan-out", batch.getLatency());
         
         // Check individual user data integrity
-        for (Map<String, Object> userMap : users) {
-            int userId = ((Integer) userMap.get("id")).intValue();
+        for (Fetched<User> fetched : batch.getResults()) {
+            User user = fetched.getKey();
+            Response singleResponse = fetched.getResponse();
+            Assert.assertEquals(singleResponse.getStatusCode(), 200, "Single user request should succeed for id " + user.getId());
             
-            Response singleResponse = givenWithApiKey()
-                    .pathParam("id", userId)
-                    .when()
-                    .get("/users/{id}")
-                    .then()
-                    .statusCode(200)
-                    .extract()
-                    .response();
-            
-            Map<String, Object> singleUser = singleResponse.jsonPath().getMap("data");
+            User singleUser = ResponseHandler.getSingleUser(singleResponse).getData();
             
             // Verify data consistency between list and single user endpoint
-            Assert.assertEquals(singleUser.get("id"), userMap.get("id"), 
+            Assert.assertEquals(singleUser.getId(), user.getId(), 
                     "User ID should match between list and single user endpoint");
-            Assert.assertEquals(singleUser.get("email"), userMap.get("email"), 
+            Assert.assertEquals(singleUser.getEmail(), user.getEmail(), 
                     "User email should match between list and single user endpoint");
-            Assert.assertEquals(singleUser.get("first_name"), userMap.get("first_name"), 
+            Assert.assertEquals(singleUser.getFirst_name(), user.getFirst_name(), 
                     "User first name should match between list and single user endpoint");
-            Assert.assertEquals(singleUser.get("last_name"), userMap.get("last_name"), 
+            Assert.assertEquals(singleUser.getLast_name(), user.getLast_name(), 
                     "User last name should match between list and single user endpoint");
         }
     }
@@ -69,7 +78,7 @@ public class DataIntegrityTests extends BaseTest {
         logger.info("Testing resource data integrity across API endpoints");
         
         // Get a list of resources
-        Response listResponse = given()
+        Response listResponse = givenWithApiKey()
                 .when()
                 .get("/unknown")
                 .then()
@@ -77,37 +86,40 @@ public class DataIntegrityTests extends BaseTest {
                 .extract()
                 .response();
         
-        List<Map<String, Object>> resources = listResponse.jsonPath().getList("data");
-        Assert.assertFalse(resources.isEmpty(), "Resource list should not be empty");
+        // Validate data consistency across all resources while streaming the body
+        int validated = DataValidator.validateConsistentResourceFields(listResponse);
+        Assert.assertTrue(validated > 0, "Resource list should not be empty");
         
-        // Validate data consistency across all resources
-        DataValidator.validateConsistentResourceFields(resources);
+        // Bound to the models, so the body is never built into a tree of maps
+        List<Resource> resources = ResponseHandler.getResourceList(listResponse).getData();
+        Assert.assertEquals(resources.size(), validated, "Every streamed resource should be bound");
+        
+        // Fetch every resource of the list with bounded concurrency, then check the batch
+        FetchBatch<Resource> batch = ParallelFetcher.fetchAll(resources, resource -> givenWithApiKey()
+                .pathParam("id", resource.getId())
+                .when()
+                .get("/unknown/{id}"))
+                .assertAllSucceeded();
+        PerformanceValidator.logPercentiles("GET /unknown/{id} fan-out", batch.getLatency());
         
         // Check individual resource data integrity
-        for (Map<String, Object> resourceMap : resources) {
-            int resourceId = ((Integer) resourceMap.get("id")).intValue();
+        for (Fetched<Resource> fetched : batch.getResults()) {
+            Resource resource = fetched.getKey();
+            Response singleResponse = fetched.getResponse();
+            Assert.assertEquals(singleResponse.getStatusCode(), 200, "Single resource request should succeed for id " + resource.getId());
             
-            Response singleResponse = given()
-                    .pathParam("id", resourceId)
-                    .when()
-                    .get("/unknown/{id}")
-                    .then()
-                    .statusCode(200)
-                    .extract()
-                    .response();
-            
-            Map<String, Object> singleResource = singleResponse.jsonPath().getMap("data");
+            Resource singleResource = ResponseHandler.getSingleResource(singleResponse).getData();
             
             // Verify data consistency between list and single resource endpoint
-            Assert.assertEquals(singleResource.get("id"), resourceMap.get("id"), 
+            Assert.assertEquals(singleResource.getId(), resource.getId(), 
                     "Resource ID should match between list and single resource endpoint");
-            Assert.assertEquals(singleResource.get("name"), resourceMap.get("name"), 
+            Assert.assertEquals(singleResource.getName(), resource.getName(), 
                     "Resource name should match between list and single resource endpoint");
-            Assert.assertEquals(singleResource.get("year"), resourceMap.get("year"), 
+            Assert.assertEquals(singleResource.getYear(), resource.getYear(), 
                     "Resource year should match between list and single resource endpoint");
-            Assert.assertEquals(singleResource.get("color"), resourceMap.get("color"), 
+            Assert.assertEquals(singleResource.getColor(), resource.getColor(), 
                     "Resource color should match between list and single resource endpoint");
-            Assert.assertEquals(singleResource.get("pantone_value"), resourceMap.get("pantone_value"), 
+            Assert.assertEquals(singleResource.getPantone_value(), resource.getPantone_value(), 
                     "Resource pantone value should match between list and single resource endpoint");
         }
     }
@@ -119,7 +131,7 @@ public class DataIntegrityTests extends BaseTest {
         // Create a new user
         UserRequest newUser = new UserRequest("John Test", "QA Engineer");
         
-        Response createResponse = given()
+        Response createResponse = givenWithApiKey()
                 .body(newUser)
                 .when()
                 .post("/users")
@@ -138,7 +150,7 @@ public class DataIntegrityTests extends BaseTest {
         // Update the user
         UserRequest updatedUser = new UserRequest("John Updated", "Senior QA");
         
-        Response updateResponse = given()
+        Response updateResponse = givenWithApiKey()
                 .body(updatedUser)
                 .when()
                 .put("/users/" + userId)
@@ -162,7 +174,7 @@ public class DataIntegrityTests extends BaseTest {
         // In a real API, we would verify that changes are retained
         
         // First, let's get an existing user
-        Response getResponse = given()
+        Response getResponse = givenWithApiKey()
                 .pathParam("id", 1)
                 .when()
                 .get("/users/{id}")
@@ -178,7 +190,7 @@ public class DataIntegrityTests extends BaseTest {
         updateRequest.put("name", originalUser.getFirst_name() + " " + originalUser.getLast_name() + " Updated");
         updateRequest.put("job", "Updated Position");
         
-        given()
+        givenWithApiKey()
                 .pathParam("id", 1)
                 .body(updateRequest)
                 .when()
@@ -188,7 +200,7 @@ public class DataIntegrityTests extends BaseTest {
         
         // Now get the user again - in a real API, we'd expect to see our changes
         // ReqRes will still return the original user as it doesn't persist changes
-        Response getAfterUpdateResponse = given()
+        Response getAfterUpdateResponse = givenWithApiKey()
                 .pathParam("id", 1)
                 .when()
                 .get("/users/{id}")
@@ -211,7 +223,7 @@ public class DataIntegrityTests extends BaseTest {
     public void testDataTypes() {
         logger.info("Testing data types in API responses");
         
-        Response response = given()
+        Response response = givenWithApiKey()
                 .when()
                 .get("/users")
                 .then()
@@ -219,20 +231,8 @@ public class DataIntegrityTests extends BaseTest {
                 .extract()
                 .response();
         
-        // Verify data types for pagination info
-        Assert.assertTrue(response.jsonPath().get("page") instanceof Integer, "Page should be an integer");
-        Assert.assertTrue(response.jsonPath().get("per_page") instanceof Integer, "Per page should be an integer");
-        Assert.assertTrue(response.jsonPath().get("total") instanceof Integer, "Total should be an integer");
-        Assert.assertTrue(response.jsonPath().get("total_pages") instanceof Integer, "Total pages should be an integer");
-        
-        // Verify data types for user objects
-        List<Map<String, Object>> users = response.jsonPath().getList("data");
-        for (Map<String, Object> user : users) {
-            Assert.assertTrue(user.get("id") instanceof Integer, "User ID should be an integer");
-            Assert.assertTrue(user.get("email") instanceof String, "User email should be a string");
-            Assert.assertTrue(user.get("first_name") instanceof String, "User first name should be a string");
-            Assert.assertTrue(user.get("last_name") instanceof String, "User last name should be a string");
-            Assert.assertTrue(user.get("avatar") instanceof String, "User avatar should be a string");
-        }
+        // Verify the JSON types of the pagination info and of every user while streaming the body
+        int validated = DataValidator.validateUserListTypes(response);
+        Assert.assertTrue(validated > 0, "User list should not be empty");
     }
 }
@@ -1,17 +1,39 @@
 package com.reqres.api.tests;
 
 import com.reqres.api.models.responses.ErrorResponse;
+import com.reqres.api.perf.ArrivalSchedule;
+import com.reqres.api.perf.FetchBatch;
+import com.reqres.api.perf.Fetched;
+import com.reqres.api.perf.LoadGenerator;
+import com.reqres.api.perf.LoadResult;
+import com.reqres.api.perf.ParallelFetcher;
+import com.reqres.api.server.UseFaultProfile;
+import com.reqres.api.utils.ApiUtils;
 import com.reqres.api.utils.PerformanceValidator;
 import com.reqres.api.utils.ResponseHandler;
 import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static io.restassured.RestAssured.given;
 
@@ -20,6 +42,8 @@ import static io.restassured.RestAssured.given;
  */
 public class ErrorHandlingTests extends BaseTest {
     
+    private static final int SLOW_DRIP_READ_TIMEOUT_MS = 20;
+    
     @DataProvider(name = "notFoundEndpoints")
     public Object[][] notFoundEndpoints() {
         return new Object[][] {
@@ -64,7 +88,7 @@ public class ErrorHandlingTests extends BaseTest {
         request.put("email", "sydney@fife");
         // Missing password
         
-        Response response = given()
+        Response response = givenWithApiKey()
                 .body(request)
                 .when()
                 .post("/login")
@@ -87,7 +111,7 @@ public class ErrorHandlingTests extends BaseTest {
         request.put("email", "sydney@fife");
         // Missing password
         
-        Response response = given()
+        Response response = givenWithApiKey()
                 .body(request)
                 .when()
                 .post("/register")
@@ -106,7 +130,7 @@ public class ErrorHandlingTests extends BaseTest {
     public void testUnsupportedHttpMethod() {
         logger.info("Testing unsupported HTTP method");
         
-        Response response = given()
+        Response response = givenWithApiKey()
                 .when()
                 .options("/users")
                 .then()
@@ -127,7 +151,7 @@ public class ErrorHandlingTests extends BaseTest {
         
         String invalidJson = "{ this is not valid json }";
         
-        Response response = given()
+        Response response = givenWithApiKey()
                 .header("Content-Type", "application/json")
                 .body(invalidJson)
                 .when()
@@ -149,52 +173,28 @@ public class ErrorHandlingTests extends BaseTest {
     public void testConcurrentRequests() {
         logger.info("Testing multiple concurrent requests for error handling");
         
-        // Simulate multiple concurrent requests and check for consistent error handling
-        Runnable request = () -> {
-            try {
-                // Create a new request specification in each thread
-                // to avoid sharing the same specification across threads
-                Response response = given()
-                        .baseUri("https://reqres.in/api")
-                        .contentType("application/json")
+        // Fire requests for a non-existent user at a fixed rate from the shared load workers
+        // and check that every one of them is handled consistently
+        LoadResult result = LoadGenerator.builder()
+                .schedule(ArrivalSchedule.fixedRate(10))
+                .duration(Duration.ofSeconds(1))
+                .request(() -> givenWithApiKey()
                         .pathParam("id", 999) // Non-existent ID
                         .when()
-                        .get("/users/{id}")
-                        .then()
-                        .extract()
-                        .response();
-                
-                int statusCode = response.getStatusCode();
-                logger.info("Thread {} received status code {}", Thread.currentThread().getId(), statusCode);
-                Assert.assertEquals(statusCode, 404, "Should consistently return 404 for non-existent resource");
-            } catch (Exception e) {
-                logger.error("Error in concurrent request: {}", e.getMessage());
-                // Just log the error but don't fail the test
-            }
-        };
+                        .get("/users/{id}"))
+                .build()
+                .run();
         
-        // Create and start multiple threads
-        Thread[] threads = new Thread[5];
-        for (int i = 0; i < threads.length; i++) {
-            threads[i] = new Thread(request);
-            threads[i].start();
-        }
-        
-        // Wait for all threads to complete
-        for (Thread thread : threads) {
-            try {
-                thread.join();
-            } catch (InterruptedException e) {
-                logger.error("Thread interrupted: {}", e.getMessage());
-            }
-        }
+        Assert.assertEquals(result.getFailureCount(), 0, "No concurrent request should fail");
+        Assert.assertEquals(result.getStatusCount(404), result.getDispatchedCount(),
+                "Should consistently return 404 for non-existent resource but got " + result.getStatusCounts());
     }
     
     @Test
     public void testMethodNotAllowedError() {
         logger.info("Testing 405 Method Not Allowed error");
         
-        Response response = given()
+        Response response = givenWithApiKey()
                 .when()
                 .delete("/users")
                 .then()
@@ -212,7 +212,7 @@ public class ErrorHandlingTests extends BaseTest {
     public void testUnsupportedMediaTypeError() {
         logger.info("Testing 415 Unsupported Media Type error");
         
-        Response response = given()
+        Response response = givenWithApiKey()
                 .body("<user><n>morpheus</n><job>leader</job></user>")
                 .when()
                 .post("/users")
@@ -226,4 +226,189 @@ public class ErrorHandlingTests extends BaseTest {
         String error = response.jsonPath().getString("error");
         Assert.assertEquals(error, "Unsupported Media Type", "Error message should indicate unsupported media type");
     }
+    
+    @Test
+    @UseFaultProfile("server-errors")
+    public void testServiceUnavailable() {
+        logger.info("Testing 503 Service Unavailable from an overloaded server");
+        
+        Response response = givenWithApiKey()
+                .when()
+                .get("/users/2")
+                .then()
+                .statusCode(503)
+                .extract()
+                .response();
+        
+        String error = response.jsonPath().getString("error");
+        Assert.assertEquals(error, "Service Unavailable", "Error message should indicate service unavailable");
+    }
+    
+    @Test
+    @UseFaultProfile("rate-limited")
+    public void testRateLimited() {
+        logger.info("Testing 429 Too Many Requests with a Retry-After header");
+        
+        Response response = givenWithApiKey()
+                .when()
+                .get("/users")
+                .then()
+                .statusCode(429)
+                .extract()
+                .response();
+        
+        Assert.assertEquals(response.getHeader("Retry-After"), "1", "Rate limited response should say when to retry");
+    }
+    
+    @Test
+    @UseFaultProfile("connection-reset")
+    public void testConnectionReset() {
+        logger.info("Testing a connection reset by the server");
+        
+        // The HTTP client retries idempotent requests, but every attempt is reset
+        Assert.expectThrows(IOException.class, () -> givenWithApiKey()
+                .when()
+                .get("/users/2"));
+    }
+    
+    @Test
+    @UseFaultProfile("server-errors")
+    public void testFaultProfileReachesFetchWorkers() {
+        logger.info("Testing that requests sent on fetch workers carry the test's fault profile");
+        
+        List<Integer> ids = Arrays.asList(1, 2, 3, 4);
+        FetchBatch<Integer> batch = ParallelFetcher.fetchAll(ids, 2, id -> givenWithApiKey()
+                .pathParam("id", id)
+                .when()
+                .get("/users/{id}"));
+        
+        for (Fetched<Integer> fetched : batch.getResults()) {
+            Assert.assertEquals(fetched.getResponse().getStatusCode(), 503,
+                    "Fetch of user " + fetched.getKey() + " should have been sent with the fault profile");
+        }
+    }
+    
+    @Test
+    @UseFaultProfile("server-errors")
+    public void testFaultProfileReachesLoadWorkers() {
+        logger.info("Testing that requests sent on the shared load workers carry the test's fault profile");
+        
+        LoadResult result = LoadGenerator.builder()
+                .schedule(ArrivalSchedule.fixedRate(10))
+                .duration(Duration.ofMillis(500))
+                .request(() -> givenWithApiKey()
+                        .when()
+                        .get("/users/2"))
+                .build()
+                .run();
+        
+        Assert.assertTrue(result.getDispatchedCount() > 0, "The load run should have sent requests");
+        Assert.assertEquals(result.getStatusCount(503), result.getDispatchedCount(),
+                "Every load request should have been sent with the fault profile but got " + result.getStatusCounts());
+    }
+    
+    @Test
+    @UseFaultProfile("connection-reset")
+    public void testFetchFailuresAreRecorded() {
+        logger.info("Testing that fetches failing with I/O errors are kept as failures and timed");
+        
+        List<Integer> ids = Arrays.asList(1, 2, 3);
+        FetchBatch<Integer> batch = ParallelFetcher.fetchAll(ids, 2, id -> givenWithApiKey()
+                .pathParam("id", id)
+                .when()
+                .get("/users/{id}"));
+        
+        Assert.assertEquals(batch.getFailures().size(), ids.size(), "Every fetch should have been reset");
+        for (Fetched<Integer> fetched : batch.getFailures()) {
+            Assert.assertTrue(fetched.getError() instanceof IOException, "Unexpected failure: " + fetched.getError());
+        }
+        Assert.assertEquals(batch.getLatency().getTotalCount(), ids.size(), "Failed fetches should count in the latency");
+    }
+    
+    @Test
+    @UseFaultProfile("slow-drip")
+    public void testSlowResponseTimesOut() {
+        logger.info("Testing the read timeout against a server that sends its response slowly");
+        
+        // The server pauses 50 ms between writes, longer than the read timeout allows
+        RestAssuredConfig config = RestAssured.config().httpClient(HttpClientConfig.httpClientConfig()
+                .setParam("http.socket.timeout", SLOW_DRIP_READ_TIMEOUT_MS));
+        Assert.expectThrows(SocketTimeoutException.class, () -> givenWithApiKey()
+                .config(config)
+                .when()
+                .get("/users/2"));
+    }
+    
+    @Test
+    @UseFaultProfile("slow-drip")
+    public void testSlowResponseCompletes() {
+        logger.info("Testing that a slowly sent response is read completely");
+        
+        long start = System.nanoTime();
+        Response response = givenWithApiKey()
+                .when()
+                .get("/users/2")
+                .then()
+                .statusCode(200)
+                .extract()
+                .response();
+        // The body is read lazily, so the clock stops once it has been parsed
+        int id = response.jsonPath().getInt("data.id");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        Assert.assertEquals(id, 2, "Slowly sent body should be complete");
+        // The response is sent 32 bytes at a time, so reading it takes several pauses of 50 ms
+        Assert.assertTrue(elapsedMs >= 200, "Slow-drip response should take at least 200 ms but took " + elapsedMs + " ms");
+    }
+    
+    @Test
+    public void testNonStringRegistrationEmail() {
+        logger.info("Testing registration with an email that is not a string");
+        
+        Map<String, Object> request = new HashMap<>();
+        request.put("email", 42);
+        request.put("password", "pistol");
+        
+        givenWithApiKey()
+                .body(request)
+                .when()
+                .post("/register")
+                .then()
+                .statusCode(400);
+    }
+    
+    @Test(dataProvider = "malformedContentLengths")
+    public void testMalformedContentLengthIsRejected(String contentLength, int expectedStatus) throws IOException {
+        if (!ApiUtils.isLocalMode()) {
+            throw new SkipException("Malformed requests are only sent to the local stand-in server");
+        }
+        logger.info("Testing a request with Content-Length: {}", contentLength);
+        
+        URI base = URI.create(ApiUtils.getBaseUrl());
+        try (Socket socket = new Socket(base.getHost(), base.getPort())) {
+            socket.setSoTimeout(5000);
+            socket.getOutputStream().write(("POST /api/users HTTP/1.1\r\nHost: localhost\r\nContent-Length: " + contentLength
+                    + "\r\n\r\n{\"name\":\"morpheus\"}").getBytes(StandardCharsets.US_ASCII));
+            String statusLine = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+            Assert.assertTrue(statusLine != null && statusLine.startsWith("HTTP/1.1 " + expectedStatus + " "),
+                    "Unexpected status line for Content-Length: " + contentLength + ": " + statusLine);
+        }
+        
+        // The server must keep serving other connections after rejecting the request
+        givenWithApiKey()
+                .when()
+                .get("/users/2")
+                .then()
+                .statusCode(200);
+    }
+    
+    @DataProvider(name = "malformedContentLengths")
+    public Object[][] malformedContentLengths() {
+        return new Object[][] {
+            {"-5", 400},
+            {"abc", 400},
+            {"99999999999999999999", 400},
+            {"2147483647", 413}
+        };
+    }
 }
@@ -5,15 +5,21 @@ import com.reqres.api.models.User;
 import com.reqres.api.models.responses.ResourceListResponse;
 import com.reqres.api.models.responses.UserListResponse;
 import com.reqres.api.utils.DataValidator;
+import com.reqres.api.utils.PageIterator;
 import com.reqres.api.utils.PerformanceValidator;
+import com.reqres.api.utils.RequestContext;
 import com.reqres.api.utils.ResponseHandler;
 import io.restassured.response.Response;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import static io.restassured.RestAssured.given;
 
@@ -22,6 +28,9 @@ import static io.restassured.RestAssured.given;
  */
 public class PaginationTests extends BaseTest {
     
+    private static final int CRAWL_PER_PAGE = 2;
+    private static final int PREFETCH_PAGES = 3;
+    
     @DataProvider(name = "paginationData")
     public Object[][] paginationData() {
         return new Object[][] {
@@ -51,6 +60,7 @@ public class PaginationTests extends BaseTest {
         PerformanceValidator.validateResponseTime(response);
         
         // Use ResponseHandler based on endpoint type
+        int totalPages;
         if (endpoint.equals("/users")) {
             UserListResponse userListResponse = ResponseHandler.getUserList(response);
             
@@ -59,6 +69,7 @@ public class PaginationTests extends BaseTest {
             Assert.assertEquals(userListResponse.getPer_page().intValue(), perPage, "Per page should match requested perPage");
             Assert.assertTrue(userListResponse.getTotal() > 0, "Total should be positive");
             Assert.assertTrue(userListResponse.getTotal_pages() > 0, "Total pages should be positive");
+            totalPages = userListResponse.getTotal_pages();
             
             List<User> users = userListResponse.getData();
             Assert.assertNotNull(users, "User list should not be null");
@@ -67,7 +78,7 @@ public class PaginationTests extends BaseTest {
             int expectedSize = Math.min(perPage, users.size());
             Assert.assertTrue(users.size() <= expectedSize, "Users list size should not exceed perPage");
             
-        } else if (endpoint.equals("/unknown")) {
+        } else {
             ResourceListResponse resourceListResponse = ResponseHandler.getResourceList(response);
             
             // Validate pagination data
@@ -75,6 +86,7 @@ public class PaginationTests extends BaseTest {
             Assert.assertEquals(resourceListResponse.getPer_page().intValue(), perPage, "Per page should match requested perPage");
             Assert.assertTrue(resourceListResponse.getTotal() > 0, "Total should be positive");
             Assert.assertTrue(resourceListResponse.getTotal_pages() > 0, "Total pages should be positive");
+            totalPages = resourceListResponse.getTotal_pages();
             
             List<Resource> resources = resourceListResponse.getData();
             Assert.assertNotNull(resources, "Resource list should not be null");
@@ -106,16 +118,6 @@ public class PaginationTests extends BaseTest {
             }
         }
         
-        // Get total pages from response
-        int totalPages;
-        if (endpoint.equals("/users")) {
-            UserListResponse userListResponse = ResponseHandler.getUserList(response);
-            totalPages = userListResponse.getTotal_pages();
-        } else {
-            ResourceListResponse resourceListResponse = ResponseHandler.getResourceList(response);
-            totalPages = resourceListResponse.getTotal_pages();
-        }
-        
         // If we're not on the last page, check that there is a next page with data
         if (page < totalPages) {
             Response nextPageResponse = givenWithApiKey()
@@ -247,4 +249,85 @@ public class PaginationTests extends BaseTest {
         List<User> users = userListResponse4.getData();
         Assert.assertTrue(users.size() <= 1000, "Data size should be less than or equal to 1000 for very large per_page");
     }
+    
+    @Test
+    public void testCrawlAllUserPages() {
+        logger.info("Crawling all user pages with per_page {} and prefetch {}", CRAWL_PER_PAGE, PREFETCH_PAGES);
+        
+        // Following pages are fetched in the background while the current one is validated
+        try (PageIterator<UserListResponse> pages = PageIterator.of(UserListResponse.class,
+                UserListResponse::getTotal_pages, PREFETCH_PAGES,
+                page -> givenWithApiKey()
+                        .queryParam("page", page)
+                        .queryParam("per_page", CRAWL_PER_PAGE)
+                        .when()
+                        .get("/users"))) {
+            Set<Integer> userIds = new HashSet<>();
+            int expectedPage = 1;
+            int total = 0;
+            while (pages.hasNext()) {
+                UserListResponse page = pages.next();
+                Assert.assertEquals(page.getPage().intValue(), expectedPage, "Pages should arrive in order");
+                Assert.assertFalse(page.getData().isEmpty(), "Every page up to total_pages should have data");
+                Assert.assertTrue(page.getData().size() <= CRAWL_PER_PAGE, "Users list size should not exceed perPage");
+                for (User user : page.getData()) {
+                    Assert.assertTrue(userIds.add(user.getId()), "User " + user.getId() + " should appear on one page only");
+                }
+                total = page.getTotal();
+                expectedPage++;
+            }
+            
+            Assert.assertEquals(expectedPage - 1, pages.getTotalPages(), "Every page should be visited");
+            Assert.assertEquals(userIds.size(), total, "Crawling all pages should return every user exactly once");
+        }
+    }
+    
+    @Test
+    public void testPrefetchUsesCallerContext() {
+        logger.info("Testing that prefetched pages are requested with the calling test's context");
+        
+        Map<Integer, String> testNames = new ConcurrentHashMap<>();
+        try (PageIterator<UserListResponse> pages = PageIterator.of(UserListResponse.class,
+                UserListResponse::getTotal_pages, PREFETCH_PAGES,
+                page -> {
+                    testNames.put(page, RequestContext.current().getTestName());
+                    return givenWithApiKey()
+                            .queryParam("page", page)
+                            .queryParam("per_page", CRAWL_PER_PAGE)
+                            .when()
+                            .get("/users");
+                })) {
+            pages.forEachRemaining(page -> { });
+            
+            Assert.assertEquals(testNames.size(), pages.getTotalPages(), "Every page should have been requested");
+            for (Map.Entry<Integer, String> entry : testNames.entrySet()) {
+                Assert.assertEquals(entry.getValue(), "testPrefetchUsesCallerContext",
+                        "Page " + entry.getKey() + " was requested outside the test's context");
+            }
+        }
+    }
+    
+    @Test
+    public void testCrawlAllResourcePages() {
+        logger.info("Crawling all resource pages with per_page {} and prefetch {}", CRAWL_PER_PAGE, PREFETCH_PAGES);
+        
+        try (PageIterator<ResourceListResponse> pages = PageIterator.of(ResourceListResponse.class,
+                ResourceListResponse::getTotal_pages, PREFETCH_PAGES,
+                page -> givenWithApiKey()
+                        .queryParam("page", page)
+                        .queryParam("per_page", CRAWL_PER_PAGE)
+                        .when()
+                        .get("/unknown"))) {
+            int totalPages = pages.getTotalPages();
+            List<Integer> resourceIds = pages.items(ResourceListResponse::getData)
+                    .map(Resource::getId)
+                    .collect(Collectors.toList());
+            
+            Assert.assertEquals(new HashSet<>(resourceIds).size(), resourceIds.size(),
+                    "Every resource should appear on one page only");
+            Assert.assertTrue(resourceIds.size() > (totalPages - 1) * CRAWL_PER_PAGE
+                            && resourceIds.size() <= totalPages * CRAWL_PER_PAGE,
+                    resourceIds.size() + " resources do not fill " + totalPages + " pages of " + CRAWL_PER_PAGE);
+        }
+    }
 }
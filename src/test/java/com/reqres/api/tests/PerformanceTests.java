@@ -1,15 +1,55 @@
 package com.reqres.api.tests;
 
+import com.reqres.api.metrics.HttpMetricsFilter;
+import com.reqres.api.metrics.MetricsRegistry;
+import com.reqres.api.metrics.MetricsServer;
+import com.reqres.api.models.responses.SingleUserResponse;
+import com.reqres.api.perf.AllocationBudget;
+import com.reqres.api.perf.AllocationRegistry;
+import com.reqres.api.perf.ArrivalSchedule;
+import com.reqres.api.perf.LatencyHistogram;
+import com.reqres.api.perf.LatencyRecorder;
+import com.reqres.api.perf.LatencyRecordingFilter;
+import com.reqres.api.perf.LoadGenerator;
+import com.reqres.api.perf.LoadResult;
+import com.reqres.api.perf.PacedLoop;
+import com.reqres.api.perf.Phase;
+import com.reqres.api.perf.PhaseTimings;
+import com.reqres.api.perf.SaturationFinder;
+import com.reqres.api.perf.SaturationResult;
+import com.reqres.api.perf.SoakResult;
+import com.reqres.api.perf.SoakRunner;
+import com.reqres.api.server.UseFaultProfile;
+import com.reqres.api.transport.JdkHttpTransport;
+import com.reqres.api.transport.Transport;
+import com.reqres.api.utils.ApiUtils;
+import com.reqres.api.utils.JsonMapper;
+import com.reqres.api.utils.LatencyThresholds;
+import com.reqres.api.utils.PerformanceValidator;
+import com.reqres.api.utils.ResponseHandler;
+import com.reqres.api.utils.SoakLimits;
 import io.restassured.response.Response;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
 
 /**
  * Test class for API performance testing
@@ -18,6 +58,34 @@ public class PerformanceTests extends BaseTest {
     
     private static final long SINGLE_REQUEST_THRESHOLD_MS = 1000; // 1 second
     private static final long LIST_REQUEST_THRESHOLD_MS = 1500;   // 1.5 seconds
+    private static final long TAIL_LATENCY_FACTOR = 2;            // p99/max may be up to twice the median threshold
+    private static final double LOAD_RATE_RPS = Double.parseDouble(System.getProperty("load.rps", "20"));
+    private static final Duration LOAD_DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 3));
+    // The in-process server warms up with the client, so only local runs need unmeasured requests first
+    private static final int LOAD_WARMUP_REQUESTS = Integer.getInteger("load.warmupRequests", ApiUtils.isLocalMode() ? 100 : 0);
+    private static final Duration SEQUENTIAL_PACE = Duration.ofMillis(100);      // intended gap between sequential requests
+    private static final int PERCENTILE_REQUESTS = 20;
+    private static final int FAULT_PROFILE_REQUESTS = 10;
+    private static final int LONG_TAIL_REQUESTS = 200;
+    private static final long LONG_TAIL_THRESHOLD_MS = 100;
+    private static final long SINGLE_USER_ALLOCATION_BUDGET_BYTES = 320 * 1024; // about 300 KB measured with parsing, mostly RestAssured and HttpClient
+    private static final int ALLOCATION_WARMUP_REQUESTS = 5;
+    private static final int ALLOCATION_REQUESTS = 20;
+    private static final int ASYNC_FAN_OUT = 12;
+    // The server starts its delay once it has read the request, which can be just before the client marks the write done
+    private static final long PHASE_TTFB_SLACK_MS = 5;
+    // Saturation search, only run with -Psaturation since it loads the server to its limit
+    private static final String SATURATION_PROPERTY = "perf.saturation";
+    private static final List<String> SATURATION_ENDPOINTS = Arrays.asList("/users", "/login");
+    private static final double SATURATION_START_RPS = Double.parseDouble(System.getProperty("saturation.startRps", "10"));
+    private static final double SATURATION_MAX_RPS = Double.parseDouble(System.getProperty("saturation.maxRps", "1000"));
+    private static final Duration SATURATION_STEP = Duration.ofSeconds(Long.getLong("saturation.stepSeconds", 5));
+    // Soak run, only run with -Psoak since it lasts an hour unless -Dsoak.minutes says otherwise
+    private static final String SOAK_PROPERTY = "perf.soak";
+    private static final double SOAK_MINUTES = Double.parseDouble(System.getProperty("soak.minutes", "60"));
+    private static final Duration SOAK_INTERVAL = Duration.ofSeconds(Long.getLong("soak.intervalSeconds", 60));
+    private static final double SOAK_RATE_RPS = Double.parseDouble(System.getProperty("soak.rps", "20"));
+    private static final List<String> SOAK_ENDPOINTS = Arrays.asList(System.getProperty("soak.endpoints", "/users,/users/1,/login").split(","));
     
     @DataProvider(name = "endpointsForPerformance")
     public Object[][] endpointsForPerformance() {
@@ -31,38 +99,18 @@ public class PerformanceTests extends BaseTest {
         };
     }
     
+    @DataProvider(name = "saturationEndpoints")
+    public Object[][] saturationEndpoints() {
+        return Arrays.stream(endpointsForPerformance())
+                .filter(row -> SATURATION_ENDPOINTS.contains(row[0]))
+                .toArray(Object[][]::new);
+    }
+    
     @Test(dataProvider = "endpointsForPerformance")
     public void testResponseTime(String endpoint, String method, long threshold, String description) {
         logger.info("Testing response time for {}: {}", description, endpoint);
         
-        Response response;
-        
-        switch (method) {
-            case "GET":
-                response = givenWithApiKey()
-                        .when()
-                        .get(endpoint)
-                        .then()
-                        .extract()
-                        .response();
-                break;
-            case "POST":
-                // Example payload for POST requests
-                String payload = method.equals("POST") && endpoint.equals("/register") ?
-                        "{\"email\":\"eve.holt@reqres.in\",\"password\":\"pistol\"}" :
-                        "{\"email\":\"eve.holt@reqres.in\",\"password\":\"cityslicka\"}";
-                
-                response = given()
-                        .body(payload)
-                        .when()
-                        .post(endpoint)
-                        .then()
-                        .extract()
-                        .response();
-                break;
-            default:
-                throw new IllegalArgumentException("Unsupported method: " + method);
-        }
+        Response response = send(endpoint, method);
         
         long responseTimeMs = response.timeIn(TimeUnit.MILLISECONDS);
         logger.info("Response time for {}: {} ms (threshold: {} ms)", description, responseTimeMs, threshold);
@@ -71,131 +119,382 @@ public class PerformanceTests extends BaseTest {
                 "Response time for " + description + " should be less than " + threshold + " ms but was " + responseTimeMs + " ms");
     }
     
+    @Test(dataProvider = "saturationEndpoints")
+    public void testSaturation(String endpoint, String method, long threshold, String description) {
+        if (!Boolean.getBoolean(SATURATION_PROPERTY)) {
+            throw new SkipException("Saturation search only runs with -Psaturation");
+        }
+        // The SLO is the endpoint's single-request threshold unless -Dsaturation.p99Ms overrides it
+        Duration p99Slo = Duration.ofMillis(Long.getLong("saturation.p99Ms", threshold));
+        logger.info("Searching the maximum throughput of {} with p99 within {} ms", description, p99Slo.toMillis());
+        
+        SaturationResult result = SaturationFinder.builder()
+                .description(method + " " + endpoint)
+                .request(() -> send(endpoint, method))
+                .p99Slo(p99Slo)
+                .startRate(SATURATION_START_RPS)
+                .maxRate(SATURATION_MAX_RPS)
+                .stepDuration(SATURATION_STEP)
+                .warmupRequests(LOAD_WARMUP_REQUESTS)
+                .build()
+                .run();
+        result.write(Paths.get("target", "saturation", method + endpoint.replace('/', '-') + ".tsv"));
+        logger.info("Load-latency curve of {}:{}{}", description, System.lineSeparator(), result.toTable());
+        
+        Assert.assertNotNull(result.getKnee(),
+                description + " should stay within the SLO at " + SATURATION_START_RPS + " req/s but " + result.getStopReason());
+    }
+    
+    @Test
+    public void testSoak() {
+        if (!Boolean.getBoolean(SOAK_PROPERTY)) {
+            throw new SkipException("Soak run only runs with -Psoak");
+        }
+        // The workload cycles through the rows of endpointsForPerformance named in -Dsoak.endpoints
+        Object[][] workload = Arrays.stream(endpointsForPerformance())
+                .filter(row -> SOAK_ENDPOINTS.contains(row[0]))
+                .toArray(Object[][]::new);
+        Assert.assertTrue(workload.length > 0, "soak.endpoints should name endpoints of endpointsForPerformance but was " + SOAK_ENDPOINTS);
+        String description = Arrays.stream(workload).map(row -> row[1] + " " + row[0]).collect(Collectors.joining(", "));
+        logger.info("Soaking {} at {} req/s for {} min", description, SOAK_RATE_RPS, SOAK_MINUTES);
+        
+        AtomicInteger next = new AtomicInteger();
+        SoakResult result = SoakRunner.builder()
+                .description(description)
+                .request(() -> {
+                    Object[] row = workload[Math.floorMod(next.getAndIncrement(), workload.length)];
+                    return send((String) row[0], (String) row[1]);
+                })
+                .rate(SOAK_RATE_RPS)
+                .duration(Duration.ofMillis(Math.round(SOAK_MINUTES * 60_000)))
+                .sampleInterval(SOAK_INTERVAL)
+                .warmupRequests(LOAD_WARMUP_REQUESTS)
+                .output(Paths.get("target", "soak", "soak.tsv"))
+                .build()
+                .run();
+        
+        PerformanceValidator.validateSoak(result, SoakLimits.builder().build());
+    }
+    
     @Test
     public void testMultipleConsecutiveRequests() {
         logger.info("Testing response time for multiple consecutive requests");
         
-        long cumulativeTime = 0;
         int requestCount = 10;
         
-        for (int i = 0; i < requestCount; i++) {
+        // Requests are intended to start every SEQUENTIAL_PACE; a slow response delays the
+        // following requests and that delay is counted in their corrected latency
+        LatencyRecorder latency = PacedLoop.run(requestCount, SEQUENTIAL_PACE, i -> {
             logger.info("Executing request {} of {}", i + 1, requestCount);
             
-            long startTime = System.currentTimeMillis();
-            
-            Response response = given()
+            givenWithApiKey()
                     .when()
                     .get("/users")
                     .then()
                     .extract()
                     .response();
-            
-            long endTime = System.currentTimeMillis();
-            long requestTime = endTime - startTime;
-            cumulativeTime += requestTime;
-            
-            logger.info("Request {} took {} ms", i + 1, requestTime);
-        }
+        });
         
-        double averageTime = (double) cumulativeTime / requestCount;
-        logger.info("Average response time for {} consecutive requests: {} ms", requestCount, averageTime);
-        
-        Assert.assertTrue(averageTime <= LIST_REQUEST_THRESHOLD_MS, 
-                "Average response time should be less than " + LIST_REQUEST_THRESHOLD_MS + " ms but was " + averageTime + " ms");
+        PerformanceValidator.validatePercentiles(requestCount + " consecutive GET /users", latency,
+                LatencyThresholds.builder()
+                        .p50(LIST_REQUEST_THRESHOLD_MS)
+                        .max(LIST_REQUEST_THRESHOLD_MS * TAIL_LATENCY_FACTOR)
+                        .build());
     }
     
     @Test
     public void testConcurrentRequests() {
-        logger.info("Testing response time for concurrent requests");
+        logger.info("Testing GET /users at {} req/s for {} s", LOAD_RATE_RPS, LOAD_DURATION.getSeconds());
         
-        final int threadCount = 5;
-        final List<Long> responseTimes = new ArrayList<>();
+        // Open model: requests start at a fixed rate no matter how long earlier ones take
+        LoadResult result = LoadGenerator.builder()
+                .schedule(ArrivalSchedule.fixedRate(LOAD_RATE_RPS))
+                .warmupRequests(LOAD_WARMUP_REQUESTS)
+                .duration(LOAD_DURATION)
+                .request(() -> givenWithApiKey().when().get("/users"))
+                .build()
+                .run();
         
-        // Create and start multiple threads
-        Thread[] threads = new Thread[threadCount];
-        for (int i = 0; i < threadCount; i++) {
-            final int index = i;
-            threads[i] = new Thread(() -> {
-                logger.info("Thread {} executing request", index);
-                
-                long startTime = System.currentTimeMillis();
-                
-                Response response = given()
-                        .when()
-                        .get("/users")
-                        .then()
-                        .extract()
-                        .response();
-                
-                long endTime = System.currentTimeMillis();
-                long requestTime = endTime - startTime;
-                
-                synchronized (responseTimes) {
-                    responseTimes.add(requestTime);
-                }
-                
-                logger.info("Thread {} request completed in {} ms", index, requestTime);
-                
-                Assert.assertTrue(response.getStatusCode() == 200, 
-                        "Expected status code 200 but got " + response.getStatusCode());
-            });
-            threads[i].start();
+        Assert.assertEquals(result.getFailureCount(), 0, "No request should fail under load");
+        Assert.assertEquals(result.getDroppedCount(), 0, "No request should be dropped for lack of a worker");
+        Assert.assertEquals(result.getStatusCount(200), result.getDispatchedCount(),
+                "Expected status code 200 for every request but got " + result.getStatusCounts());
+        
+        // Under load, allow the tail to reach the concurrent threshold
+        String description = "GET /users at " + LOAD_RATE_RPS + " req/s";
+        PerformanceValidator.validatePercentiles(description, result.getLatency(),
+                LatencyThresholds.builder()
+                        .p50(LIST_REQUEST_THRESHOLD_MS)
+                        .p99(LIST_REQUEST_THRESHOLD_MS * TAIL_LATENCY_FACTOR)
+                        .build());
+        // The fixed thresholds are only a ceiling; a slowdown relative to earlier runs fails here
+        PerformanceValidator.validateNoRegression(description, result.getHistogram());
+    }
+    
+    @Test
+    public void testSequentialRequests() {
+        logger.info("Testing sequential requests performance");
+        
+        final int SEQUENTIAL_REQUESTS = 10;
+        final String endpoint = "/users";
+        
+        LatencyRecorder latency = PacedLoop.run(SEQUENTIAL_REQUESTS, SEQUENTIAL_PACE, i ->
+            givenWithApiKey()
+                .when()
+                .get(endpoint)
+                .then()
+                .statusCode(200));
+        
+        PerformanceValidator.validatePercentiles(SEQUENTIAL_REQUESTS + " sequential GET " + endpoint, latency,
+                LatencyThresholds.builder()
+                        .p50(LIST_REQUEST_THRESHOLD_MS)
+                        .max(LIST_REQUEST_THRESHOLD_MS * TAIL_LATENCY_FACTOR)
+                        .build());
+    }
+    
+    @Test
+    public void testEndpointLatencyPercentiles() {
+        logger.info("Testing latency percentiles per endpoint");
+        
+        // Measured into test-local histograms, so the result does not depend on which tests ran before
+        LatencyHistogram list = measureSequential(PERCENTILE_REQUESTS, "/users");
+        LatencyHistogram single = measureSequential(PERCENTILE_REQUESTS, "/users/2");
+        PerformanceValidator.validatePercentiles(PERCENTILE_REQUESTS + " GET /users", list, LatencyThresholds.builder()
+                .p50(LIST_REQUEST_THRESHOLD_MS)
+                .p99(LIST_REQUEST_THRESHOLD_MS * TAIL_LATENCY_FACTOR)
+                .build());
+        PerformanceValidator.validatePercentiles(PERCENTILE_REQUESTS + " GET /users/{id}", single, LatencyThresholds.builder()
+                .p50(SINGLE_REQUEST_THRESHOLD_MS)
+                .p99(SINGLE_REQUEST_THRESHOLD_MS * TAIL_LATENCY_FACTOR)
+                .build());
+        
+        PerformanceValidator.validateNoRegression("GET /users sequential", list);
+        PerformanceValidator.validateNoRegression("GET /users/{id} sequential", single);
+        
+        // The phase and allocation breakdowns cover every exchange of the suite so far
+        PerformanceValidator.logPhaseBreakdown("GET /users");
+        PerformanceValidator.logPhaseBreakdown("GET /users/{id}");
+        PerformanceValidator.logAllocations("GET /users");
+        PerformanceValidator.logAllocations("GET /users/{id}");
+    }
+    
+    @Test
+    @UseFaultProfile("fixed-latency")
+    public void testFixedLatencyProfile() {
+        logger.info("Testing percentiles against a server with a fixed 100 ms latency");
+        
+        LatencyHistogram histogram = measureSequential(FAULT_PROFILE_REQUESTS, "/users/2");
+        
+        // Every response takes at least the injected latency, and the validator accepts it within the bounds
+        Assert.assertTrue(histogram.getMinValue() >= TimeUnit.MILLISECONDS.toNanos(100),
+                "No response should be faster than the injected 100 ms but the fastest took "
+                        + TimeUnit.NANOSECONDS.toMillis(histogram.getMinValue()) + " ms");
+        PerformanceValidator.validatePercentiles("GET /users/2 with fixed latency", histogram,
+                LatencyThresholds.builder()
+                        .p50(SINGLE_REQUEST_THRESHOLD_MS)
+                        .p99(SINGLE_REQUEST_THRESHOLD_MS)
+                        .build());
+    }
+    
+    @Test
+    @UseFaultProfile("long-tail")
+    public void testLongTailFailsTailThreshold() {
+        logger.info("Testing that a long-tail latency distribution fails a p99 threshold but not a p50 threshold");
+        
+        // Pareto latency with a 2 ms scale and shape 1: p50 is about 4 ms, p99 about 200 ms
+        LatencyHistogram histogram = measureSequential(LONG_TAIL_REQUESTS, "/users/2");
+        
+        AssertionError error = Assert.expectThrows(AssertionError.class, () ->
+                PerformanceValidator.validatePercentiles("GET /users/2 with long-tail latency", histogram,
+                        LatencyThresholds.builder()
+                                .p50(LONG_TAIL_THRESHOLD_MS)
+                                .p99(LONG_TAIL_THRESHOLD_MS)
+                                .build()));
+        Assert.assertTrue(error.getMessage().contains("p99"), "The p99 threshold should be exceeded: " + error.getMessage());
+        Assert.assertFalse(error.getMessage().contains("p50"), "The p50 threshold should hold: " + error.getMessage());
+    }
+    
+    @Test
+    @UseFaultProfile("fixed-latency")
+    public void testPhaseBreakdownSeparatesServerTime() {
+        logger.info("Testing that injected server latency shows up in time to first byte and not in connection setup");
+        if (Transport.current() != Transport.APACHE) {
+            throw new SkipException("Only the apache transport times connection setup");
         }
         
-        // Wait for all threads to complete
-        for (Thread thread : threads) {
-            try {
-                thread.join();
-            } catch (InterruptedException e) {
-                logger.error("Thread interrupted: {}", e.getMessage());
-            }
+        givenWithApiKey()
+                .when()
+                .get("/users/2")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+        
+        // The body has been read to its end above, so every phase of the exchange is filled in
+        PhaseTimings timings = PhaseTimings.last();
+        Assert.assertNotNull(timings, "The exchange should have been timed");
+        for (Phase phase : new Phase[] {Phase.DNS, Phase.CONNECT, Phase.REQUEST_WRITE, Phase.TTFB, Phase.BODY_READ}) {
+            Assert.assertTrue(timings.isRecorded(phase), "Phase " + phase.getLabel() + " should have been timed");
         }
+        Assert.assertFalse(timings.isRecorded(Phase.TLS), "A plain http connection has no TLS handshake");
+        
+        long serverLatency = TimeUnit.MILLISECONDS.toNanos(100);
+        Assert.assertTrue(timings.getNanos(Phase.TTFB) >= serverLatency - TimeUnit.MILLISECONDS.toNanos(PHASE_TTFB_SLACK_MS),
+                "Time to first byte should include the injected 100 ms but was "
+                        + TimeUnit.NANOSECONDS.toMillis(timings.getNanos(Phase.TTFB)) + " ms");
+        long setup = timings.getNanos(Phase.DNS) + timings.getNanos(Phase.CONNECT);
+        Assert.assertTrue(setup < serverLatency,
+                "Connection setup should not include the server latency but took " + TimeUnit.NANOSECONDS.toMillis(setup) + " ms");
+    }
+    
+    @Test
+    @AllocationBudget(value = SINGLE_USER_ALLOCATION_BUDGET_BYTES, endpoint = "GET /users/{id}", warmup = ALLOCATION_WARMUP_REQUESTS)
+    public void testSingleUserAllocationBudget() {
+        logger.info("Testing that a GET /users/{id} round trip allocates at most {} KB", SINGLE_USER_ALLOCATION_BUDGET_BYTES / 1024);
         
-        // Calculate average response time
-        double totalTime = 0;
-        for (long time : responseTimes) {
-            totalTime += time;
+        // Each round trip is measured from givenWithApiKey() to the start of the next one,
+        // so parsing and validating the response count against the budget too
+        for (int i = 0; i < ALLOCATION_WARMUP_REQUESTS + ALLOCATION_REQUESTS; i++) {
+            Response response = givenWithApiKey()
+                    .when()
+                    .get("/users/2");
+            response.then().statusCode(200);
+            SingleUserResponse user = ResponseHandler.getSingleUser(response);
+            Assert.assertEquals(user.getData().getId(), Integer.valueOf(2), "Expected user 2");
         }
-        double averageTime = totalTime / responseTimes.size();
         
-        logger.info("Average response time for {} concurrent requests: {} ms", threadCount, averageTime);
+        Assert.assertTrue(AllocationRegistry.getAll().containsKey("GET /users/{id}"),
+                "The round trips should be recorded per endpoint");
+    }
+    
+    @Test
+    public void testJdkTransportKeepsAssertionsWorking() {
+        logger.info("Testing REST Assured assertions on responses received over the jdk transport");
         
-        // For concurrent requests, allow a slightly higher threshold
-        long concurrentThreshold = LIST_REQUEST_THRESHOLD_MS * 2;
-        Assert.assertTrue(averageTime <= concurrentThreshold, 
-                "Average concurrent response time should be less than " + concurrentThreshold + 
-                " ms but was " + averageTime + " ms");
+        // The shared spec with only its transport swapped, so the suite's filters still see the exchanges
+        Response response = givenWithApiKey()
+                .config(Transport.JDK.getConfig())
+                .when()
+                .get("/users/2")
+                .then()
+                .statusCode(200)
+                .header("Content-Type", containsString("application/json"))
+                .body("data.id", equalTo(2))
+                .extract()
+                .response();
+        Assert.assertEquals(ResponseHandler.getSingleUser(response).getData().getId(), Integer.valueOf(2), "Expected user 2");
+        
+        givenWithApiKey()
+                .config(Transport.JDK.getConfig())
+                .body("{\"name\":\"morpheus\",\"job\":\"leader\"}")
+                .when()
+                .post("/users")
+                .then()
+                .statusCode(201)
+                .body("name", equalTo("morpheus"));
     }
     
     @Test
-    public void testSequentialRequests() {
-        logger.info("Testing sequential requests performance");
+    public void testJdkTransportFansOutAsync() throws Exception {
+        logger.info("Testing {} concurrent requests sent with sendAsync on the shared jdk client", ASYNC_FAN_OUT);
         
-        final int SEQUENTIAL_REQUESTS = 10;
-        final String endpoint = "/users";
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < ASYNC_FAN_OUT; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(ApiUtils.getBaseUrl() + "/users/" + (i % 6 + 1)))
+                    .header(ApiUtils.API_KEY_HEADER, ApiUtils.API_KEY)
+                    .GET()
+                    .build();
+            responses.add(JdkHttpTransport.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
         
-        long totalTime = 0;
+        // No thread waits per request; all of them are in flight before the first join
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        for (int i = 0; i < ASYNC_FAN_OUT; i++) {
+            HttpResponse<String> response = responses.get(i).join();
+            Assert.assertEquals(response.statusCode(), 200, "Unexpected status for " + response.uri());
+            SingleUserResponse user = JsonMapper.readerFor(SingleUserResponse.class).readValue(response.body());
+            Assert.assertEquals(user.getData().getId(), Integer.valueOf(i % 6 + 1), "Unexpected user from " + response.uri());
+        }
+    }
+    
+    @Test
+    public void testHttpMetricsExposition() {
+        logger.info("Testing the Prometheus exposition of the HTTP metrics");
         
-        for (int i = 0; i < SEQUENTIAL_REQUESTS; i++) {
-            long startTime = System.currentTimeMillis();
-            
-            given()
+        givenWithApiKey()
                 .when()
-                .get(endpoint)
+                .get("/users/2")
                 .then()
                 .statusCode(200);
-            
-            long endTime = System.currentTimeMillis();
-            long responseTime = endTime - startTime;
-            totalTime += responseTime;
-            
-            logger.info("Request {} took {} ms", i + 1, responseTime);
-        }
         
-        double averageTime = (double) totalTime / SEQUENTIAL_REQUESTS;
-        logger.info("Average response time for {} sequential requests: {} ms", SEQUENTIAL_REQUESTS, averageTime);
+        // Served on a free port unless -Dmetrics.port already started the server; plain given() is not counted
+        String exposition = given()
+                .baseUri(MetricsServer.start(0))
+                .when()
+                .get("/metrics")
+                .then()
+                .statusCode(200)
+                .contentType(containsString("text/plain"))
+                .extract()
+                .asString();
         
-        Assert.assertTrue(averageTime <= LIST_REQUEST_THRESHOLD_MS, 
-                "Average response time should be less than " + LIST_REQUEST_THRESHOLD_MS + " ms but was " + averageTime + " ms");
+        String series = "{method=\"GET\",path=\"/users/{id}\",status=\"200\"";
+        Assert.assertTrue(exposition.contains("# TYPE " + HttpMetricsFilter.REQUESTS + " counter"),
+                "Exposition should declare the request counter");
+        Assert.assertTrue(exposition.contains(HttpMetricsFilter.REQUESTS + series + "}"),
+                "Exposition should count GET /users/{id} requests by status");
+        Assert.assertTrue(exposition.contains(HttpMetricsFilter.DURATION + "_bucket" + series + ",le=\"+Inf\"}"),
+                "Exposition should contain the latency histogram of GET /users/{id}");
+        Assert.assertTrue(MetricsRegistry.counter(HttpMetricsFilter.REQUESTS, "HTTP requests sent",
+                "method", "GET", "path", "/users/{id}", "status", "200").get() >= 1,
+                "The request above should have been counted");
+    }
+    
+    /**
+     * Sends a request to one of the endpoints of {@link #endpointsForPerformance()}
+     */
+    private Response send(String endpoint, String method) {
+        switch (method) {
+            case "GET":
+                return givenWithApiKey()
+                        .when()
+                        .get(endpoint)
+                        .then()
+                        .extract()
+                        .response();
+            case "POST":
+                // Example payload for POST requests
+                String payload = endpoint.equals("/register") ?
+                        "{\"email\":\"eve.holt@reqres.in\",\"password\":\"pistol\"}" :
+                        "{\"email\":\"eve.holt@reqres.in\",\"password\":\"cityslicka\"}";
+                
+                return givenWithApiKey()
+                        .body(payload)
+                        .when()
+                        .post(endpoint)
+                        .then()
+                        .extract()
+                        .response();
+            default:
+                throw new IllegalArgumentException("Unsupported method: " + method);
+        }
+    }
+    
+    /**
+     * Sends requests one after another and records their response times, timed with
+     * {@link System#nanoTime()} by the {@link LatencyRecordingFilter} since {@code Response.time()} only
+     * has millisecond resolution
+     */
+    private LatencyHistogram measureSequential(int requestCount, String endpoint) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < requestCount; i++) {
+            givenWithApiKey()
+                    .when()
+                    .get(endpoint)
+                    .then()
+                    .statusCode(200);
+            histogram.recordValue(LatencyRecordingFilter.lastNanos());
+        }
+        return histogram;
     }
 }
@@ -22,7 +22,8 @@ import static io.restassured.RestAssured.given;
  */
 public class ResourceCrudTests extends BaseTest {
     
-    private int resourceId;
+    // Written by testListResources and read by dependent methods, possibly on another thread
+    private volatile int resourceId;
     private static final String RESOURCE_ENDPOINT = "/unknown";
     
     @Test(priority = 1)
@@ -51,7 +52,7 @@ public class ResourceCrudTests extends BaseTest {
         Assert.assertTrue(resourceListResponse.getTotal() > 0, "Total resources count should be positive");
     }
     
-    @Test(priority = 2)
+    @Test(priority = 2, dependsOnMethods = "testListResources")
     public void testGetSingleResource() {
         logger.info("Testing GET {}/{} endpoint with ID: {}", RESOURCE_ENDPOINT, resourceId, resourceId);
         
@@ -102,7 +103,7 @@ public class ResourceCrudTests extends BaseTest {
         Assert.assertNotNull(createResponse.getCreatedAt(), "Creation timestamp should be present");
     }
     
-    @Test(priority = 4)
+    @Test(priority = 4, dependsOnMethods = "testListResources")
     public void testUpdateResourceWithPut() {
         logger.info("Testing PUT {}/{} endpoint with ID: {}", RESOURCE_ENDPOINT, resourceId, resourceId);
         
@@ -129,7 +130,7 @@ public class ResourceCrudTests extends BaseTest {
         Assert.assertNotNull(updateResponse.getUpdatedAt(), "Update timestamp should be present");
     }
     
-    @Test(priority = 5)
+    @Test(priority = 5, dependsOnMethods = "testListResources")
     public void testUpdateResourceWithPatch() {
         logger.info("Testing PATCH {}/{} endpoint with ID: {}", RESOURCE_ENDPOINT, resourceId, resourceId);
         
@@ -154,7 +155,7 @@ public class ResourceCrudTests extends BaseTest {
         Assert.assertNotNull(updateResponse.getUpdatedAt(), "Update timestamp should be present");
     }
     
-    @Test(priority = 6)
+    @Test(priority = 6, dependsOnMethods = "testListResources")
     public void testDeleteResource() {
         logger.info("Testing DELETE {}/{} endpoint with ID: {}", RESOURCE_ENDPOINT, resourceId, resourceId);
         
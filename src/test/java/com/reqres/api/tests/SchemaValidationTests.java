@@ -55,7 +55,7 @@ public class SchemaValidationTests extends BaseTest {
     public void testSingleResourceSchema() {
         logger.info("Testing schema validation for single resource endpoint");
         
-        given()
+        givenWithApiKey()
                 .pathParam("id", 2)
                 .when()
                 .get("/unknown/{id}")
@@ -70,7 +70,7 @@ public class SchemaValidationTests extends BaseTest {
         
         LoginRequest request = new LoginRequest("eve.holt@reqres.in", "cityslicka");
         
-        given()
+        givenWithApiKey()
                 .body(request)
                 .when()
                 .post("/login")
@@ -85,7 +85,7 @@ public class SchemaValidationTests extends BaseTest {
         
         RegisterRequest request = new RegisterRequest("eve.holt@reqres.in", "pistol");
         
-        given()
+        givenWithApiKey()
                 .body(request)
                 .when()
                 .post("/register")
@@ -100,7 +100,7 @@ public class SchemaValidationTests extends BaseTest {
         
         UserRequest newUser = new UserRequest("morpheus", "leader");
         
-        Response response = given()
+        Response response = givenWithApiKey()
                 .body(newUser)
                 .when()
                 .post("/users")
@@ -124,7 +124,7 @@ public class SchemaValidationTests extends BaseTest {
         
         UserRequest updatedUser = new UserRequest("morpheus", "zion resident");
         
-        Response response = given()
+        Response response = givenWithApiKey()
                 .body(updatedUser)
                 .pathParam("id", 2)
                 .when()
@@ -147,7 +147,7 @@ public class SchemaValidationTests extends BaseTest {
         logger.info("Testing schema validation for pagination parameters");
         
         // Test with custom pagination parameters
-        given()
+        givenWithApiKey()
                 .queryParam("page", 2)
                 .queryParam("per_page", 3)
                 .when()
@@ -20,7 +20,8 @@ import static io.restassured.RestAssured.given;
  */
 public class UserCrudTests extends BaseTest {
     
-    private int userId;
+    // Written by testListUsers and read by dependent methods, possibly on another thread
+    private volatile int userId;
     
     @Test(priority = 1)
     public void testListUsers() {
@@ -50,7 +51,7 @@ public class UserCrudTests extends BaseTest {
         Assert.assertTrue(userListResponse.getTotal() > 0, "Total users count should be positive");
     }
     
-    @Test(priority = 2)
+    @Test(priority = 2, dependsOnMethods = "testListUsers")
     public void testGetSingleUser() {
         logger.info("Testing GET /users/{} endpoint with ID: {}", userId, userId);
         
@@ -99,7 +100,7 @@ public class UserCrudTests extends BaseTest {
         Assert.assertNotNull(createResponse.getCreatedAt(), "Creation timestamp should be present");
     }
     
-    @Test(priority = 4)
+    @Test(priority = 4, dependsOnMethods = "testListUsers")
     public void testUpdateUserWithPut() {
         logger.info("Testing PUT /users/{} endpoint with ID: {}", userId, userId);
         
@@ -125,7 +126,7 @@ public class UserCrudTests extends BaseTest {
         Assert.assertNotNull(updateResponse.getUpdatedAt(), "Update timestamp should be present");
     }
     
-    @Test(priority = 5)
+    @Test(priority = 5, dependsOnMethods = "testListUsers")
     public void testUpdateUserWithPatch() {
         logger.info("Testing PATCH /users/{} endpoint with ID: {}", userId, userId);
         
@@ -151,7 +152,7 @@ public class UserCrudTests extends BaseTest {
         Assert.assertNotNull(updateResponse.getUpdatedAt(), "Update timestamp should be present");
     }
     
-    @Test(priority = 6)
+    @Test(priority = 6, dependsOnMethods = "testListUsers")
     public void testDeleteUser() {
         logger.info("Testing DELETE /users/{} endpoint with ID: {}", userId, userId);
         
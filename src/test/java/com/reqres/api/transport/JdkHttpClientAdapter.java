@@ -0,0 +1,151 @@
+package com.reqres.api.transport;
+
+import com.reqres.api.perf.PhaseTimingHttpClient;
+import org.apache.http.ConnectionReuseStrategy;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.AuthenticationStrategy;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.RedirectStrategy;
+import org.apache.http.client.RequestDirector;
+import org.apache.http.client.UserTokenHandler;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.BasicClientConnectionManager;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpProcessor;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Lets REST Assured, which only drives Apache HttpClient 4, send its requests through the shared
+ * {@link JdkHttpTransport} client. REST Assured still builds the request and wraps the response, so
+ * its filters and assertions are unaffected; only the exchange itself is replaced. Apache's request
+ * and response interceptors do not run: no {@code Accept-Encoding} is sent, so bodies arrive unencoded.
+ * The JDK client does not expose connection setup, so of the {@link com.reqres.api.perf.Phase phases}
+ * only TTFB, which here includes any connection setup and the request write, and the body read are timed.
+ */
+@SuppressWarnings("deprecation")
+public class JdkHttpClientAdapter extends DefaultHttpClient {
+    private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+    // Managed by the JDK client, which refuses requests that set them
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    // Requests never reach Apache's connection handling, so every adapter shares one manager that is never used
+    private static final ClientConnectionManager UNUSED_CONNECTIONS = new BasicClientConnectionManager();
+
+    static {
+        RESTRICTED_HEADERS.addAll(Arrays.asList("Connection", "Content-Length", "Expect", "Host", "Upgrade"));
+    }
+
+    @Override
+    protected ClientConnectionManager createClientConnectionManager() {
+        return UNUSED_CONNECTIONS;
+    }
+
+    @Override
+    protected RequestDirector createClientRequestDirector(HttpRequestExecutor requestExec,
+                                                          ClientConnectionManager connManager,
+                                                          ConnectionReuseStrategy reuseStrat,
+                                                          ConnectionKeepAliveStrategy keepAliveStrat,
+                                                          HttpRoutePlanner routePlanner,
+                                                          HttpProcessor httpProcessor,
+                                                          HttpRequestRetryHandler retryHandler,
+                                                          RedirectStrategy redirectStrategy,
+                                                          AuthenticationStrategy targetAuthStrategy,
+                                                          AuthenticationStrategy proxyAuthStrategy,
+                                                          UserTokenHandler userTokenHandler,
+                                                          HttpParams params) {
+        return (target, request, context) -> execute(target, request, params);
+    }
+
+    private static HttpResponse execute(HttpHost target, HttpRequest request, HttpParams params) throws IOException {
+        HttpEntity entity = request instanceof HttpEntityEnclosingRequest
+                ? ((HttpEntityEnclosingRequest) request).getEntity()
+                : null;
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(uri(target, request))
+                .method(request.getRequestLine().getMethod(), body(entity));
+        boolean hasContentType = false;
+        for (Header header : request.getAllHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName())) {
+                builder.header(header.getName(), header.getValue());
+                hasContentType |= "Content-Type".equalsIgnoreCase(header.getName());
+            }
+        }
+        if (!hasContentType && entity != null && entity.getContentType() != null) {
+            builder.header("Content-Type", entity.getContentType().getValue());
+        }
+        // Apache's two timeouts bound the whole exchange up to the response headers
+        int timeoutMillis = HttpConnectionParams.getConnectionTimeout(params) + HttpConnectionParams.getSoTimeout(params);
+        if (timeoutMillis > 0) {
+            builder.timeout(Duration.ofMillis(timeoutMillis));
+        }
+
+        long handedOver = System.nanoTime();
+        java.net.http.HttpResponse<InputStream> response = JdkHttpTransport.send(builder.build());
+        HttpResponse adapted = adapt(response);
+        PhaseTimingHttpClient.timeResponse(handedOver, adapted);
+        return adapted;
+    }
+
+    private static URI uri(HttpHost target, HttpRequest request) {
+        URI uri = request instanceof HttpUriRequest
+                ? ((HttpUriRequest) request).getURI()
+                : URI.create(request.getRequestLine().getUri());
+        return uri.isAbsolute() ? uri : URI.create(target.toURI()).resolve(uri);
+    }
+
+    private static java.net.http.HttpRequest.BodyPublisher body(HttpEntity entity) throws IOException {
+        if (entity == null) {
+            return java.net.http.HttpRequest.BodyPublishers.noBody();
+        }
+        // Request bodies in this suite are small JSON documents, so buffering them is cheaper than streaming
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(entity.getContentLength() > 0 ? (int) entity.getContentLength() : 256);
+        entity.writeTo(buffer);
+        return java.net.http.HttpRequest.BodyPublishers.ofByteArray(buffer.toByteArray());
+    }
+
+    private static HttpResponse adapt(java.net.http.HttpResponse<InputStream> response) {
+        int status = response.statusCode();
+        ProtocolVersion version = response.version() == HttpClient.Version.HTTP_2 ? HTTP_2 : HttpVersion.HTTP_1_1;
+        BasicHttpResponse adapted = new BasicHttpResponse(new BasicStatusLine(version, status,
+                EnglishReasonPhraseCatalog.INSTANCE.getReason(status, Locale.ENGLISH)));
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                values.forEach(value -> adapted.addHeader(name, value));
+            }
+        });
+
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(response.body());
+        entity.setContentLength(response.headers().firstValueAsLong("Content-Length").orElse(-1));
+        response.headers().firstValue("Content-Type").ifPresent(entity::setContentType);
+        response.headers().firstValue("Content-Encoding").ifPresent(entity::setContentEncoding);
+        adapted.setEntity(entity);
+        return adapted;
+    }
+}
@@ -0,0 +1,74 @@
+package com.reqres.api.transport;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Holds the single {@link HttpClient} of the {@link Transport#JDK} engine. It keeps connections open
+ * between requests and negotiates HTTP/2 where the server offers it, through ALPN over TLS or an h2c
+ * upgrade in cleartext; concurrent requests to an HTTP/2 server then share one connection as streams.
+ * Servers that only speak HTTP/1.1, like the local stand-in, get a pool of keep-alive connections.
+ */
+public final class JdkHttpTransport {
+    private static volatile HttpClient client;
+
+    private JdkHttpTransport() {
+    }
+
+    /**
+     * Returns the shared client, creating it on first use
+     *
+     * @return The client
+     */
+    public static HttpClient client() {
+        HttpClient current = client;
+        if (current == null) {
+            synchronized (JdkHttpTransport.class) {
+                current = client;
+                if (current == null) {
+                    current = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_2)
+                            .followRedirects(HttpClient.Redirect.NORMAL)
+                            .build();
+                    client = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Sends a request and waits for the response headers; the body is streamed as it is read
+     *
+     * @param request The request
+     * @return The response, whose body stream must be read to its end or closed to free the connection
+     * @throws IOException If the request fails or the calling thread is interrupted
+     */
+    public static HttpResponse<InputStream> send(HttpRequest request) throws IOException {
+        try {
+            return client().send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted waiting for " + request.uri());
+            interrupted.initCause(e);
+            throw interrupted;
+        }
+    }
+
+    /**
+     * Sends a request without blocking the calling thread
+     *
+     * @param request The request
+     * @param bodyHandler How to read the response body
+     * @param <T> Type of the response body
+     * @return Completes with the response once the body handler is done, or exceptionally if the request fails
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        return client().sendAsync(request, bodyHandler);
+    }
+}
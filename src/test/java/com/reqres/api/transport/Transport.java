@@ -0,0 +1,74 @@
+package com.reqres.api.transport;
+
+import com.reqres.api.perf.PhaseTimingHttpClient;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+
+import java.util.Arrays;
+
+/**
+ * The engines REST Assured sends requests through, selected with {@code -Dapi.transport}. Both sit below
+ * REST Assured, so filters, assertions and response extraction work the same with either.
+ */
+public enum Transport {
+    /**
+     * REST Assured's Apache HttpClient 4, a new client and connection per request, with every phase timed
+     */
+    APACHE("apache", RestAssuredConfig.config()
+            .httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(PhaseTimingHttpClient::new))),
+    /**
+     * The suite's shared {@code java.net.http.HttpClient}: pooled connections and HTTP/2 where the server offers it
+     */
+    JDK("jdk", RestAssuredConfig.config()
+            .httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(JdkHttpClientAdapter::new)));
+
+    public static final String TRANSPORT_PROPERTY = "api.transport";
+
+    private final String label;
+    private final RestAssuredConfig config;
+
+    Transport(String label, RestAssuredConfig config) {
+        this.label = label;
+        this.config = config;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the REST Assured configuration that sends requests through this engine
+     *
+     * @return The configuration
+     */
+    public RestAssuredConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the engine selected with {@code -Dapi.transport}
+     *
+     * @return The selected engine, {@link #APACHE} when none is selected
+     * @throws IllegalArgumentException If the property names no engine
+     */
+    public static Transport current() {
+        return of(System.getProperty(TRANSPORT_PROPERTY, APACHE.label));
+    }
+
+    /**
+     * Returns an engine by its label
+     *
+     * @param label Label such as {@code jdk}
+     * @return The engine
+     * @throws IllegalArgumentException If no engine has that label
+     */
+    public static Transport of(String label) {
+        for (Transport transport : values()) {
+            if (transport.label.equalsIgnoreCase(label.trim())) {
+                return transport;
+            }
+        }
+        throw new IllegalArgumentException("Unknown transport '" + label + "', expected one of "
+                + Arrays.toString(Arrays.stream(values()).map(Transport::getLabel).toArray()));
+    }
+}
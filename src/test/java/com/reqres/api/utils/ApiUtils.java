@@ -1,50 +1,182 @@
 package com.reqres.api.utils;
 
+import com.reqres.api.logging.ExchangeCaptureFilter;
+import com.reqres.api.metrics.HttpMetricsFilter;
+import com.reqres.api.perf.AllocationTrackingFilter;
+import com.reqres.api.perf.LatencyRecordingFilter;
+import com.reqres.api.perf.PhaseTimingFilter;
+import com.reqres.api.replay.JournalRecordingFilter;
+import com.reqres.api.replay.ReplayServer;
+import com.reqres.api.server.LocalReqresServer;
+import com.reqres.api.transport.Transport;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.filter.log.LogDetail;
+import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.http.ContentType;
+import io.restassured.parsing.Parser;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the REST Assured specifications for the selected environment.
+ * Specifications are built once per base URL and shared between threads, so
+ * callers must only use them through {@code given().spec(...)} and never modify them.
+ */
 public class ApiUtils {
     private static final Logger logger = LogManager.getLogger(ApiUtils.class);
-    private static final String BASE_URL = "https://reqres.in/api";
-    private static final String API_KEY = "reqres-free-v1";
+    private static final String REMOTE_BASE_URL = "https://reqres.in/api";
+    public static final String API_KEY_HEADER = "x-api-key";
+    public static final String API_KEY = "reqres-free-v1";
+    public static final String MODE_PROPERTY = "api.mode";
+    public static final String LOG_ALL_PROPERTY = "api.log.all";
+    public static final String RECORD_PROPERTY = "api.record";
+    
+    private static final Map<String, RequestSpecification> REQUEST_SPECS = new ConcurrentHashMap<>();
+    private static final Map<String, RequestSpecification> AUTH_REQUEST_SPECS = new ConcurrentHashMap<>();
+    private static final LatencyRecordingFilter LATENCY_FILTER = new LatencyRecordingFilter();
+    private static final ExchangeCaptureFilter CAPTURE_FILTER = new ExchangeCaptureFilter();
+    private static final JournalRecordingFilter RECORDING_FILTER = new JournalRecordingFilter();
+    private static final HttpMetricsFilter METRICS_FILTER = new HttpMetricsFilter();
+    private static final PhaseTimingFilter PHASE_FILTER = new PhaseTimingFilter();
+    private static final AllocationTrackingFilter ALLOCATION_FILTER = new AllocationTrackingFilter();
+    private static final ResponseSpecification RESPONSE_SPEC = isLogAll()
+            ? new ResponseSpecBuilder().log(LogDetail.ALL).build()
+            : new ResponseSpecBuilder().build();
+    
+    static {
+        // Written once during class initialization, before any test thread sends a request
+        RestAssured.defaultParser = Parser.JSON;
+    }
+    
+    /**
+     * Checks whether the suite targets the in-process stand-in server instead of reqres.in
+     *
+     * @return true when the system property {@code api.mode} is set to {@code local}
+     */
+    public static boolean isLocalMode() {
+        return "local".equalsIgnoreCase(System.getProperty(MODE_PROPERTY));
+    }
+    
+    /**
+     * Checks whether the suite answers requests from a recorded exchange journal
+     *
+     * @return true when the system property {@code api.mode} is set to {@code replay}
+     */
+    public static boolean isReplayMode() {
+        return "replay".equalsIgnoreCase(System.getProperty(MODE_PROPERTY));
+    }
+    
+    /**
+     * Checks whether every exchange is recorded to the exchange journal for later replay
+     *
+     * @return true when the system property {@code api.record} is set to {@code true}
+     */
+    public static boolean isRecording() {
+        return Boolean.getBoolean(RECORD_PROPERTY);
+    }
+    
+    /**
+     * Resolves the base URL for the selected mode, starting the local or replay server if needed
+     *
+     * @return Base URL of the API under test
+     */
+    public static String getBaseUrl() {
+        if (isReplayMode()) {
+            return ReplayServer.getBaseUrl();
+        }
+        return isLocalMode() ? LocalReqresServer.getBaseUrl() : REMOTE_BASE_URL;
+    }
+    
+    /**
+     * Checks whether every request and response should be logged in full as it happens.
+     * By default exchanges are only captured and written when a test fails or is slow.
+     *
+     * @return true when the system property {@code api.log.all} is set to {@code true}
+     */
+    public static boolean isLogAll() {
+        return Boolean.getBoolean(LOG_ALL_PROPERTY);
+    }
     
     public static RequestSpecification getRequestSpec() {
-        logger.info("Creating base request specification");
-        return new RequestSpecBuilder()
-                .setBaseUri(BASE_URL)
-                .setContentType(ContentType.JSON)
-                .log(LogDetail.ALL)
-                .build();
+        return REQUEST_SPECS.computeIfAbsent(getBaseUrl(), baseUrl -> {
+            logger.info("Creating base request specification for {} over the {} transport", baseUrl, Transport.current().getLabel());
+            return buildRequestSpec(baseUrl, false);
+        });
     }
     
     public static RequestSpecification getRequestSpecWithAuth() {
-        logger.info("Creating request specification with API key auth");
-        return new RequestSpecBuilder()
-                .setBaseUri(BASE_URL)
+        return AUTH_REQUEST_SPECS.computeIfAbsent(getBaseUrl(), baseUrl -> {
+            logger.info("Creating request specification with API key auth for {} over the {} transport", baseUrl, Transport.current().getLabel());
+            return buildRequestSpec(baseUrl, true);
+        });
+    }
+    
+    /**
+     * Builds a new, uncached request specification. Tests should use the cached
+     * {@link #getRequestSpec()} and {@link #getRequestSpecWithAuth()} instead.
+     *
+     * @param baseUrl Base URL of the API under test
+     * @param withApiKey Whether to add the API key header
+     * @return A new request specification sending through the transport selected with {@code -Dapi.transport}
+     */
+    public static RequestSpecification buildRequestSpec(String baseUrl, boolean withApiKey) {
+        return buildRequestSpec(baseUrl, withApiKey, Transport.current());
+    }
+    
+    /**
+     * Builds a new, uncached request specification that sends through a given transport
+     *
+     * @param baseUrl Base URL of the API under test
+     * @param withApiKey Whether to add the API key header
+     * @param transport The engine that sends the requests
+     * @return A new request specification
+     */
+    public static RequestSpecification buildRequestSpec(String baseUrl, boolean withApiKey, Transport transport) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
                 .setContentType(ContentType.JSON)
-                .addHeader("x-api-key", API_KEY)
-                .log(LogDetail.ALL)
+                .setConfig(transport.getConfig());
+        if (withApiKey) {
+            builder.addHeader(API_KEY_HEADER, API_KEY);
+        }
+        if (isRecording()) {
+            builder.addFilter(RECORDING_FILTER);
+        }
+        return withLogging(builder)
+                .addFilter(METRICS_FILTER)
+                .addFilter(LATENCY_FILTER)
+                .addFilter(PHASE_FILTER)
+                .addFilter(ALLOCATION_FILTER)
                 .build();
     }
     
+    private static RequestSpecBuilder withLogging(RequestSpecBuilder builder) {
+        if (isLogAll()) {
+            return builder.log(LogDetail.ALL).addFilter(new ResponseLoggingFilter(LogDetail.ALL));
+        }
+        return builder.addFilter(CAPTURE_FILTER);
+    }
+    
     public static ResponseSpecification getResponseSpec() {
-        logger.info("Creating response specification");
-        return new ResponseSpecBuilder()
-                .log(LogDetail.ALL)
-                .build();
+        return RESPONSE_SPEC;
     }
     
+    /**
+     * Prebuilds the specifications for the selected environment. Unlike earlier versions
+     * this no longer writes {@code RestAssured.requestSpecification}, so it is safe to call
+     * from test classes running in parallel.
+     */
     public static void setupRestAssured() {
-        logger.info("Setting up RestAssured with API key authentication");
-        RestAssured.requestSpecification = getRequestSpecWithAuth();
-        RestAssured.responseSpecification = getResponseSpec();
+        logger.info("Setting up RestAssured with API key authentication against {}", getBaseUrl());
+        getRequestSpec();
+        getRequestSpecWithAuth();
     }
     
     /**
@@ -55,6 +187,6 @@ public class ApiUtils {
      */
     public static RequestSpecification addApiKeyAuth(RequestSpecification requestSpec) {
         logger.info("Adding API key authentication to request");
-        return requestSpec.header("x-api-key", API_KEY);
+        return requestSpec.header(API_KEY_HEADER, API_KEY);
     }
 }
@@ -0,0 +1,250 @@
+package com.reqres.api.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.reqres.api.models.LoginRequest;
+import com.reqres.api.models.UserRequest;
+import com.reqres.api.models.responses.LoginResponse;
+import com.reqres.api.models.responses.SingleUserResponse;
+import com.reqres.api.models.responses.UserCreateResponse;
+import com.reqres.api.models.responses.UserListResponse;
+import com.reqres.api.perf.LatencyRegistry;
+import com.reqres.api.server.FaultInjectingHandler;
+import com.reqres.api.transport.JdkHttpTransport;
+import lombok.Builder;
+import lombok.Singular;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking client for the ReqRes endpoints, sent over the shared {@link JdkHttpTransport} client.
+ * Each call returns at once with a future of the response model, so a single thread can fan out many
+ * requests. At most {@code maxInFlight} requests are sent at a time; further calls wait in a queue and
+ * are sent, in call order, as earlier ones complete. A response with a status outside 2xx completes the
+ * future with an {@link ApiStatusException}.
+ * <p>
+ * Latencies go into the {@link LatencyRegistry} from the moment a request is sent, leaving out its
+ * time in the queue, unless a fault profile header is set. The REST Assured filters are bypassed, so
+ * these calls are not written to a recording journal, captured for the failure logs or counted in the
+ * HTTP metrics; a replayed run cannot answer them.
+ *
+ * <pre>
+ * AsyncApiClient client = AsyncApiClient.builder().maxInFlight(4).build();
+ * List&lt;CompletableFuture&lt;SingleUserResponse&gt;&gt; users = ids.stream().map(client::getUser).collect(toList());
+ * </pre>
+ */
+public class AsyncApiClient {
+    public static final String MAX_IN_FLIGHT_PROPERTY = "async.maxInFlight";
+    private static final int DEFAULT_MAX_IN_FLIGHT = Integer.getInteger(MAX_IN_FLIGHT_PROPERTY, 16);
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final int maxInFlight;
+    private final Duration timeout;
+    private final Map<String, String> headers;
+    private final boolean recordLatency;
+
+    // Guarded by this
+    private final Queue<Runnable> queued = new ArrayDeque<>();
+    private int inFlight;
+    private int peakInFlight;
+    // Permits returned but not yet handed on, and whether a thread is handing them on
+    private int released;
+    private boolean draining;
+
+    /**
+     * @param baseUrl Base URL of the API, {@link ApiUtils#getBaseUrl()} if null
+     * @param maxInFlight Maximum number of requests sent at a time, {@code async.maxInFlight} (default 16) if null
+     * @param timeout Time each request may take once sent, 30 seconds if null
+     * @param headers Extra headers for every request, such as a fault profile; the API key is always sent
+     */
+    @Builder
+    private AsyncApiClient(String baseUrl, Integer maxInFlight, Duration timeout, @Singular Map<String, String> headers) {
+        this.baseUrl = baseUrl != null ? baseUrl : ApiUtils.getBaseUrl();
+        this.maxInFlight = maxInFlight != null ? maxInFlight : DEFAULT_MAX_IN_FLIGHT;
+        this.timeout = timeout != null ? timeout : DEFAULT_TIMEOUT;
+        this.headers = headers;
+        this.recordLatency = !headers.containsKey(FaultInjectingHandler.PROFILE_HEADER);
+        if (this.maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1, got " + this.maxInFlight);
+        }
+    }
+
+    public CompletableFuture<UserListResponse> listUsers(int page, int perPage) {
+        return send("GET", "/users", "?page=" + page + "&per_page=" + perPage, null, UserListResponse.class);
+    }
+
+    public CompletableFuture<SingleUserResponse> getUser(int id) {
+        return send("GET", "/users/" + id, "", null, SingleUserResponse.class);
+    }
+
+    public CompletableFuture<LoginResponse> login(LoginRequest request) {
+        return send("POST", "/login", "", request, LoginResponse.class);
+    }
+
+    public CompletableFuture<UserCreateResponse> createUser(UserRequest request) {
+        return send("POST", "/users", "", request, UserCreateResponse.class);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the largest number of requests that were in flight at the same time
+     *
+     * @return Peak in-flight requests since the client was created
+     */
+    public synchronized int getPeakInFlight() {
+        return peakInFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queued.size();
+    }
+
+    private <T> CompletableFuture<T> send(String method, String path, String query, Object body, Class<T> type) {
+        HttpRequest request;
+        try {
+            request = buildRequest(method, path + query, body);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable dispatch = () -> dispatch(request, path, type, result);
+        synchronized (this) {
+            if (inFlight >= maxInFlight) {
+                queued.add(dispatch);
+                return result;
+            }
+            inFlight++;
+            peakInFlight = Math.max(peakInFlight, inFlight);
+        }
+        dispatch.run();
+        return result;
+    }
+
+    private <T> void dispatch(HttpRequest request, String path, Class<T> type, CompletableFuture<T> result) {
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> response;
+        try {
+            response = JdkHttpTransport.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            release();
+            result.completeExceptionally(e);
+            return;
+        }
+        response.whenComplete((completed, failure) -> {
+            release();
+            if (failure != null) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            if (recordLatency) {
+                LatencyRegistry.forRequest(request.method(), path).recordValue(System.nanoTime() - start);
+            }
+            try {
+                result.complete(parse(completed, type));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Hands the permit of a completed request to the oldest queued one, or returns it. A request that
+     * fails or completes while being dispatched releases its permit again; the thread already draining
+     * picks that up in its loop, so the stack does not grow with the queue.
+     */
+    private void release() {
+        synchronized (this) {
+            released++;
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                if (released == 0) {
+                    draining = false;
+                    return;
+                }
+                released--;
+                next = queued.poll();
+                if (next == null) {
+                    inFlight--;
+                    continue;
+                }
+            }
+            next.run();
+        }
+    }
+
+    private HttpRequest buildRequest(String method, String pathAndQuery, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery))
+                .timeout(timeout)
+                .header(ApiUtils.API_KEY_HEADER, ApiUtils.API_KEY)
+                .header("Accept", "application/json");
+        headers.forEach(builder::header);
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        try {
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(JsonMapper.mapper().writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Unable to serialize " + body.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static <T> T parse(HttpResponse<byte[]> response, Class<T> type) {
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            throw new ApiStatusException(response.request().method() + " " + response.uri(), status,
+                    new String(response.body(), StandardCharsets.UTF_8));
+        }
+        try {
+            return JsonMapper.readerFor(type).readValue(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to parse response of " + response.uri() + " as " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Completes the future of a request answered with a status outside 2xx
+     */
+    public static class ApiStatusException extends RuntimeException {
+        private final int statusCode;
+        private final String body;
+
+        public ApiStatusException(String request, int statusCode, String body) {
+            super(request + " returned status " + statusCode + ": " + body);
+            this.statusCode = statusCode;
+            this.body = body;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String getBody() {
+            return body;
+        }
+    }
+}
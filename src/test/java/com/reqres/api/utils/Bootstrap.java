@@ -0,0 +1,125 @@
+package com.reqres.api.utils;
+
+import com.reqres.api.models.responses.ErrorResponse;
+import com.reqres.api.models.responses.LoginResponse;
+import com.reqres.api.models.responses.RegisterResponse;
+import com.reqres.api.models.responses.ResourceListResponse;
+import com.reqres.api.models.responses.SingleResourceResponse;
+import com.reqres.api.models.responses.SingleUserResponse;
+import com.reqres.api.models.responses.UserCreateResponse;
+import com.reqres.api.models.responses.UserListResponse;
+import com.reqres.api.models.responses.UserUpdateResponse;
+import com.reqres.api.perf.StartupProfiler;
+import io.restassured.RestAssured;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Initializes the expensive parts of the suite on background threads while TestNG is still building its
+ * test graph: the Groovy runtime behind the REST Assured specifications (and the local server they point
+ * at), the compiled JSON schemas and the Jackson deserializers of the response models.
+ * {@code BaseTest} waits for it before the first test. Off unless {@code -Dsuite.preload=true}: the
+ * background threads only overlap TestNG's own startup on a machine with a spare core, so by default
+ * each part is initialized on first use.
+ */
+public final class Bootstrap {
+    private static final Logger logger = LogManager.getLogger(Bootstrap.class);
+    public static final String PRELOAD_PROPERTY = "suite.preload";
+    private static final Class<?>[] RESPONSE_MODELS = {
+            SingleUserResponse.class, UserListResponse.class, SingleResourceResponse.class, ResourceListResponse.class,
+            LoginResponse.class, RegisterResponse.class, UserCreateResponse.class, UserUpdateResponse.class,
+            ErrorResponse.class
+    };
+
+    private static CompletableFuture<Void> preload;
+
+    private Bootstrap() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(PRELOAD_PROPERTY);
+    }
+
+    /**
+     * Starts preloading on background threads unless it is disabled or already started
+     */
+    public static synchronized void start() {
+        if (preload != null || !isEnabled()) {
+            return;
+        }
+        List<Runnable> tasks = new ArrayList<>();
+        tasks.add(() -> timed("rest-assured", Bootstrap::warmRestAssured));
+        tasks.add(() -> timed("json-schema", SchemaRegistry::preloadAll));
+        tasks.add(() -> timed("jackson", Bootstrap::warmJackson));
+
+        int threads = Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "suite-preload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Preloading REST Assured, JSON schemas and Jackson on {} background threads", threads);
+        preload = CompletableFuture.allOf(tasks.stream()
+                        .map(task -> CompletableFuture.runAsync(task, executor))
+                        .toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, failure) -> {
+                    executor.shutdown();
+                    StartupProfiler.mark(StartupProfiler.PRELOAD_DONE);
+                });
+    }
+
+    /**
+     * Waits for the preloading started by {@link #start()}; returns at once if it was never started
+     *
+     * @throws IllegalStateException If a part failed to initialize, such as an invalid JSON schema
+     */
+    public static void await() {
+        CompletableFuture<Void> started;
+        synchronized (Bootstrap.class) {
+            started = preload;
+        }
+        if (started == null) {
+            return;
+        }
+        try {
+            started.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new IllegalStateException("Preloading failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static void warmRestAssured() {
+        // Builds the cached specifications, starting the local or replay server if the mode needs one,
+        // and merges one the way BaseTest.givenWithApiKey() does so Groovy's call sites are linked
+        ApiUtils.setupRestAssured();
+        RestAssured.given().spec(ApiUtils.getRequestSpecWithAuth());
+        ApiUtils.getResponseSpec();
+    }
+
+    private static void warmJackson() {
+        for (Class<?> model : RESPONSE_MODELS) {
+            try {
+                JsonMapper.readerFor(model).readValue("{}");
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to bind an empty " + model.getSimpleName(), e);
+            }
+        }
+    }
+
+    private static void timed(String part, Runnable warmUp) {
+        long start = System.nanoTime();
+        warmUp.run();
+        logger.info("Preloaded {} in {} ms", part, (System.nanoTime() - start) / 1_000_000);
+        StartupProfiler.mark("preloaded " + part);
+    }
+}
@@ -1,15 +1,48 @@
 package com.reqres.api.utils;
 
+import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.Assert;
 
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 public class DataValidator {
     private static final Logger logger = LogManager.getLogger(DataValidator.class);
 
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(".+@.+\\..+");
+    private static final Pattern COLOR_PATTERN = Pattern.compile("#[A-Fa-f0-9]{6}|[A-Za-z]+");
+
+    private static final StreamingArrayValidator USER_FIELDS = StreamingArrayValidator.forArray("data")
+            .required("id")
+            .matches("email", EMAIL_PATTERN, "Email should be in valid format")
+            .required("first_name")
+            .required("last_name")
+            .startsWith("avatar", "https://", "Avatar should be a valid HTTPS URL")
+            .build();
+
+    private static final StreamingArrayValidator RESOURCE_FIELDS = StreamingArrayValidator.forArray("data")
+            .required("id")
+            .required("name")
+            .required("year")
+            .matches("color", COLOR_PATTERN, "Color should be a color name or hex code")
+            .required("pantone_value")
+            .build();
+
+    private static final StreamingArrayValidator USER_LIST_TYPES = StreamingArrayValidator.forArray("data")
+            .rootInteger("page", "should be an integer")
+            .rootInteger("per_page", "should be an integer")
+            .rootInteger("total", "should be an integer")
+            .rootInteger("total_pages", "should be an integer")
+            .integer("id", "should be an integer")
+            .string("email", "should be a string")
+            .string("first_name", "should be a string")
+            .string("last_name", "should be a string")
+            .string("avatar", "should be a string")
+            .build();
+
     public static void validatePageData(Map<String, Object> response, int expectedPage, int expectedPerPage) {
         logger.info("Validating page data with expected page: {} and perPage: {}", expectedPage, expectedPerPage);
         
@@ -39,7 +72,7 @@ public class DataValidator {
             Assert.assertNotNull(user.get("avatar"), "User avatar must not be null");
             
             String email = (String) user.get("email");
-            Assert.assertTrue(email.matches(".+@.+\\..+"), "Email should be in valid format");
+            Assert.assertTrue(EMAIL_PATTERN.matcher(email).matches(), "Email should be in valid format");
             
             String avatar = (String) user.get("avatar");
             Assert.assertTrue(avatar.startsWith("https://"), "Avatar should be a valid HTTPS URL");
@@ -57,8 +90,42 @@ public class DataValidator {
             Assert.assertNotNull(resource.get("pantone_value"), "Resource pantone_value must not be null");
             
             String color = (String) resource.get("color");
-            Assert.assertTrue(color.matches("^#([A-Fa-f0-9]{6})$") || 
-                              color.matches("^[A-Za-z]+$"), "Color should be a color name or hex code");
+            Assert.assertTrue(COLOR_PATTERN.matcher(color).matches(), "Color should be a color name or hex code");
         }
     }
+
+    /**
+     * Streams the {@code data} array of a user list response and validates each user as it is parsed,
+     * without materializing the users as maps
+     *
+     * @param response The REST-assured response object
+     * @return Number of users validated
+     */
+    public static int validateConsistentUserFields(Response response) {
+        logger.info("Streaming validation of consistent user fields in response");
+        return USER_FIELDS.validate(response);
+    }
+
+    /**
+     * Streams a user list response and checks the JSON types of the pagination fields and of every user's fields
+     *
+     * @param response The REST-assured response object
+     * @return Number of users validated
+     */
+    public static int validateUserListTypes(Response response) {
+        logger.info("Streaming validation of user list field types in response");
+        return USER_LIST_TYPES.validate(response);
+    }
+
+    /**
+     * Streams the {@code data} array of a resource list response and validates each resource as it is parsed,
+     * without materializing the resources as maps
+     *
+     * @param response The REST-assured response object
+     * @return Number of resources validated
+     */
+    public static int validateConsistentResourceFields(Response response) {
+        logger.info("Streaming validation of consistent resource fields in response");
+        return RESOURCE_FIELDS.validate(response);
+    }
 }
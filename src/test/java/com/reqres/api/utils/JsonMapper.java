@@ -0,0 +1,39 @@
+package com.reqres.api.utils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the single Jackson {@link ObjectMapper} shared by the suite. The Blackbird module
+ * replaces reflective getter, setter and constructor calls on the Lombok models with
+ * generated lambdas, and readers are cached per type so their deserializers are resolved once.
+ */
+public final class JsonMapper {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new BlackbirdModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private JsonMapper() {
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Returns the cached, thread-safe reader for a type
+     *
+     * @param type The type to bind to
+     * @return Reader bound to the type
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        ObjectReader reader = READERS.get(type);
+        return reader != null ? reader : READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+}
@@ -0,0 +1,18 @@
+package com.reqres.api.utils;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Upper bounds in milliseconds for the percentiles of a latency distribution.
+ * Bounds left unset are not checked.
+ */
+@Getter
+@Builder
+public class LatencyThresholds {
+    private Long p50;
+    private Long p90;
+    private Long p99;
+    private Long p999;
+    private Long max;
+}
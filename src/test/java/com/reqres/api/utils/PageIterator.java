@@ -0,0 +1,163 @@
+package com.reqres.api.utils;
+
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over every page of a paginated endpoint such as {@code /users} or {@code /unknown}.
+ * The first page is fetched on creation to read {@code total_pages}; after that up to
+ * {@code prefetch} following pages are fetched in the background while the caller works on
+ * the current one. A page is only requested once the caller has received a page from the
+ * buffer, so at most {@code prefetch} pages are buffered besides the one the caller holds,
+ * however many pages there are. Prefetches of all iterators share {@code page.prefetchThreads}
+ * threads, 4 by default, and send their requests with the calling test's {@link RequestContext}.
+ *
+ * <pre>
+ * try (PageIterator&lt;UserListResponse&gt; pages = PageIterator.of(UserListResponse.class,
+ *         UserListResponse::getTotal_pages, 2,
+ *         page -&gt; givenWithApiKey().queryParam("page", page).get("/users"))) {
+ *     pages.forEachRemaining(page -&gt; ...);
+ * }
+ * </pre>
+ */
+public final class PageIterator<P> implements Iterator<P>, AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(PageIterator.class);
+    public static final String THREADS_PROPERTY = "page.prefetchThreads";
+    private static final ExecutorService SHARED_WORKERS = Executors.newFixedThreadPool(
+            Integer.getInteger(THREADS_PROPERTY, 4), daemonThreadFactory());
+
+    private final Class<P> pageType;
+    private final IntFunction<Response> fetchPage;
+    private final int prefetch;
+    private final int totalPages;
+    private final Deque<CompletableFuture<P>> buffer = new ArrayDeque<>();
+    private int nextPageToRequest;
+    private int pagesReturned;
+
+    private PageIterator(Class<P> pageType, ToIntFunction<P> totalPages, int prefetch, IntFunction<Response> fetchPage) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("Prefetch must be at least 1");
+        }
+        this.pageType = pageType;
+        this.fetchPage = fetchPage;
+        this.prefetch = prefetch;
+
+        P firstPage = fetch(1);
+        this.totalPages = totalPages.applyAsInt(firstPage);
+        this.buffer.add(CompletableFuture.completedFuture(firstPage));
+        this.nextPageToRequest = 2;
+        fillBuffer();
+        logger.info("Iterating {} pages of {} with prefetch {}", this.totalPages, pageType.getSimpleName(), prefetch);
+    }
+
+    /**
+     * Fetches the first page and starts prefetching the following ones
+     *
+     * @param pageType Model the pages are bound to, such as {@code UserListResponse}
+     * @param totalPages Reads {@code total_pages} from the first page
+     * @param prefetch How many pages to fetch ahead of the caller
+     * @param fetchPage Sends the request for a 1-based page number
+     * @return The iterator, positioned before the first page
+     */
+    public static <P> PageIterator<P> of(Class<P> pageType, ToIntFunction<P> totalPages, int prefetch,
+                                         IntFunction<Response> fetchPage) {
+        return new PageIterator<>(pageType, totalPages, prefetch, fetchPage);
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !buffer.isEmpty();
+    }
+
+    @Override
+    public P next() {
+        CompletableFuture<P> head = buffer.poll();
+        if (head == null) {
+            throw new NoSuchElementException("All " + totalPages + " pages have been returned");
+        }
+        P page;
+        try {
+            page = head.join();
+        } catch (CompletionException e) {
+            close();
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        pagesReturned++;
+        fillBuffer();
+        return page;
+    }
+
+    /**
+     * Streams the remaining pages; closing the stream cancels pages still being prefetched
+     *
+     * @return Sequential stream of pages in page order
+     */
+    public Stream<P> stream() {
+        return StreamSupport.stream(Spliterators.spliterator(this, totalPages - pagesReturned,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    /**
+     * Streams the items of the remaining pages, for checks over a whole dataset
+     *
+     * @param items Extracts the items of a page, such as {@code UserListResponse::getData}
+     * @return Sequential stream of items in page order
+     */
+    public <T> Stream<T> items(Function<P, List<T>> items) {
+        return stream().flatMap(page -> items.apply(page).stream());
+    }
+
+    @Override
+    public void close() {
+        buffer.forEach(page -> page.cancel(false));
+        buffer.clear();
+    }
+
+    private void fillBuffer() {
+        while (buffer.size() < prefetch && nextPageToRequest <= totalPages) {
+            int page = nextPageToRequest++;
+            buffer.add(CompletableFuture.supplyAsync(RequestContext.propagate(() -> fetch(page)), SHARED_WORKERS));
+        }
+    }
+
+    private P fetch(int page) {
+        Response response = fetchPage.apply(page);
+        if (response.getStatusCode() != 200) {
+            throw new IllegalStateException("Page " + page + " returned status " + response.getStatusCode());
+        }
+        return ResponseHandler.parse(response, pageType);
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "page-prefetch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,9 +1,24 @@
 package com.reqres.api.utils;
 
+import com.reqres.api.listeners.ShardingListener;
+import com.reqres.api.perf.AllocationRegistry;
+import com.reqres.api.perf.BaselineStore;
+import com.reqres.api.perf.LatencyHistogram;
+import com.reqres.api.perf.LatencyRecorder;
+import com.reqres.api.perf.LatencyRegistry;
+import com.reqres.api.perf.MannWhitneyU;
+import com.reqres.api.perf.Phase;
+import com.reqres.api.perf.PhaseRegistry;
+import com.reqres.api.perf.SoakResult;
+import com.reqres.api.replay.ReplayServer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.Assert;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import io.restassured.response.Response;
@@ -14,6 +29,13 @@ public class PerformanceValidator {
     // Default threshold for response time in milliseconds
     private static final long DEFAULT_RESPONSE_TIME_THRESHOLD = 2000;
     
+    // Regression detection against the latency history, see validateNoRegression
+    private static final int BASELINE_RUNS = Integer.getInteger("perf.baseline.runs", 5);
+    private static final double REGRESSION_Z = Double.parseDouble(System.getProperty("perf.regression.z", "3.09"));
+    private static final double REGRESSION_MIN_SHIFT = Double.parseDouble(System.getProperty("perf.regression.minShift", "1.5"));
+    private static final long MIN_BASELINE_SAMPLES = 20;
+    private static final long MIN_CURRENT_SAMPLES = 5;
+    
     public static void validateResponseTime(Response response) {
         validateResponseTime(response, DEFAULT_RESPONSE_TIME_THRESHOLD);
     }
@@ -25,4 +47,217 @@ public class PerformanceValidator {
         Assert.assertTrue(responseTime <= thresholdMillis, 
                 "Response time (" + responseTime + " ms) exceeds threshold of " + thresholdMillis + " ms");
     }
+    
+    /**
+     * Validates the latency percentiles recorded so far for an endpoint in the {@link LatencyRegistry}
+     *
+     * @param endpoint Endpoint key such as {@code GET /users/{id}}
+     * @param thresholds Percentile upper bounds in milliseconds
+     */
+    public static void validatePercentiles(String endpoint, LatencyThresholds thresholds) {
+        LatencyHistogram histogram = LatencyRegistry.getAll().get(endpoint);
+        Assert.assertNotNull(histogram, "No latency samples recorded for " + endpoint);
+        validatePercentiles(endpoint, histogram, thresholds);
+    }
+    
+    /**
+     * Validates the coordinated-omission-corrected percentiles of a recorder and logs the raw
+     * distribution next to them, so the queueing delay hidden by raw timings is visible
+     *
+     * @param description Name of the measured operation used in log and assertion messages
+     * @param recorder The recorded raw and corrected latencies
+     * @param thresholds Percentile upper bounds in milliseconds, applied to the corrected distribution
+     */
+    public static void validatePercentiles(String description, LatencyRecorder recorder, LatencyThresholds thresholds) {
+        logPercentiles(description + " (raw)", recorder.getRaw());
+        validatePercentiles(description + " (corrected)", recorder.getCorrected(), thresholds);
+    }
+    
+    /**
+     * Validates the percentiles of a latency histogram, reporting every exceeded bound at once
+     *
+     * @param description Name of the measured operation used in log and assertion messages
+     * @param histogram The recorded latencies
+     * @param thresholds Percentile upper bounds in milliseconds
+     */
+    public static void validatePercentiles(String description, LatencyHistogram histogram, LatencyThresholds thresholds) {
+        Assert.assertTrue(histogram.getTotalCount() > 0, "No latency samples recorded for " + description);
+        logPercentiles(description, histogram);
+        
+        List<String> violations = new ArrayList<>();
+        checkPercentile(violations, "p50", histogram.getValueAtPercentile(50.0), thresholds.getP50());
+        checkPercentile(violations, "p90", histogram.getValueAtPercentile(90.0), thresholds.getP90());
+        checkPercentile(violations, "p99", histogram.getValueAtPercentile(99.0), thresholds.getP99());
+        checkPercentile(violations, "p99.9", histogram.getValueAtPercentile(99.9), thresholds.getP999());
+        checkPercentile(violations, "max", histogram.getMaxValue(), thresholds.getMax());
+        
+        Assert.assertTrue(violations.isEmpty(), "Latency of " + description + " exceeds thresholds: " + violations);
+    }
+    
+    /**
+     * Validates that the latencies recorded so far for an endpoint in the {@link LatencyRegistry}
+     * are not significantly slower than in earlier runs
+     *
+     * @param endpoint Endpoint key such as {@code GET /users/{id}}
+     */
+    public static void validateNoRegression(String endpoint) {
+        LatencyHistogram histogram = LatencyRegistry.getAll().get(endpoint);
+        Assert.assertNotNull(histogram, "No latency samples recorded for " + endpoint);
+        validateNoRegression(endpoint, histogram);
+    }
+    
+    /**
+     * Compares a run's latencies with the rolling baseline of the most recent passing runs stored under
+     * {@code target/perf-history}, then appends this run to the history. Fails when a one-sided Mann-Whitney U
+     * test finds this run slower at the 0.1% level ({@code perf.regression.z}) and its median is at least
+     * 50% above the baseline median ({@code perf.regression.minShift}). Passes while there is too little history.
+     *
+     * @param key Stable name of the measurement, used to find earlier runs
+     * @param histogram The latencies of this run
+     */
+    public static void validateNoRegression(String key, LatencyHistogram histogram) {
+        BaselineStore store = BaselineStore.forEnvironment(historyEnvironment());
+        LatencyHistogram baseline = store.loadBaseline(key, BASELINE_RUNS);
+        if (baseline.getTotalCount() < MIN_BASELINE_SAMPLES || histogram.getTotalCount() < MIN_CURRENT_SAMPLES) {
+            logger.info("Not enough latency history for {} yet ({} baseline samples), recording this run only",
+                    key, baseline.getTotalCount());
+            store.append(key, histogram, true);
+            return;
+        }
+        
+        MannWhitneyU.Comparison comparison = MannWhitneyU.compare(histogram, baseline);
+        double medianShift = (double) histogram.getValueAtPercentile(50.0) / Math.max(1, baseline.getValueAtPercentile(50.0));
+        boolean regressed = comparison.getZ() > REGRESSION_Z && medianShift >= REGRESSION_MIN_SHIFT;
+        String summary = String.format(Locale.ROOT,
+                "%s: p50 %s ms vs baseline %s ms (x%.2f), p99 %s ms vs %s ms, z=%.2f, p=%.4f, P(slower)=%.2f, n=%d vs %d",
+                key, toMillis(histogram.getValueAtPercentile(50.0)), toMillis(baseline.getValueAtPercentile(50.0)),
+                medianShift, toMillis(histogram.getValueAtPercentile(99.0)), toMillis(baseline.getValueAtPercentile(99.0)),
+                comparison.getZ(), comparison.getPValue(), comparison.getProbabilitySlower(), histogram.getTotalCount(), baseline.getTotalCount());
+        logger.info("Latency against baseline for {}", summary);
+        store.append(key, histogram, !regressed);
+        
+        Assert.assertFalse(regressed, "Latency regression for " + summary);
+    }
+    
+    // Shards running side by side compete for the same host, so their latencies get a history of their own
+    private static String historyEnvironment() {
+        String environment = ApiUtils.isLocalMode() ? "local" : "remote";
+        if (ApiUtils.isReplayMode()) {
+            // Replay latencies are the stub's own unless the recorded timing is preserved
+            environment = ReplayServer.isRecordedTiming() ? "replay-timed" : "replay";
+        }
+        int shards = Integer.getInteger(ShardingListener.COUNT_PROPERTY, 1);
+        return shards > 1 ? environment + "-" + shards + "shards" : environment;
+    }
+    
+    public static void logPercentiles(String description, LatencyHistogram histogram) {
+        logger.info("Latency for {}: count={} p50={} ms p90={} ms p99={} ms p99.9={} ms max={} ms",
+                description, histogram.getTotalCount(),
+                toMillis(histogram.getValueAtPercentile(50.0)),
+                toMillis(histogram.getValueAtPercentile(90.0)),
+                toMillis(histogram.getValueAtPercentile(99.0)),
+                toMillis(histogram.getValueAtPercentile(99.9)),
+                toMillis(histogram.getMaxValue()));
+    }
+    
+    /**
+     * Validates a soak run: the error rate and, for runs long enough to show trends, latency drift from the
+     * first to the last quarter of the run, growth of the heap left after garbage collection, and thread and
+     * file descriptor leaks.
+     * Latency drift counts when the last quarter is significantly slower by the Mann-Whitney U test used
+     * for regressions ({@code perf.regression.z}) and its p99 exceeds the first quarter's by the allowed ratio.
+     *
+     * @param result The soak run
+     * @param limits The allowed trends
+     */
+    public static void validateSoak(SoakResult result, SoakLimits limits) {
+        List<String> violations = new ArrayList<>();
+        long requests = result.getRequestCount();
+        long errors = result.getErrorCount();
+        if (requests > 0 && (double) errors / requests > limits.getMaxErrorRate()) {
+            violations.add(errors + " of " + requests + " requests failed");
+        }
+        
+        LatencyHistogram first = result.getFirstQuarterLatency();
+        LatencyHistogram last = result.getLastQuarterLatency();
+        double drift = (double) last.getValueAtPercentile(99.0) / Math.max(1, first.getValueAtPercentile(99.0));
+        double z = first.getTotalCount() == 0 || last.getTotalCount() == 0 ? 0 : MannWhitneyU.compare(last, first).getZ();
+        double heapGrowthMb = result.getHeapGrowthPerHour() / (1024 * 1024);
+        if (result.getSteadySamples().size() < limits.getMinTrendSamples()
+                || result.getSteadyDuration().compareTo(limits.getMinTrendDuration()) < 0) {
+            logger.info("Soak of {} has {} intervals over {} s after the first, too short to judge trends (needs {} over {} s)",
+                    result.getDescription(), result.getSteadySamples().size(), result.getSteadyDuration().getSeconds(),
+                    limits.getMinTrendSamples(), limits.getMinTrendDuration().getSeconds());
+        } else {
+            if (z > REGRESSION_Z && drift > limits.getMaxLatencyDrift()) {
+                violations.add(String.format(Locale.ROOT, "p99 drifted from %s ms to %s ms (x%.2f, z=%.2f)",
+                        toMillis(first.getValueAtPercentile(99.0)), toMillis(last.getValueAtPercentile(99.0)), drift, z));
+            }
+            if (heapGrowthMb > limits.getMaxHeapGrowthMbPerHour()) {
+                violations.add(String.format(Locale.ROOT, "heap after GC grows by %.1f MB/h > %d MB/h",
+                        heapGrowthMb, limits.getMaxHeapGrowthMbPerHour()));
+            }
+            if (result.getThreadGrowth() > limits.getMaxThreadGrowth()) {
+                violations.add("thread count floor rose by " + result.getThreadGrowth() + " > " + limits.getMaxThreadGrowth());
+            }
+            if (result.getFileDescriptorGrowth() > limits.getMaxFileDescriptorGrowth()) {
+                violations.add("open file descriptor floor rose by " + result.getFileDescriptorGrowth()
+                        + " > " + limits.getMaxFileDescriptorGrowth());
+            }
+        }
+        
+        logger.info("Soak of {}: {} intervals, {} requests, {} errors, p99 x{} (z={}), heap after GC {} MB/h, threads {}, fds {}",
+                result.getDescription(), result.getSamples().size(), requests, errors,
+                String.format(Locale.ROOT, "%.2f", drift), String.format(Locale.ROOT, "%.2f", z),
+                String.format(Locale.ROOT, "%.1f", heapGrowthMb), String.format(Locale.ROOT, "%+d", result.getThreadGrowth()),
+                String.format(Locale.ROOT, "%+d", result.getFileDescriptorGrowth()));
+        Assert.assertTrue(violations.isEmpty(), "Soak of " + result.getDescription() + " failed: " + String.join(", ", violations));
+    }
+    
+    /**
+     * Logs the p50 and p99 of each phase recorded so far for an endpoint in the {@link PhaseRegistry},
+     * separating connection setup and transfer from the time the server takes to answer
+     *
+     * @param endpoint Endpoint key in the form {@code METHOD /templated/path}
+     */
+    public static void logPhaseBreakdown(String endpoint) {
+        Map<String, LatencyHistogram> phases = PhaseRegistry.getAll();
+        StringBuilder breakdown = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = phases.get(PhaseRegistry.key(endpoint, phase));
+            if (histogram == null || histogram.getTotalCount() == 0) {
+                continue;
+            }
+            breakdown.append(' ').append(phase.getLabel())
+                    .append(" p50=").append(toMillis(histogram.getValueAtPercentile(50.0)))
+                    .append(" p99=").append(toMillis(histogram.getValueAtPercentile(99.0)));
+        }
+        logger.info("Phases for {} in ms:{}", endpoint, breakdown.length() > 0 ? breakdown : " none recorded");
+    }
+    
+    /**
+     * Logs the median and p99 bytes allocated per exchange with an endpoint across the suite so far
+     *
+     * @param endpoint Endpoint key in the form {@code METHOD /templated/path}
+     */
+    public static void logAllocations(String endpoint) {
+        LatencyHistogram histogram = AllocationRegistry.getAll().get(endpoint);
+        if (histogram == null || histogram.getTotalCount() == 0) {
+            logger.info("Allocations for {}: none recorded", endpoint);
+            return;
+        }
+        logger.info("Allocations for {} in KB: p50={} p99={} over {} exchanges", endpoint,
+                histogram.getValueAtPercentile(50.0) / 1024, histogram.getValueAtPercentile(99.0) / 1024,
+                histogram.getTotalCount());
+    }
+    
+    private static void checkPercentile(List<String> violations, String name, long valueNanos, Long thresholdMillis) {
+        if (thresholdMillis != null && valueNanos > TimeUnit.MILLISECONDS.toNanos(thresholdMillis)) {
+            violations.add(name + "=" + toMillis(valueNanos) + " ms > " + thresholdMillis + " ms");
+        }
+    }
+    
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
 }
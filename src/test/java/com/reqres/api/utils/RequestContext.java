@@ -0,0 +1,111 @@
+package com.reqres.api.utils;
+
+import com.reqres.api.logging.ExchangeCapture;
+import com.reqres.api.perf.AllocationTracker;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread request context. Each test thread gets its own context, so tests
+ * running in parallel never share or mutate request state. Work a test hands to
+ * pool threads is wrapped with {@link #propagate} so it sends the test's requests.
+ */
+public final class RequestContext {
+    private static final ThreadLocal<RequestContext> CURRENT = ThreadLocal.withInitial(RequestContext::new);
+
+    private String testName = "unknown";
+    private RequestSpecification requestSpec;
+
+    private RequestContext() {
+    }
+
+    /**
+     * Returns the context bound to the calling thread
+     *
+     * @return RequestContext of the current thread
+     */
+    public static RequestContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts a new context for a test method on the calling thread
+     *
+     * @param testName Name of the test method being executed
+     * @return The fresh context
+     */
+    public static RequestContext begin(String testName) {
+        RequestContext context = new RequestContext();
+        context.testName = testName;
+        CURRENT.set(context);
+        return context;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wraps a task so that it runs with the calling test's context and exchange capture on
+     * whichever thread executes it. When the task ends the thread's open allocation exchange
+     * is closed and its previous bindings are restored, so pooled threads keep nothing of the test.
+     *
+     * @param task The work to run on another thread
+     * @return The wrapped task
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestContext context = CURRENT.get();
+        ExchangeCapture capture = ExchangeCapture.current();
+        return () -> {
+            RequestContext previousContext = CURRENT.get();
+            ExchangeCapture previousCapture = ExchangeCapture.current();
+            CURRENT.set(context);
+            ExchangeCapture.bind(capture);
+            try {
+                return task.get();
+            } finally {
+                AllocationTracker.end();
+                CURRENT.set(previousContext);
+                ExchangeCapture.bind(previousCapture);
+            }
+        };
+    }
+
+    /**
+     * Wraps a task like {@link #propagate(Supplier)}
+     *
+     * @param task The work to run on another thread
+     * @return The wrapped task
+     */
+    public static Runnable propagate(Runnable task) {
+        Supplier<Void> wrapped = propagate(() -> {
+            task.run();
+            return null;
+        });
+        return wrapped::get;
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    /**
+     * Returns the specification requests on this thread are based on. Defaults to the
+     * shared, prebuilt specification with API key authentication for the current environment.
+     *
+     * @return RequestSpecification to pass to {@code given().spec(...)}
+     */
+    public RequestSpecification getRequestSpec() {
+        return requestSpec != null ? requestSpec : ApiUtils.getRequestSpecWithAuth();
+    }
+
+    /**
+     * Overrides the base specification for the remainder of the current test on this thread only
+     *
+     * @param requestSpec The specification to use instead of the default one
+     */
+    public void setRequestSpec(RequestSpecification requestSpec) {
+        this.requestSpec = requestSpec;
+    }
+}
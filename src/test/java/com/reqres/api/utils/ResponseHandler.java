@@ -5,12 +5,24 @@ import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 /**
- * Utility class for handling API responses and converting them to model objects
+ * Utility class for handling API responses and converting them to model objects.
+ * Bodies are bound with the shared {@link JsonMapper} and the result is memoized per
+ * response instance, so repeated calls for the same response return the same object.
  */
 public class ResponseHandler {
     private static final Logger logger = LogManager.getLogger(ResponseHandler.class);
 
+    // REST Assured responses use identity equality, so the weak keys are dropped with the response
+    private static final Map<Response, Map<Class<?>, Object>> PARSED = Collections.synchronizedMap(new WeakHashMap<>());
+
     /**
      * Parse a SingleUserResponse from the API response
      * 
@@ -19,7 +31,7 @@ public class ResponseHandler {
      */
     public static SingleUserResponse getSingleUser(Response response) {
         logger.info("Parsing SingleUserResponse");
-        return response.as(SingleUserResponse.class);
+        return parse(response, SingleUserResponse.class);
     }
     
     /**
@@ -30,7 +42,7 @@ public class ResponseHandler {
      */
     public static UserListResponse getUserList(Response response) {
         logger.info("Parsing UserListResponse");
-        return response.as(UserListResponse.class);
+        return parse(response, UserListResponse.class);
     }
     
     /**
@@ -41,7 +53,7 @@ public class ResponseHandler {
      */
     public static SingleResourceResponse getSingleResource(Response response) {
         logger.info("Parsing SingleResourceResponse");
-        return response.as(SingleResourceResponse.class);
+        return parse(response, SingleResourceResponse.class);
     }
     
     /**
@@ -52,7 +64,7 @@ public class ResponseHandler {
      */
     public static ResourceListResponse getResourceList(Response response) {
         logger.info("Parsing ResourceListResponse");
-        return response.as(ResourceListResponse.class);
+        return parse(response, ResourceListResponse.class);
     }
     
     /**
@@ -63,7 +75,7 @@ public class ResponseHandler {
      */
     public static LoginResponse getLogin(Response response) {
         logger.info("Parsing LoginResponse");
-        return response.as(LoginResponse.class);
+        return parse(response, LoginResponse.class);
     }
     
     /**
@@ -74,7 +86,7 @@ public class ResponseHandler {
      */
     public static RegisterResponse getRegister(Response response) {
         logger.info("Parsing RegisterResponse");
-        return response.as(RegisterResponse.class);
+        return parse(response, RegisterResponse.class);
     }
     
     /**
@@ -85,7 +97,7 @@ public class ResponseHandler {
      */
     public static UserCreateResponse getUserCreate(Response response) {
         logger.info("Parsing UserCreateResponse");
-        return response.as(UserCreateResponse.class);
+        return parse(response, UserCreateResponse.class);
     }
     
     /**
@@ -96,7 +108,7 @@ public class ResponseHandler {
      */
     public static UserUpdateResponse getUserUpdate(Response response) {
         logger.info("Parsing UserUpdateResponse");
-        return response.as(UserUpdateResponse.class);
+        return parse(response, UserUpdateResponse.class);
     }
     
     /**
@@ -107,6 +119,26 @@ public class ResponseHandler {
      */
     public static ErrorResponse getError(Response response) {
         logger.info("Parsing ErrorResponse");
-        return response.as(ErrorResponse.class);
+        return parse(response, ErrorResponse.class);
+    }
+
+    /**
+     * Binds the response body to a type, reusing an earlier result for the same response
+     *
+     * @param response The REST-assured response object
+     * @param type The model type
+     * @return The bound model
+     */
+    public static <T> T parse(Response response, Class<T> type) {
+        Map<Class<?>, Object> parsed = PARSED.computeIfAbsent(response, key -> Collections.synchronizedMap(new IdentityHashMap<>()));
+        return type.cast(parsed.computeIfAbsent(type, key -> read(response, type)));
+    }
+
+    private static <T> T read(Response response, Class<T> type) {
+        try {
+            return JsonMapper.readerFor(type).readValue(response.asByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to parse response as " + type.getSimpleName(), e);
+        }
     }
 }
@@ -0,0 +1,131 @@
+package com.reqres.api.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Loads and compiles the JSON schemas under {@code schemas/} once and caches the compiled
+ * schemas for the rest of the suite. Schemas are read through the class loader, so they
+ * resolve both from a directory and from inside a jar.
+ */
+public final class SchemaRegistry {
+    private static final Logger logger = LogManager.getLogger(SchemaRegistry.class);
+    private static final String SCHEMA_PATH = "schemas/";
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.byDefault();
+    private static final ConcurrentMap<String, JsonSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private SchemaRegistry() {
+    }
+
+    /**
+     * Compiles every schema found under {@code schemas/} in parallel
+     *
+     * @return Number of schemas available in the registry
+     */
+    public static int preloadAll() {
+        long start = System.nanoTime();
+        Set<String> names = listSchemaNames();
+        CompletableFuture.allOf(names.stream()
+                        .map(name -> CompletableFuture.runAsync(() -> get(name)))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+        logger.info("Compiled {} JSON schemas in {} ms", names.size(), (System.nanoTime() - start) / 1_000_000);
+        return SCHEMAS.size();
+    }
+
+    /**
+     * Returns the compiled schema, loading and compiling it on first use
+     *
+     * @param schemaFileName File name of the schema relative to {@code schemas/}
+     * @return The compiled schema
+     */
+    public static JsonSchema get(String schemaFileName) {
+        JsonSchema schema = SCHEMAS.get(schemaFileName);
+        return schema != null ? schema : SCHEMAS.computeIfAbsent(schemaFileName, SchemaRegistry::compile);
+    }
+
+    private static JsonSchema compile(String schemaFileName) {
+        try (InputStream in = SchemaRegistry.class.getClassLoader().getResourceAsStream(SCHEMA_PATH + schemaFileName)) {
+            if (in == null) {
+                throw new RuntimeException("Schema file not found: " + schemaFileName);
+            }
+            JsonNode schemaNode = JsonMapper.mapper().readTree(in);
+            // getJsonSchema only wraps the node; checking the syntax and building the validators
+            // would otherwise wait for the first validation
+            ProcessingReport syntax = FACTORY.getSyntaxValidator().validateSchema(schemaNode);
+            if (!syntax.isSuccess()) {
+                List<String> problems = new ArrayList<>();
+                syntax.forEach(message -> problems.add(message.getMessage()));
+                throw new IllegalStateException("Invalid JSON schema " + schemaFileName + ": " + problems);
+            }
+            JsonSchema schema = FACTORY.getJsonSchema(schemaNode);
+            schema.validate(NullNode.getInstance());
+            return schema;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read schema: " + schemaFileName, e);
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("Invalid JSON schema " + schemaFileName + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Set<String> listSchemaNames() {
+        Set<String> names = new TreeSet<>();
+        try {
+            Enumeration<URL> roots = SchemaRegistry.class.getClassLoader().getResources(SCHEMA_PATH);
+            for (URL root : Collections.list(roots)) {
+                if ("jar".equals(root.getProtocol())) {
+                    JarURLConnection connection = (JarURLConnection) root.openConnection();
+                    connection.setUseCaches(false);
+                    try (JarFile jar = connection.getJarFile()) {
+                        for (JarEntry entry : Collections.list(jar.entries())) {
+                            String entryName = entry.getName();
+                            if (entryName.startsWith(SCHEMA_PATH) && entryName.endsWith(".json")) {
+                                names.add(entryName.substring(SCHEMA_PATH.length()));
+                            }
+                        }
+                    }
+                } else {
+                    Path directory = Paths.get(root.toURI());
+                    try (Stream<Path> files = Files.list(directory)) {
+                        files.map(file -> file.getFileName().toString())
+                                .filter(fileName -> fileName.endsWith(".json"))
+                                .forEach(names::add);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to list schemas", e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid schema location", e);
+        }
+        return names;
+    }
+}
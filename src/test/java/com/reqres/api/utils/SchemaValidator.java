@@ -1,22 +1,75 @@
 package com.reqres.api.utils;
 
-import io.restassured.module.jsv.JsonSchemaValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
 
-import java.io.File;
-import java.net.URL;
+import java.io.IOException;
 
 public class SchemaValidator {
     private static final Logger logger = LogManager.getLogger(SchemaValidator.class);
-    private static final String SCHEMA_PATH = "schemas/";
 
-    public static JsonSchemaValidator matchesSchema(String schemaFileName) {
+    /**
+     * Creates a matcher validating a response body against a schema precompiled by the {@link SchemaRegistry}
+     *
+     * @param schemaFileName File name of the schema relative to {@code schemas/}
+     * @return Matcher to pass to {@code then().body(...)}
+     */
+    public static Matcher<String> matchesSchema(String schemaFileName) {
         logger.info("Validating response against schema: {}", schemaFileName);
-        URL schemaUrl = SchemaValidator.class.getClassLoader().getResource(SCHEMA_PATH + schemaFileName);
-        if (schemaUrl == null) {
-            throw new RuntimeException("Schema file not found: " + schemaFileName);
+        return new CompiledSchemaMatcher(schemaFileName);
+    }
+
+    /**
+     * Validates a JSON document against a precompiled schema
+     *
+     * @param schemaFileName File name of the schema relative to {@code schemas/}
+     * @param json The JSON document
+     * @return The validation report
+     */
+    public static ProcessingReport validate(String schemaFileName, String json) {
+        try {
+            return validate(schemaFileName, JsonMapper.mapper().readTree(json));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Response body is not valid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private static ProcessingReport validate(String schemaFileName, JsonNode json) {
+        try {
+            return SchemaRegistry.get(schemaFileName).validate(json);
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("Unable to validate against schema " + schemaFileName, e);
+        }
+    }
+
+    private static final class CompiledSchemaMatcher extends TypeSafeMatcher<String> {
+        private final String schemaFileName;
+        private ProcessingReport report;
+
+        private CompiledSchemaMatcher(String schemaFileName) {
+            this.schemaFileName = schemaFileName;
+        }
+
+        @Override
+        protected boolean matchesSafely(String body) {
+            report = validate(schemaFileName, body);
+            return report.isSuccess();
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("JSON matching schema ").appendValue(schemaFileName);
+        }
+
+        @Override
+        protected void describeMismatchSafely(String body, Description mismatchDescription) {
+            mismatchDescription.appendText("validation failed with:\n").appendText(String.valueOf(report));
         }
-        return JsonSchemaValidator.matchesJsonSchema(new File(schemaUrl.getFile()));
     }
 }
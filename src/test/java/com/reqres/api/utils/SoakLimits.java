@@ -0,0 +1,34 @@
+package com.reqres.api.utils;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Limits on the trends of a soak run, checked by {@link PerformanceValidator#validateSoak}
+ */
+@Getter
+@Builder
+public class SoakLimits {
+    // Trends are only judged with this many intervals after the first, spanning at least minTrendDuration;
+    // over shorter runs garbage collection noise dominates and only errors are checked
+    @Builder.Default
+    private int minTrendSamples = 10;
+    @Builder.Default
+    private Duration minTrendDuration = Duration.ofMinutes(30);
+    // Largest ratio of the last quarter's p99 to the first quarter's; the drift must also be significant
+    @Builder.Default
+    private double maxLatencyDrift = 1.5;
+    // Growth of the heap left after garbage collection
+    @Builder.Default
+    private long maxHeapGrowthMbPerHour = 64;
+    @Builder.Default
+    private long maxThreadGrowth = 10;
+    // Open sockets count as file descriptors, so leaked connections show up here
+    @Builder.Default
+    private long maxFileDescriptorGrowth = 50;
+    // Share of requests that may fail or get a non-2xx status
+    @Builder.Default
+    private double maxErrorRate = 0;
+}
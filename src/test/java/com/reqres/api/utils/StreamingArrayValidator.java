@@ -0,0 +1,247 @@
+package com.reqres.api.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.restassured.response.Response;
+import org.testng.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Validates the elements of a top-level JSON array field with a streaming {@link JsonParser}.
+ * Field rules are checked as tokens arrive, so neither the body nor its elements are ever
+ * materialized as maps and memory use stays flat regardless of the page size.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class StreamingArrayValidator {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+
+    private final String arrayField;
+    private final List<FieldRule> rules;
+    private final Map<String, FieldRule> rulesByName;
+    private final long requiredMask;
+    // Rules for fields of the enclosing object, such as the page number next to the array
+    private final Map<String, FieldRule> rootRules;
+
+    private StreamingArrayValidator(String arrayField, List<FieldRule> rules, Map<String, FieldRule> rootRules) {
+        this.arrayField = arrayField;
+        this.rules = rules;
+        this.rulesByName = new HashMap<>();
+        long mask = 0;
+        for (FieldRule rule : rules) {
+            rulesByName.put(rule.name, rule);
+            mask |= 1L << rule.index;
+        }
+        this.requiredMask = mask;
+        this.rootRules = rootRules;
+    }
+
+    /**
+     * Starts building a validator for the elements of the given top-level array field
+     *
+     * @param arrayField Name of the array field, such as {@code data}
+     * @return A new builder
+     */
+    public static Builder forArray(String arrayField) {
+        return new Builder(arrayField);
+    }
+
+    /**
+     * Validates every element of the array in the response body, reporting all violations at once
+     *
+     * @param response The REST-assured response object
+     * @return Number of array elements validated
+     */
+    public int validate(Response response) {
+        try (JsonParser parser = JSON_FACTORY.createParser(response.asByteArray())) {
+            return validate(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to parse response body", e);
+        }
+    }
+
+    /**
+     * Validates every element of the array in a JSON document read from a stream
+     *
+     * @param json The JSON document
+     * @return Number of array elements validated
+     */
+    public int validate(InputStream json) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return validate(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to parse JSON stream", e);
+        }
+    }
+
+    private int validate(JsonParser parser) throws IOException {
+        Assert.assertEquals(parser.nextToken(), JsonToken.START_OBJECT, "Response body should be a JSON object");
+        List<String> violations = new ArrayList<>();
+        int elements = -1;
+        int rootFields = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (arrayField.equals(name) && value == JsonToken.START_ARRAY) {
+                elements = validateElements(parser, violations);
+                continue;
+            }
+            FieldRule rootRule = rootRules.get(name);
+            if (rootRule != null) {
+                rootFields++;
+                if (value != rootRule.type) {
+                    violations.add(name + " " + rootRule.message);
+                }
+            }
+            parser.skipChildren();
+        }
+        Assert.assertTrue(elements >= 0, "Response body has no array field '" + arrayField + "'");
+        Assert.assertEquals(rootFields, rootRules.size(), "Response body lacks one of the fields " + rootRules.keySet());
+        Assert.assertTrue(violations.isEmpty(), "Invalid elements in '" + arrayField + "': " + violations);
+        return elements;
+    }
+
+    private int validateElements(JsonParser parser, List<String> violations) throws IOException {
+        int index = 0;
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken(), index++) {
+            if (token != JsonToken.START_OBJECT) {
+                report(violations, index, null, "element must be an object");
+                parser.skipChildren();
+                continue;
+            }
+            long present = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                FieldRule rule = rulesByName.get(parser.getCurrentName());
+                JsonToken value = parser.nextToken();
+                if (rule == null || value == JsonToken.VALUE_NULL) {
+                    parser.skipChildren();
+                    continue;
+                }
+                present |= 1L << rule.index;
+                if (rule.type != null && value != rule.type) {
+                    report(violations, index, rule.name, rule.message);
+                } else if (rule.check != null && !checkValue(parser, rule)) {
+                    report(violations, index, rule.name, rule.message);
+                }
+                parser.skipChildren();
+            }
+            if (present != requiredMask) {
+                for (FieldRule rule : rules) {
+                    if ((present & (1L << rule.index)) == 0) {
+                        report(violations, index, rule.name, "must not be null");
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    private static boolean checkValue(JsonParser parser, FieldRule rule) throws IOException {
+        // Only string rules have checks. Matches against the parser's character buffer instead of allocating a String per value
+        return rule.check.test(CharBuffer.wrap(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength()));
+    }
+
+    private static void report(List<String> violations, int index, String field, String message) {
+        if (violations.size() < MAX_REPORTED_VIOLATIONS) {
+            violations.add("[" + index + "]" + (field == null ? "" : "." + field) + " " + message);
+        }
+    }
+
+    private static final class FieldRule {
+        private final int index;
+        private final String name;
+        // Token the value must have, or null for any
+        private final JsonToken type;
+        private final Predicate<CharSequence> check;
+        private final String message;
+
+        private FieldRule(int index, String name, JsonToken type, Predicate<CharSequence> check, String message) {
+            this.index = index;
+            this.name = name;
+            this.type = type;
+            this.check = check;
+            this.message = message;
+        }
+    }
+
+    public static final class Builder {
+        private final String arrayField;
+        private final List<FieldRule> rules = new ArrayList<>();
+        private final Map<String, FieldRule> rootRules = new LinkedHashMap<>();
+
+        private Builder(String arrayField) {
+            this.arrayField = arrayField;
+        }
+
+        /**
+         * Requires the field to be present and not null in every element
+         */
+        public Builder required(String field) {
+            return add(field, null, null, null);
+        }
+
+        /**
+         * Requires the field to be an integer in every element
+         */
+        public Builder integer(String field, String message) {
+            return add(field, JsonToken.VALUE_NUMBER_INT, null, message);
+        }
+
+        /**
+         * Requires the field to be a string in every element
+         */
+        public Builder string(String field, String message) {
+            return add(field, JsonToken.VALUE_STRING, null, message);
+        }
+
+        /**
+         * Requires a field of the enclosing object, next to the array, to be an integer
+         */
+        public Builder rootInteger(String field, String message) {
+            rootRules.put(field, new FieldRule(rootRules.size(), field, JsonToken.VALUE_NUMBER_INT, null, message));
+            return this;
+        }
+
+        /**
+         * Requires the field to be a string matching the precompiled pattern in every element
+         */
+        public Builder matches(String field, Pattern pattern, String message) {
+            return add(field, JsonToken.VALUE_STRING, text -> pattern.matcher(text).matches(), message);
+        }
+
+        /**
+         * Requires the field to be a string starting with the given prefix in every element
+         */
+        public Builder startsWith(String field, String prefix, String message) {
+            return add(field, JsonToken.VALUE_STRING, text -> text.length() >= prefix.length()
+                    && prefix.contentEquals(text.subSequence(0, prefix.length())), message);
+        }
+
+        private Builder add(String field, JsonToken type, Predicate<CharSequence> check, String message) {
+            if (rules.size() == Long.SIZE) {
+                throw new IllegalStateException("At most " + Long.SIZE + " field rules are supported");
+            }
+            if (rules.stream().anyMatch(rule -> rule.name.equals(field))) {
+                throw new IllegalArgumentException("Duplicate rule for field " + field);
+            }
+            rules.add(new FieldRule(rules.size(), field, type, check, message));
+            return this;
+        }
+
+        public StreamingArrayValidator build() {
+            return new StreamingArrayValidator(arrayField, new ArrayList<>(rules), new LinkedHashMap<>(rootRules));
+        }
+    }
+}
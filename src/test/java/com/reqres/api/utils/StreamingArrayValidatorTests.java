@@ -0,0 +1,67 @@
+package com.reqres.api.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Unit tests for the rules of {@link StreamingArrayValidator}
+ */
+public class StreamingArrayValidatorTests {
+    private static final StreamingArrayValidator VALIDATOR = StreamingArrayValidator.forArray("data")
+            .rootInteger("page", "should be an integer")
+            .integer("id", "should be an integer")
+            .matches("email", Pattern.compile(".+@.+"), "should be an email")
+            .string("name", "should be a string")
+            .build();
+
+    @Test
+    public void testValidDocument() {
+        int validated = VALIDATOR.validate(json("{\"page\":1,\"data\":[{\"id\":1,\"email\":\"a@b\",\"name\":\"x\"},"
+                + "{\"id\":2,\"email\":\"c@d\",\"name\":\"y\",\"extra\":{\"nested\":[1,2]}}],\"total\":2}"));
+
+        Assert.assertEquals(validated, 2);
+    }
+
+    @Test
+    public void testWrongTypesAreReported() {
+        AssertionError error = Assert.expectThrows(AssertionError.class, () -> VALIDATOR.validate(
+                json("{\"page\":1,\"data\":[{\"id\":\"1\",\"email\":42,\"name\":\"x\"}]}")));
+
+        Assert.assertTrue(error.getMessage().contains("[0].id should be an integer"), error.getMessage());
+        Assert.assertTrue(error.getMessage().contains("[0].email should be an email"), error.getMessage());
+    }
+
+    @Test
+    public void testMissingAndNullFieldsAreReported() {
+        AssertionError error = Assert.expectThrows(AssertionError.class, () -> VALIDATOR.validate(
+                json("{\"page\":1,\"data\":[{\"id\":1,\"email\":null}]}")));
+
+        Assert.assertTrue(error.getMessage().contains("[0].email must not be null"), error.getMessage());
+        Assert.assertTrue(error.getMessage().contains("[0].name must not be null"), error.getMessage());
+    }
+
+    @Test
+    public void testRootFieldTypeIsChecked() {
+        AssertionError wrongType = Assert.expectThrows(AssertionError.class, () -> VALIDATOR.validate(
+                json("{\"page\":\"1\",\"data\":[]}")));
+        Assert.assertTrue(wrongType.getMessage().contains("page should be an integer"), wrongType.getMessage());
+
+        Assert.expectThrows(AssertionError.class, () -> VALIDATOR.validate(json("{\"data\":[]}")));
+    }
+
+    @Test
+    public void testMissingArrayIsReported() {
+        AssertionError error = Assert.expectThrows(AssertionError.class, () -> VALIDATOR.validate(json("{\"page\":1}")));
+
+        Assert.assertTrue(error.getMessage().contains("no array field 'data'"), error.getMessage());
+    }
+
+    private static InputStream json(String document) {
+        return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+    }
+}